@@ -0,0 +1,49 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import components.Contact;
+import components.ContactList;
+
+/**
+ * Measures {@code ContactList.findContacts} over generated contacts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContactListBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"ali", "hannah rachelson"})
+    private String keyword;
+
+    private ContactList contactList;
+
+    @Setup
+    public void setUp() {
+        contactList = new ContactList(DatasetGenerator.generateContacts(size, DatasetGenerator.DEFAULT_SEED));
+    }
+
+    @Benchmark
+    public List<Contact> findContacts() {
+        return contactList.findContacts(keyword);
+    }
+}
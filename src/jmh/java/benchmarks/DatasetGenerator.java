@@ -0,0 +1,152 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import components.Contact;
+import components.ContactStorage;
+import components.StorageWriter;
+import components.TaskStorage;
+import exceptions.NiniException;
+import tasks.DeadlineTask;
+import tasks.EventTask;
+import tasks.Task;
+import tasks.ToDoTask;
+
+/**
+ * Generates synthetic tasks and contacts for benchmarks.
+ * The same count and seed always produce the same data, so results can be reproduced on any machine.
+ * Run directly to write a task file and a contact file that the application can open.
+ */
+public class DatasetGenerator {
+
+    /** The seed used by the benchmarks. */
+    public static final long DEFAULT_SEED = 42;
+
+    private static final String[] WORDS = {
+        "read", "book", "return", "project", "meeting", "report", "submit", "review", "call", "email",
+        "plan", "team", "lunch", "dinner", "gym", "run", "groceries", "buy", "milk", "bread",
+        "write", "draft", "essay", "lecture", "tutorial", "lab", "exam", "revise", "notes", "slides",
+        "client", "budget", "invoice", "pay", "rent", "bills", "doctor", "dentist", "appointment", "visit",
+        "family", "friends", "birthday", "party", "gift", "travel", "flight", "hotel", "pack", "bags",
+        "clean", "room", "laundry", "cook", "fix", "bug", "deploy", "release", "update", "docs",
+        "sync", "weekly", "monthly", "quarterly"
+    };
+    private static final String[] NAMES = {
+        "Alice", "Bob", "Charlie", "Diana", "Ethan", "Fiona", "George", "Hannah", "Ivan", "Julia",
+        "Kevin", "Laura", "Michael", "Nina", "Oscar", "Priya", "Quentin", "Rachel", "Samuel", "Tina"
+    };
+    private static final LocalDateTime FIRST_DATE = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final int DATE_RANGE_MINUTES = 3 * 365 * 24 * 60;
+    private static final int MAX_EVENT_MINUTES = 4 * 60;
+    private static final int MIN_DESCRIPTION_WORDS = 2;
+    private static final int MAX_DESCRIPTION_WORDS = 6;
+    private static final int DEFAULT_TASK_COUNT = 100_000;
+    private static final int DEFAULT_CONTACT_COUNT = 10_000;
+
+    /**
+     * Generates a list of tasks, of which about half are todos, 30% deadlines and 20% events,
+     * with about a third marked as done.
+     *
+     * @param count The number of tasks to generate.
+     * @param seed  The seed of the random generator.
+     * @return The generated tasks.
+     */
+    public static List<Task> generateTasks(int count, long seed) {
+        Random random = new Random(seed);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(generateTask(random));
+        }
+        return tasks;
+    }
+
+    /**
+     * Generates a list of contacts with distinct phone numbers and email addresses.
+     *
+     * @param count The number of contacts to generate.
+     * @param seed  The seed of the random generator.
+     * @return The generated contacts.
+     */
+    public static List<Contact> generateContacts(int count, long seed) {
+        Random random = new Random(seed);
+        List<Contact> contacts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String firstName = NAMES[random.nextInt(NAMES.length)];
+            String lastName = NAMES[random.nextInt(NAMES.length)] + "son";
+            String phoneNumber = String.valueOf(80_000_000 + i);
+            String email = firstName.toLowerCase() + "." + lastName.toLowerCase() + i + "@example.com";
+            contacts.add(new Contact(firstName + " " + lastName, phoneNumber, email));
+        }
+        return contacts;
+    }
+
+    /**
+     * Generates a random description made of words from the vocabulary.
+     *
+     * @param random The random generator to use.
+     * @return The description.
+     */
+    public static String generateDescription(Random random) {
+        int wordCount = MIN_DESCRIPTION_WORDS + random.nextInt(MAX_DESCRIPTION_WORDS - MIN_DESCRIPTION_WORDS + 1);
+        StringBuilder description = new StringBuilder(WORDS[random.nextInt(WORDS.length)]);
+        for (int i = 1; i < wordCount; i++) {
+            description.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return description.toString();
+    }
+
+    private static Task generateTask(Random random) {
+        String description = generateDescription(random);
+        boolean isDone = random.nextInt(3) == 0;
+        LocalDateTime date = FIRST_DATE.plusMinutes(random.nextInt(DATE_RANGE_MINUTES));
+        int kind = random.nextInt(10);
+        try {
+            if (kind < 5) {
+                return new ToDoTask(description, isDone);
+            } else if (kind < 8) {
+                return new DeadlineTask(description, date, isDone);
+            } else {
+                return new EventTask(description, date, date.plusMinutes(1 + random.nextInt(MAX_EVENT_MINUTES)),
+                        isDone);
+            }
+        } catch (NiniException e) {
+            throw new IllegalStateException("Generated an invalid event: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes a generated task file and contact file to a directory.
+     * Usage: {@code DatasetGenerator <directory> [taskCount] [contactCount] [seed]}.
+     *
+     * @param args The command line arguments.
+     * @throws IOException If the files cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: DatasetGenerator <directory> [taskCount] [contactCount] [seed]");
+            System.exit(1);
+        }
+        Path directory = Path.of(args[0]);
+        int taskCount = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TASK_COUNT;
+        int contactCount = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_CONTACT_COUNT;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : DEFAULT_SEED;
+
+        String taskFile = directory.resolve("tasks.txt").toString();
+        String contactFile = directory.resolve("contacts.txt").toString();
+        StorageWriter writer = new StorageWriter();
+        try {
+            new TaskStorage(taskFile, 0.5, TaskStorage.Format.TEXT, writer)
+                    .overwriteTasks(generateTasks(taskCount, seed));
+            new ContactStorage(contactFile, writer).overwriteContacts(generateContacts(contactCount, seed));
+        } finally {
+            writer.close();
+        }
+        System.out.println("Wrote " + taskCount + " tasks to " + taskFile);
+        System.out.println("Wrote " + contactCount + " contacts to " + contactFile);
+    }
+}
@@ -0,0 +1,107 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import cli.CommandClient;
+import cli.CommandServer;
+
+/**
+ * Measures the latency of a running {@code CommandServer} under concurrent load.
+ * Opens several connections that each send the same command a number of times, then reports
+ * the throughput and the 50th and 99th percentile latencies.
+ * Usage: {@code LoadTestClient <port|socket> [connections] [requests] [command...]}.
+ */
+public class LoadTestClient {
+
+    private static final int DEFAULT_CONNECTIONS = 8;
+    private static final int DEFAULT_REQUESTS = 10_000;
+    private static final String DEFAULT_COMMAND = "upcomingtasks 5";
+    private static final double NANOS_PER_MICRO = 1_000.0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /**
+     * Runs the load test.
+     *
+     * @param args The command line arguments.
+     * @throws Exception If a connection fails.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: LoadTestClient <port|socket> [connections] [requests] [command...]");
+            System.exit(1);
+        }
+        SocketAddress address = CommandServer.toSocketAddress(args[0]);
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CONNECTIONS;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_REQUESTS;
+        String command = args.length > 3 ? String.join(" ", Arrays.copyOfRange(args, 3, args.length))
+                : DEFAULT_COMMAND;
+
+        ExecutorService threads = Executors.newFixedThreadPool(connections);
+        List<Future<long[]>> results = new ArrayList<>();
+        long startTime = System.nanoTime();
+        for (int i = 0; i < connections; i++) {
+            results.add(threads.submit(() -> sendRequests(address, requests, command)));
+        }
+
+        long[] latencies = new long[connections * requests];
+        int count = 0;
+        int errorCount = 0;
+        for (Future<long[]> result : results) {
+            long[] connectionLatencies = getResult(result);
+            for (long latency : connectionLatencies) {
+                if (latency < 0) {
+                    errorCount++;
+                    latency = -latency;
+                }
+                latencies[count++] = latency;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startTime;
+        threads.shutdown();
+
+        Arrays.sort(latencies);
+        System.out.printf("%d requests over %d connection(s) in %.0f ms (%.0f requests/sec), %d error(s)%n",
+                count, connections, elapsedNanos / NANOS_PER_SECOND * 1000, count * NANOS_PER_SECOND / elapsedNanos,
+                errorCount);
+        System.out.printf("p50 %.1f us, p99 %.1f us, max %.1f us%n", percentile(latencies, 0.50) / NANOS_PER_MICRO,
+                percentile(latencies, 0.99) / NANOS_PER_MICRO, latencies[count - 1] / NANOS_PER_MICRO);
+    }
+
+    /**
+     * Sends the command repeatedly over one connection, returning the latency of every request in nanoseconds.
+     * Latencies of failed commands are negated.
+     */
+    private static long[] sendRequests(SocketAddress address, int requests, String command) throws IOException {
+        long[] latencies = new long[requests];
+        try (CommandClient client = new CommandClient(address)) {
+            for (int i = 0; i < requests; i++) {
+                long startTime = System.nanoTime();
+                boolean isOk = client.send(command).isOk();
+                long latency = System.nanoTime() - startTime;
+                latencies[i] = isOk ? latency : -latency;
+            }
+        }
+        return latencies;
+    }
+
+    private static long[] getResult(Future<long[]> result) throws IOException, InterruptedException {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw new IOException("Connection failed: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static long percentile(long[] sortedValues, double fraction) {
+        int index = (int) Math.ceil(fraction * sortedValues.length) - 1;
+        return sortedValues[Math.max(0, index)];
+    }
+}
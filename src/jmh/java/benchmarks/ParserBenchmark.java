@@ -0,0 +1,59 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import commands.Command;
+import components.Parser;
+import exceptions.NiniException;
+
+/**
+ * Measures {@code Parser.parseCommand} for every command type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({
+        "listtasks",
+        "bye",
+        "marktasks 1 2 3",
+        "unmarktasks 1",
+        "todo read book",
+        "deadline return book /by 2/12/2030 1800",
+        "event project meeting /from 2/12/2030 1400 /to 2/12/2030 1600",
+        "sorttasks",
+        "upcomingtasks 5",
+        "overlappingevents /from 1/12/2030 0900 /to 1/12/2030 1700",
+        "freebusy /from 1/12/2030 0900 /to 1/12/2030 1700",
+        "deletetasks 2",
+        "findtasks book",
+        "findtasks --words project meeting",
+        "addcontact John Doe /p 91234567 /e john@example.com",
+        "deletecontact 1",
+        "listcontacts",
+        "findcontact john"
+    })
+    private String input;
+
+    private final Parser parser = new Parser();
+
+    @Benchmark
+    public Command parseCommand() throws NiniException {
+        return parser.parseCommand(input);
+    }
+}
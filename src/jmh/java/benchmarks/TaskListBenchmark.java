@@ -0,0 +1,81 @@
+package benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import components.ColumnarTaskList;
+import components.OffHeapTaskList;
+import components.TaskList;
+import tasks.Task;
+
+/**
+ * Measures searching and sorting a {@code TaskList} of generated tasks.
+ * The indices are built during setup, so the results show the cost of warm queries.
+ * Each benchmark runs against the default array backend as well as the columnar and off-heap ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskListBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"report", "project meeting"})
+    private String keyword;
+
+    @Param({"ARRAY", "COLUMNAR", "OFF_HEAP"})
+    private String backend;
+
+    private TaskList taskList;
+
+    @Setup
+    public void setUp() {
+        List<Task> tasks = DatasetGenerator.generateTasks(size, DatasetGenerator.DEFAULT_SEED);
+        switch (backend) {
+        case "COLUMNAR":
+            taskList = TaskList.backedBy(ColumnarTaskList.copyOf(tasks));
+            break;
+        case "OFF_HEAP":
+            taskList = TaskList.backedBy(OffHeapTaskList.copyOf(tasks));
+            break;
+        default:
+            taskList = new TaskList(tasks);
+            break;
+        }
+        taskList.findTasks(keyword);
+        taskList.findTasksByWords(keyword);
+        taskList.sortTasks();
+    }
+
+    @Benchmark
+    public List<Task> findTasks() {
+        return taskList.findTasks(keyword);
+    }
+
+    @Benchmark
+    public List<Task> findTasksByWords() {
+        return taskList.findTasksByWords(keyword);
+    }
+
+    @Benchmark
+    public TaskList sortTasks() {
+        taskList.sortTasks();
+        return taskList;
+    }
+}
@@ -0,0 +1,71 @@
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import exceptions.NiniException;
+import tasks.DeadlineTask;
+import tasks.EventTask;
+import tasks.Task;
+import tasks.ToDoTask;
+
+/**
+ * Measures {@code Task.serialize} and {@code Task.deserialize} for each kind of task.
+ * Tasks cache their serialized form, so serializing first resets the id, which clears the cache and
+ * makes every call build the serialized form from scratch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskSerializationBenchmark {
+
+    @Param({"T", "D", "E"})
+    private String type;
+
+    private Task task;
+    private String serializedTask;
+
+    @Setup
+    public void setUp() throws NiniException {
+        switch (type) {
+        case "T":
+            task = new ToDoTask("read book about project planning");
+            break;
+        case "D":
+            task = new DeadlineTask("return book to the library", "2/12/2030 1800", true);
+            break;
+        case "E":
+            task = new EventTask("project meeting with the team", "2/12/2030 1400", "2/12/2030 1600");
+            break;
+        default:
+            throw new IllegalArgumentException("Unknown task type: " + type);
+        }
+        task.setId(1);
+        serializedTask = task.serialize();
+    }
+
+    @Benchmark
+    public String serialize() {
+        task.setId(1);
+        return task.serialize();
+    }
+
+    @Benchmark
+    public Task deserialize() throws NiniException {
+        return Task.deserialize(serializedTask);
+    }
+}
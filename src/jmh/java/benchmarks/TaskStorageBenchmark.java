@@ -0,0 +1,81 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import components.StorageWriter;
+import components.TaskStorage;
+import exceptions.NiniException;
+import tasks.Task;
+
+/**
+ * Measures loading and overwriting a task file of generated tasks, in both snapshot formats.
+ * Writes are synchronous, so each operation includes the time to reach the disk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskStorageBenchmark {
+
+    @Param({"1000", "100000"})
+    private int size;
+
+    @Param({"TEXT", "BINARY"})
+    private TaskStorage.Format format;
+
+    private Path directory;
+    private StorageWriter writer;
+    private TaskStorage taskStorage;
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("nini-benchmark");
+        writer = new StorageWriter();
+        taskStorage = new TaskStorage(directory.resolve("tasks.txt").toString(), 0.5, format, writer);
+        tasks = DatasetGenerator.generateTasks(size, DatasetGenerator.DEFAULT_SEED);
+        taskStorage.overwriteTasks(tasks);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        writer.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Task> loadTasks() throws IOException, NiniException {
+        return taskStorage.loadTasks();
+    }
+
+    @Benchmark
+    public CompletableFuture<Void> overwriteTasks() throws IOException {
+        return taskStorage.overwriteTasks(tasks);
+    }
+}
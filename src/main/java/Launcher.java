@@ -1,11 +1,48 @@
+import java.util.Arrays;
+
+import cli.BatchRunner;
+import cli.CommandServer;
+import cli.Repl;
 import javafx.application.Application;
 import ui.Main;
 
 /**
  * A launcher class to workaround classpath issues.
+ * Running with {@code --batch FILE [--echo]} runs the commands in FILE without opening a window,
+ * and running with {@code --cli [COMMAND]} runs COMMAND, or reads commands from standard input,
+ * in the terminal, and running with {@code --server [PORT|SOCKET]} serves commands to local clients.
+ * None of these load any JavaFX classes.
  */
 public class Launcher {
+    private static final String BATCH_FLAG = "--batch";
+    private static final String ECHO_FLAG = "--echo";
+    private static final String CLI_FLAG = "--cli";
+    private static final String SERVER_FLAG = "--server";
+
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals(BATCH_FLAG)) {
+            if (args.length < 2) {
+                System.err.println("Usage: " + BATCH_FLAG + " FILE [" + ECHO_FLAG + "]");
+                System.exit(2);
+            }
+            boolean isEcho = args.length > 2 && args[2].equals(ECHO_FLAG);
+            System.exit(BatchRunner.runScript(args[1], isEcho));
+        }
+        if (args.length > 0 && args[0].equals(CLI_FLAG)) {
+            String command = args.length > 1 ? String.join(" ", Arrays.copyOfRange(args, 1, args.length)) : null;
+            System.exit(Repl.runTerminal(command));
+        }
+        if (args.length > 0 && args[0].equals(SERVER_FLAG)) {
+            String address = args.length > 1 ? args[1] : String.valueOf(CommandServer.DEFAULT_PORT);
+            System.exit(CommandServer.runServer(address));
+        }
+        launchWindow(args);
+    }
+
+    /**
+     * Starts the graphical interface. JavaFX classes are only loaded once this method runs.
+     */
+    private static void launchWindow(String[] args) {
         Application.launch(Main.class, args);
     }
 }
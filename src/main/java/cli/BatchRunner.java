@@ -0,0 +1,168 @@
+package cli;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import commands.Command;
+import components.ContactList;
+import components.Parser;
+import components.Session;
+import components.StorageWriter;
+import components.TaskList;
+import exceptions.NiniException;
+
+/**
+ * Runs a file of commands without the graphical interface, one command per line.
+ * Blank lines and lines starting with {@code #} are skipped, and a {@code bye} command ends the script.
+ * Storage writes are held back until the whole script has run, then written together,
+ * so a script that adds many tasks costs a single write to disk instead of one per command.
+ */
+public class BatchRunner {
+
+    private static final String COMMENT_PREFIX = "#";
+    private static final String ERROR_LINE_FORMAT = "Line %d: %s (%s)";
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Parser parser = new Parser();
+    private final Session session;
+    private final TaskList taskList;
+    private final ContactList contactList;
+
+    /**
+     * Constructs a {@code BatchRunner} over the storage of the given session, loading the existing tasks and contacts.
+     * The writer of the session should hold back its writes in {@code DEFERRED} mode.
+     *
+     * @param session The session whose storage the commands change.
+     * @throws IOException   If the existing tasks or contacts cannot be read.
+     * @throws NiniException If the existing tasks or contacts are invalid.
+     */
+    public BatchRunner(Session session) throws IOException, NiniException {
+        assert session != null : "Session cannot be null";
+        this.session = session;
+        this.taskList = session.loadTaskList();
+        this.contactList = session.loadContactList();
+    }
+
+    /**
+     * Runs every command read from the given reader, then writes the held-back changes to disk.
+     * Commands that fail are recorded in the report and do not stop the script.
+     *
+     * @param reader The reader to read commands from.
+     * @param output The stream to print the response of every command to, or {@code null} to print nothing.
+     * @return The report of the run.
+     * @throws IOException If the commands cannot be read, or the changes cannot be written.
+     */
+    public Report run(BufferedReader reader, PrintStream output) throws IOException {
+        assert reader != null : "Reader cannot be null";
+        long startTime = System.nanoTime();
+        int commandCount = 0;
+        List<String> errors = new ArrayList<>();
+
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            String input = line.trim();
+            if (input.isEmpty() || input.startsWith(COMMENT_PREFIX)) {
+                continue;
+            }
+
+            commandCount++;
+            try {
+                Command command = parser.parseCommand(input);
+                String response = command.execute(taskList, contactList, session.getTaskStorage(),
+                        session.getContactStorage());
+                if (output != null) {
+                    output.println(response);
+                }
+                if (command.isExit()) {
+                    break;
+                }
+            } catch (NiniException e) {
+                errors.add(String.format(ERROR_LINE_FORMAT, lineNumber, e.getMessage(), input));
+            }
+        }
+
+        session.getWriter().flush();
+        return new Report(commandCount, System.nanoTime() - startTime, errors);
+    }
+
+    /**
+     * Runs the commands in a file against the default task and contact files, and prints a report.
+     *
+     * @param fileName The path to the file of commands.
+     * @param isEcho   Whether to print the response of every command.
+     * @return The exit status: 0 if every command succeeded, 1 if any failed, and 2 if the script could not run.
+     */
+    public static int runScript(String fileName, boolean isEcho) {
+        try (Session session = Session.open(StorageWriter.Durability.DEFERRED);
+             BufferedReader reader = Files.newBufferedReader(Path.of(fileName), StandardCharsets.UTF_8)) {
+            BatchRunner runner = new BatchRunner(session);
+            Report report = runner.run(reader, isEcho ? System.out : null);
+            System.out.println(report);
+            return report.getErrors().isEmpty() ? 0 : 1;
+        } catch (IOException | NiniException e) {
+            System.err.println("Error running script " + fileName + ": " + e.getMessage());
+            return 2;
+        }
+    }
+
+    /**
+     * Represents the outcome of a batch run: how many commands ran, how long they took, and which failed.
+     */
+    public static class Report {
+        private final int commandCount;
+        private final long elapsedNanos;
+        private final List<String> errors;
+
+        private Report(int commandCount, long elapsedNanos, List<String> errors) {
+            this.commandCount = commandCount;
+            this.elapsedNanos = elapsedNanos;
+            this.errors = List.copyOf(errors);
+        }
+
+        public int getCommandCount() {
+            return commandCount;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Returns a description of every failed command, with its line number, in the order they ran.
+         *
+         * @return The failed commands.
+         */
+        public List<String> getErrors() {
+            return errors;
+        }
+
+        /**
+         * Returns the number of commands run per second, including the time to write changes to disk.
+         *
+         * @return The throughput of the run.
+         */
+        public double getCommandsPerSecond() {
+            return elapsedNanos == 0 ? 0 : commandCount * NANOS_PER_SECOND / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder report = new StringBuilder(String.format("Ran %d command(s) in %.1f ms (%.0f commands/sec)",
+                    commandCount, elapsedNanos / NANOS_PER_MILLI, getCommandsPerSecond()));
+            if (!errors.isEmpty()) {
+                report.append(String.format("%n%d command(s) failed:", errors.size()));
+                errors.forEach(error -> report.append(System.lineSeparator()).append("  ").append(error));
+            }
+            return report.toString();
+        }
+    }
+}
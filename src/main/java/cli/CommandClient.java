@@ -0,0 +1,118 @@
+package cli;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.SocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Sends commands to a {@code CommandServer} over a single connection and reads their responses.
+ */
+public class CommandClient implements Closeable {
+
+    private static final String OK_HEADER = "OK ";
+    private static final String ERROR_HEADER = "ERROR ";
+
+    private final SocketChannel channel;
+    private final BufferedReader reader;
+    private final Writer writer;
+
+    /**
+     * Connects to the server at the given address.
+     *
+     * @param address The address of the server.
+     * @throws IOException If the connection cannot be made.
+     */
+    public CommandClient(SocketAddress address) throws IOException {
+        this.channel = SocketChannel.open(address);
+        this.reader = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel),
+                StandardCharsets.UTF_8));
+        this.writer = new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Sends a command and waits for its response.
+     *
+     * @param command The command to send, on a single line.
+     * @return The response of the server.
+     * @throws IOException If the connection fails or the response is malformed.
+     */
+    public Response send(String command) throws IOException {
+        assert command != null && command.indexOf('\n') < 0 : "Command must be a single line";
+        writer.write(command);
+        writer.write('\n');
+        writer.flush();
+
+        String header = readLine();
+        boolean isOk = header.startsWith(OK_HEADER);
+        if (!isOk && !header.startsWith(ERROR_HEADER)) {
+            throw new IOException("Malformed response header: " + header);
+        }
+
+        int lineCount;
+        try {
+            lineCount = Integer.parseInt(header.substring(isOk ? OK_HEADER.length() : ERROR_HEADER.length()));
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed response header: " + header, e);
+        }
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < lineCount; i++) {
+            if (i > 0) {
+                text.append('\n');
+            }
+            text.append(readLine());
+        }
+        return new Response(isOk, text.toString());
+    }
+
+    private String readLine() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            throw new EOFException("Server closed the connection.");
+        }
+        return line;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Represents the response of the server to a command.
+     */
+    public static class Response {
+        private final boolean isOk;
+        private final String text;
+
+        private Response(boolean isOk, String text) {
+            this.isOk = isOk;
+            this.text = text;
+        }
+
+        /**
+         * Returns whether the command succeeded.
+         *
+         * @return {@code true} if the command succeeded, {@code false} if it failed.
+         */
+        public boolean isOk() {
+            return isOk;
+        }
+
+        /**
+         * Returns the response to the command, or the error message if it failed.
+         *
+         * @return The response text.
+         */
+        public String getText() {
+            return text;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package cli;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import commands.Command;
+import components.ContactList;
+import components.ContactStorage;
+import components.Parser;
+import components.Session;
+import components.StorageWriter;
+import components.TaskList;
+import components.TaskStorage;
+import exceptions.InvalidFormatException;
+import exceptions.NiniException;
+
+/**
+ * Serves commands to local clients over a TCP socket on the loopback interface or a Unix domain socket,
+ * so that several tools can share one task list.
+ * Clients send one command per line. Every response starts with a header line, {@code OK n} or
+ * {@code ERROR n}, followed by the n lines of the response. A {@code bye} command closes the connection.
+ * Each connection is served on its own thread. Read-only commands run in parallel, while commands that
+ * make changes run one at a time, so that commands which refer to tasks by index see a consistent list.
+ */
+public class CommandServer implements Closeable {
+
+    /** The port used when no address is given. */
+    public static final int DEFAULT_PORT = 5150;
+
+    private static final int MAX_PORT = 65_535;
+    private static final String OK_HEADER = "OK ";
+    private static final String ERROR_HEADER = "ERROR ";
+    private static final String ACCEPT_THREAD = "command-server";
+    private static final String CONNECTION_THREAD_PREFIX = "command-connection-";
+    private static final String WRITER_SHUTDOWN_THREAD = "storage-writer-shutdown";
+
+    private final Parser parser = new Parser();
+    private final ReentrantReadWriteLock commandLock = new ReentrantReadWriteLock(true);
+    private final AtomicInteger connectionCount = new AtomicInteger();
+    private final ExecutorService connectionThreads = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, CONNECTION_THREAD_PREFIX + connectionCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final TaskList taskList;
+    private final ContactList contactList;
+    private final TaskStorage taskStorage;
+    private final ContactStorage contactStorage;
+    private ServerSocketChannel serverChannel;
+    private Thread acceptThread;
+    private volatile boolean isClosed;
+
+    /**
+     * Constructs a {@code CommandServer} over the given lists and storage.
+     *
+     * @param taskList       The task list shared by every connection.
+     * @param contactList    The contact list shared by every connection.
+     * @param taskStorage    The storage for tasks.
+     * @param contactStorage The storage for contacts.
+     */
+    public CommandServer(TaskList taskList, ContactList contactList,
+                         TaskStorage taskStorage, ContactStorage contactStorage) {
+        assert taskList != null && contactList != null : "Lists cannot be null";
+        assert taskStorage != null && contactStorage != null : "Storage cannot be null";
+        this.taskList = taskList;
+        this.contactList = contactList;
+        this.taskStorage = taskStorage;
+        this.contactStorage = contactStorage;
+    }
+
+    /**
+     * Converts a port number or a socket file path to an address on this machine.
+     *
+     * @param address A port number for a TCP socket on the loopback interface, or a path for a Unix domain socket.
+     * @return The socket address.
+     * @throws InvalidFormatException If the port number is out of range, or the path is invalid.
+     */
+    public static SocketAddress toSocketAddress(String address) throws InvalidFormatException {
+        assert address != null && !address.isBlank() : "Address cannot be null or empty";
+        if (address.chars().allMatch(Character::isDigit)) {
+            // Checking the length first keeps very long digit strings from overflowing the parse
+            if (address.length() > String.valueOf(MAX_PORT).length() || Integer.parseInt(address) > MAX_PORT) {
+                throw new InvalidFormatException("Port must be between 0 and " + MAX_PORT + ": " + address);
+            }
+            return new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(address));
+        }
+        try {
+            return UnixDomainSocketAddress.of(address);
+        } catch (InvalidPathException e) {
+            throw new InvalidFormatException("Invalid socket path: " + address);
+        }
+    }
+
+    /**
+     * Binds the server to the given address and starts accepting connections in the background.
+     *
+     * @param address The address to listen on.
+     * @return The address the server is listening on, which includes the chosen port if port 0 was given.
+     * @throws IOException If the server cannot listen on the address.
+     */
+    public SocketAddress start(SocketAddress address) throws IOException {
+        assert serverChannel == null : "Server has already been started";
+        serverChannel = address instanceof UnixDomainSocketAddress
+                ? ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+                : ServerSocketChannel.open();
+        serverChannel.bind(address);
+
+        acceptThread = new Thread(this::acceptConnections, ACCEPT_THREAD);
+        acceptThread.start();
+        return serverChannel.getLocalAddress();
+    }
+
+    /**
+     * Waits until the server has been closed.
+     *
+     * @throws InterruptedException If the current thread is interrupted while waiting.
+     */
+    public void awaitClose() throws InterruptedException {
+        assert acceptThread != null : "Server has not been started";
+        acceptThread.join();
+    }
+
+    /**
+     * Stops accepting connections, closes open connections and removes the socket file, if any.
+     */
+    @Override
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+        isClosed = true;
+        connectionThreads.shutdownNow();
+        if (serverChannel == null) {
+            return;
+        }
+        try {
+            SocketAddress address = serverChannel.getLocalAddress();
+            serverChannel.close();
+            if (address instanceof UnixDomainSocketAddress) {
+                Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+            }
+        } catch (IOException e) {
+            System.err.println("Error closing server: " + e.getMessage());
+        }
+    }
+
+    private void acceptConnections() {
+        while (!isClosed) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                connectionThreads.execute(() -> serve(channel));
+            } catch (IOException e) {
+                if (!isClosed) {
+                    System.err.println("Error accepting connection: " + e.getMessage());
+                }
+                return;
+            }
+        }
+    }
+
+    private void serve(SocketChannel channel) {
+        try (channel;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(
+                     Channels.newInputStream(channel), StandardCharsets.UTF_8));
+             Writer writer = new OutputStreamWriter(Channels.newOutputStream(channel), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String input = line.trim();
+                if (input.isEmpty()) {
+                    continue;
+                }
+                boolean isExit = handle(input, writer);
+                writer.flush();
+                if (isExit) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            if (!isClosed) {
+                System.err.println("Error serving connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Runs a command and writes its framed response.
+     *
+     * @return {@code true} if the command ends the connection, {@code false} otherwise.
+     */
+    private boolean handle(String input, Writer writer) throws IOException {
+        try {
+            Command command = parser.parseCommand(input);
+            Lock lock = command.isReadOnly() ? commandLock.readLock() : commandLock.writeLock();
+            String response;
+            lock.lock();
+            try {
+                response = command.execute(taskList, contactList, taskStorage, contactStorage);
+            } finally {
+                lock.unlock();
+            }
+            writeResponse(writer, OK_HEADER, response);
+            return command.isExit();
+        } catch (NiniException | IllegalArgumentException e) {
+            writeResponse(writer, ERROR_HEADER, e.getMessage());
+            return false;
+        }
+    }
+
+    private static void writeResponse(Writer writer, String header, String response) throws IOException {
+        String[] lines = response.split("\n", -1);
+        writer.write(header);
+        writer.write(Integer.toString(lines.length));
+        writer.write('\n');
+        for (String line : lines) {
+            writer.write(line);
+            writer.write('\n');
+        }
+    }
+
+    /**
+     * Serves the default task and contact files on the given address until the process is stopped.
+     *
+     * @param address A port number, or a path for a Unix domain socket.
+     * @return The exit status: 0 once the server stops, and 2 if it could not start.
+     */
+    public static int runServer(String address) {
+        SocketAddress socketAddress;
+        try {
+            socketAddress = toSocketAddress(address);
+        } catch (InvalidFormatException e) {
+            System.err.println("Error starting server: " + e.getMessage());
+            return 2;
+        }
+
+        Session session = Session.open(StorageWriter.Durability.ASYNC);
+        Runtime.getRuntime().addShutdownHook(new Thread(session::close, WRITER_SHUTDOWN_THREAD));
+        try {
+            CommandServer server = new CommandServer(session.loadTaskList(), session.loadContactList(),
+                    session.getTaskStorage(), session.getContactStorage());
+            Runtime.getRuntime().addShutdownHook(new Thread(server::close, ACCEPT_THREAD + "-shutdown"));
+
+            System.out.println("Listening on " + server.start(socketAddress));
+            server.awaitClose();
+            return 0;
+        } catch (IOException | NiniException e) {
+            System.err.println("Error starting server: " + e.getMessage());
+            return 2;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package cli;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+
+import commands.Command;
+import components.ContactList;
+import components.Parser;
+import components.Session;
+import components.StorageWriter;
+import components.TaskList;
+import exceptions.NiniException;
+
+/**
+ * Drives the same commands as the main window from a terminal, reading commands from standard input
+ * and printing responses to standard output.
+ * This class does not depend on JavaFX, so it starts without loading the graphical toolkit.
+ */
+public class Repl {
+
+    private static final String GREETING_MESSAGE = "Hello! I'm NiniNana\nWhat can I do for you?";
+    private static final String PROMPT = "> ";
+
+    private final Parser parser = new Parser();
+    private final Session session;
+    private final TaskList taskList;
+    private final ContactList contactList;
+
+    /**
+     * Constructs a {@code Repl} over the storage of the given session, loading the existing tasks and contacts.
+     *
+     * @param session The session whose storage the commands change.
+     * @throws IOException   If the existing tasks or contacts cannot be read.
+     * @throws NiniException If the existing tasks or contacts are invalid.
+     */
+    public Repl(Session session) throws IOException, NiniException {
+        assert session != null : "Session cannot be null";
+        this.session = session;
+        this.taskList = session.loadTaskList();
+        this.contactList = session.loadContactList();
+    }
+
+    /**
+     * Reads and runs commands until the input ends or a {@code bye} command is entered.
+     * Responses are printed to {@code output} and error messages to {@code error}.
+     *
+     * @param reader        The reader to read commands from.
+     * @param output        The stream to print responses to.
+     * @param error         The stream to print error messages to.
+     * @param isInteractive Whether to greet the user and prompt for each command.
+     * @throws IOException If the commands cannot be read.
+     */
+    public void run(BufferedReader reader, PrintStream output, PrintStream error, boolean isInteractive)
+            throws IOException {
+        assert reader != null && output != null && error != null : "Streams cannot be null";
+        if (isInteractive) {
+            output.println(GREETING_MESSAGE);
+        }
+
+        while (true) {
+            if (isInteractive) {
+                output.print(PROMPT);
+                output.flush();
+            }
+            String line = reader.readLine();
+            if (line == null) {
+                return;
+            }
+            String input = line.trim();
+            if (input.isEmpty()) {
+                continue;
+            }
+
+            try {
+                Command command = parser.parseCommand(input);
+                output.println(execute(command));
+                if (command.isExit()) {
+                    return;
+                }
+            } catch (NiniException e) {
+                error.println(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Runs a single command and returns its response.
+     *
+     * @param input The command to run.
+     * @return The response to the command.
+     * @throws NiniException If the command is invalid or fails.
+     */
+    public String execute(String input) throws NiniException {
+        assert input != null && !input.isBlank() : "Input command cannot be null or empty";
+        return execute(parser.parseCommand(input.trim()));
+    }
+
+    private String execute(Command command) throws NiniException {
+        return command.execute(taskList, contactList, session.getTaskStorage(), session.getContactStorage());
+    }
+
+    /**
+     * Runs commands from standard input against the default task and contact files.
+     * If a command is given, only that command is run.
+     *
+     * @param command The single command to run, or {@code null} to read commands from standard input.
+     * @return The exit status: 0 on success, 1 if the single command failed, and 2 if the storage or the
+     *         commands could not be read.
+     */
+    public static int runTerminal(String command) {
+        // Writes are flushed in the background and drained when the writer is closed on exit
+        try (Session session = Session.open(StorageWriter.Durability.ASYNC)) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, Charset.defaultCharset()));
+            return runTerminal(session, command, reader, System.out, System.err, System.console() != null);
+        }
+    }
+
+    /**
+     * Runs a single command, or every command read from {@code reader}, against the storage of the given session.
+     *
+     * @return The exit status, as described in {@link #runTerminal(String)}.
+     */
+    static int runTerminal(Session session, String command, BufferedReader reader, PrintStream output,
+            PrintStream error, boolean isInteractive) {
+        Repl repl;
+        try {
+            repl = new Repl(session);
+        } catch (IOException | NiniException e) {
+            error.println("Error reading storage: " + e.getMessage());
+            return 2;
+        }
+
+        if (command != null) {
+            try {
+                output.println(repl.execute(command));
+                return 0;
+            } catch (NiniException e) {
+                error.println(e.getMessage());
+                return 1;
+            }
+        }
+        try {
+            repl.run(reader, output, error, isInteractive);
+            return 0;
+        } catch (IOException e) {
+            error.println("Error reading commands: " + e.getMessage());
+            return 2;
+        }
+    }
+}
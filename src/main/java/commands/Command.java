@@ -25,4 +25,52 @@ public abstract class Command {
     public boolean isExit() {
         return false;
     }
+
+    /**
+     * Determines whether the command only reads the task and contact lists, without changing them
+     * or writing to storage. Read-only commands may run alongside each other.
+     * By default, commands are assumed to make changes.
+     * Subclasses can override this method if needed.
+     *
+     * @return {@code true} if the command makes no changes, {@code false} otherwise.
+     */
+    public boolean isReadOnly() {
+        return false;
+    }
+
+    /**
+     * Returns a version of this command that shows at most the given number of items,
+     * unless it already asks for a particular page.
+     * By default, commands are returned unchanged, as they do not show long lists.
+     * Subclasses can override this method if needed.
+     *
+     * @param limit The maximum number of items to show.
+     * @return The command to execute instead.
+     */
+    public Command withDefaultLimit(int limit) {
+        return this;
+    }
+
+    /**
+     * Returns a version of this command that leaves out the command for the next page from its response,
+     * for frontends that fetch the next page themselves.
+     * By default, commands are returned unchanged, as they do not show pages.
+     * Subclasses can override this method if needed.
+     *
+     * @return The command to execute instead.
+     */
+    public Command withoutNextPageHint() {
+        return this;
+    }
+
+    /**
+     * Returns the command that shows the next page of what this command showed, once it has been executed.
+     * By default, commands show everything at once.
+     * Subclasses can override this method if needed.
+     *
+     * @return The command for the next page, or {@code null} if there is nothing more to show.
+     */
+    public Command getNextPageCommand() {
+        return null;
+    }
 }
@@ -36,4 +36,14 @@ public class ExitCommand extends Command {
     public boolean isExit() {
         return true;
     }
+
+    /**
+     * Indicates that this command only reads the lists.
+     *
+     * @return {@code true}, as exiting makes no changes.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
@@ -0,0 +1,104 @@
+package commands;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Renders numbered lists of tasks, contacts or events as the response of a command.
+ * Rows are appended one after another to a single buffer, or straight to any other sink,
+ * so rendering a list takes time proportional to its length. Only the rows of the requested
+ * page are formatted, and they keep the numbers they have in the full list. A page can also be
+ * rendered from just its own rows, given where it starts in the full list.
+ * Rendering stops with a {@code CancellationException} once the rendering thread is interrupted.
+ */
+public class ListRenderer {
+
+    private static final String ROW_SEPARATOR = ". ";
+    private static final String PAGE_FOOTER = "Showing %d-%d of %d.";
+    private static final String PAGE_OUT_OF_RANGE = "There is nothing to show past item %d.";
+    // Leaves room for the row number and separators, which the sampled row does not include
+    private static final int ROW_OVERHEAD = 10;
+    private static final int MAX_INITIAL_CAPACITY = 1 << 24;
+
+    private ListRenderer() {
+    }
+
+    /**
+     * Renders a page of a list into a string.
+     *
+     * @param header The line shown above the rows.
+     * @param items  The whole list, which must not be empty.
+     * @param page   The part of the list to show.
+     * @return The rendered list.
+     */
+    public static String render(String header, List<?> items, Page page) {
+        assert items != null && !items.isEmpty() : "Items cannot be null or empty";
+        int start = Math.min(page.getOffset(), items.size());
+        return render(header, items.subList(start, page.endOf(items.size())), start, items.size());
+    }
+
+    /**
+     * Renders a page of a list into a string, given only the rows on the page.
+     *
+     * @param header   The line shown above the rows.
+     * @param rows     The rows on the page.
+     * @param start    The index in the full list of the first row.
+     * @param listSize The size of the full list, which must not be empty.
+     * @return The rendered list.
+     */
+    public static String render(String header, List<?> rows, int start, int listSize) {
+        assert rows != null && listSize > 0 : "Rows cannot be null and the list cannot be empty";
+
+        // Sizes the buffer from the first row, so it rarely needs to grow
+        long rowLength = rows.isEmpty() ? 0 : String.valueOf(rows.get(0)).length() + ROW_OVERHEAD;
+        StringBuilder output = new StringBuilder((int) Math.min(MAX_INITIAL_CAPACITY,
+                header.length() + rowLength * rows.size() + PAGE_FOOTER.length()));
+        try {
+            renderRows(header, rows, start, listSize, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Never happens, as a StringBuilder does not throw
+        }
+        return output.toString();
+    }
+
+    /**
+     * Renders a page of a list to a sink, one row at a time.
+     * A footer with the range of rows shown is added when the page does not cover the whole list.
+     *
+     * @param header The line shown above the rows.
+     * @param items  The whole list, which must not be empty.
+     * @param page   The part of the list to show.
+     * @param sink   Where to write the rendered list.
+     * @throws IOException If the sink cannot be written to.
+     */
+    public static void render(String header, List<?> items, Page page, Appendable sink) throws IOException {
+        assert header != null && page != null && sink != null : "Arguments cannot be null";
+        int size = items.size();
+        int start = Math.min(page.getOffset(), size);
+        renderRows(header, items.subList(start, page.endOf(size)), start, size, sink);
+    }
+
+    private static void renderRows(String header, List<?> rows, int start, int size, Appendable sink)
+            throws IOException {
+        assert header != null && sink != null : "Arguments cannot be null";
+        if (rows.isEmpty()) {
+            sink.append(String.format(PAGE_OUT_OF_RANGE, size));
+            return;
+        }
+
+        int end = start + rows.size();
+        sink.append(header);
+        for (int i = 0; i < rows.size(); i++) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Rendering the list was interrupted.");
+            }
+            sink.append('\n').append(Integer.toString(start + i + 1)).append(ROW_SEPARATOR)
+                    .append(String.valueOf(rows.get(i)));
+        }
+        if (start > 0 || end < size) {
+            sink.append('\n').append(String.format(PAGE_FOOTER, start + 1, end, size));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package commands;
+
+/**
+ * Represents the part of a list that a command shows, given as the number of items to skip
+ * and the maximum number of items to show after them.
+ * A page of tasks may instead start right after the task with a given id. Such a cursor keeps its
+ * place when tasks before it are added or deleted, which would shift a page given by an offset.
+ */
+public class Page {
+
+    /** A page that covers every item of any list. */
+    public static final Page ALL = new Page(0, Integer.MAX_VALUE);
+
+    private static final long NO_CURSOR = 0;
+
+    private final int offset;
+    private final int limit;
+    private final long afterId;
+
+    /**
+     * Constructs a new {@code Page}.
+     *
+     * @param offset The number of items to skip.
+     * @param limit  The maximum number of items to show.
+     */
+    public Page(int offset, int limit) {
+        this(offset, limit, NO_CURSOR);
+    }
+
+    private Page(int offset, int limit, long afterId) {
+        assert offset >= 0 : "Offset cannot be negative";
+        assert limit > 0 : "Limit must be positive";
+        assert afterId >= 0 : "Task ids cannot be negative";
+        this.offset = offset;
+        this.limit = limit;
+        this.afterId = afterId;
+    }
+
+    /**
+     * Creates a page that starts right after the task with the given id.
+     *
+     * @param afterId The id of the task just before the page.
+     * @param limit   The maximum number of items to show.
+     * @return The page.
+     */
+    public static Page after(long afterId, int limit) {
+        assert afterId > 0 : "Task ids must be positive";
+        return new Page(0, limit, afterId);
+    }
+
+    /**
+     * Returns whether the page starts after a given task rather than at an offset.
+     *
+     * @return {@code true} if the page has a cursor, {@code false} otherwise.
+     */
+    public boolean hasCursor() {
+        return afterId != NO_CURSOR;
+    }
+
+    /**
+     * Returns the id of the task just before the page.
+     *
+     * @return The cursor, which is only meaningful if {@code hasCursor} is {@code true}.
+     */
+    public long getAfterId() {
+        return afterId;
+    }
+
+    /**
+     * Returns the number of items to skip.
+     *
+     * @return The offset of the page.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the maximum number of items to show.
+     *
+     * @return The limit of the page.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Returns the index just past the last item of the page, for a list of the given size.
+     *
+     * @param size The size of the list.
+     * @return The end index of the page, which is at most {@code size}.
+     */
+    public int endOf(int size) {
+        return (int) Math.min(size, (long) offset + limit);
+    }
+}
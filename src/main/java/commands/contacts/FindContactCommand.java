@@ -1,9 +1,10 @@
 package commands.contacts;
 
 import java.util.List;
-import java.util.stream.IntStream;
 
 import commands.Command;
+import commands.ListRenderer;
+import commands.Page;
 import components.Contact;
 import components.ContactList;
 import components.ContactStorage;
@@ -24,6 +25,7 @@ public class FindContactCommand extends Command {
     private static final String contact_LIST_HEADER = "Here are the contacts in your list:";
 
     private final String keyword;
+    private final Page page;
 
     /**
      * Constructs a FindCommand with the specified keyword.
@@ -31,8 +33,20 @@ public class FindContactCommand extends Command {
      * @param keyword The keyword to search for in contact descriptions.
      */
     public FindContactCommand(String keyword) {
+        this(keyword, Page.ALL);
+    }
+
+    /**
+     * Constructs a FindCommand that shows one page of the matching contacts.
+     *
+     * @param keyword The keyword to search for in contact descriptions.
+     * @param page    The part of the matching contacts to show.
+     */
+    public FindContactCommand(String keyword, Page page) {
         assert keyword != null && !keyword.isBlank() : ASSERT_KEYWORD_NULL;
+        assert page != null : "Page cannot be null";
         this.keyword = keyword;
+        this.page = page;
     }
 
     /**
@@ -69,9 +83,7 @@ public class FindContactCommand extends Command {
             return EMPTY_LIST_MESSAGE;
         }
 
-        return IntStream.range(0, contacts.size())
-                .mapToObj(i -> String.format("%d. %s", i + 1, contacts.get(i)))
-                .reduce(contact_LIST_HEADER, (list, contact) -> list + "\n" + contact);
+        return ListRenderer.render(contact_LIST_HEADER, contacts, page);
     }
 
 
@@ -86,4 +98,14 @@ public class FindContactCommand extends Command {
         assert matchingcontacts != null : ASSERT_MATCHING_contactS_NULL;
         return matchingcontacts;
     }
+
+    /**
+     * Indicates that this command only reads the lists.
+     *
+     * @return {@code true}, as searching makes no changes.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
@@ -1,9 +1,10 @@
 package commands.contacts;
 
 import java.util.List;
-import java.util.stream.IntStream;
 
 import commands.Command;
+import commands.ListRenderer;
+import commands.Page;
 import components.Contact;
 import components.ContactList;
 import components.ContactStorage;
@@ -13,11 +14,39 @@ import components.TaskStorage;
 /**
  * Represents a command to display the list of tasks.
  * This command retrieves the tasks from the task list and displays them to the user.
+ * Contacts have no ids, so the next page of contacts continues from an offset rather than a cursor.
  */
 public class ListContactCommand extends Command {
 
     private static final String EMPTY_LIST_MESSAGE = "The contact list is empty.";
     private static final String contact_LIST_HEADER = "Here are the contacts in your list:";
+    private static final String NEXT_PAGE_HINT = "\nNext page: listcontacts --offset %d --limit %d";
+
+    private final Page page;
+    private final boolean isHintShown;
+    private Command nextPageCommand;
+
+    /**
+     * Constructs a ListContactCommand that shows every contact.
+     */
+    public ListContactCommand() {
+        this(Page.ALL);
+    }
+
+    /**
+     * Constructs a ListContactCommand that shows one page of the contacts.
+     *
+     * @param page The part of the contact list to show.
+     */
+    public ListContactCommand(Page page) {
+        this(page, true);
+    }
+
+    private ListContactCommand(Page page, boolean isHintShown) {
+        assert page != null : "Page cannot be null";
+        this.page = page;
+        this.isHintShown = isHintShown;
+    }
 
     /**
      * Executes the list command.
@@ -43,8 +72,57 @@ public class ListContactCommand extends Command {
             return EMPTY_LIST_MESSAGE;
         }
 
-        return IntStream.range(0, contacts.size())
-                .mapToObj(i -> String.format("%d. %s", i + 1, contacts.get(i)))
-                .reduce(contact_LIST_HEADER, (list, contact) -> list + "\n" + contact);
+        String response = ListRenderer.render(contact_LIST_HEADER, contacts, page);
+        int end = page.endOf(contacts.size());
+        if (end > page.getOffset() && end < contacts.size()) {
+            nextPageCommand = new ListContactCommand(new Page(end, page.getLimit()), isHintShown);
+            if (isHintShown) {
+                response += String.format(NEXT_PAGE_HINT, end, page.getLimit());
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Returns a version of this command that shows only the first page of the given size,
+     * unless it already asks for a particular page.
+     *
+     * @param limit The maximum number of contacts to show.
+     * @return The command to execute instead.
+     */
+    @Override
+    public Command withDefaultLimit(int limit) {
+        return page == Page.ALL ? new ListContactCommand(new Page(0, limit), isHintShown) : this;
+    }
+
+    /**
+     * Returns a version of this command, and of the commands for the pages after it, that does not end
+     * its response with the command for the next page.
+     *
+     * @return The command to execute instead.
+     */
+    @Override
+    public Command withoutNextPageHint() {
+        return new ListContactCommand(page, false);
+    }
+
+    /**
+     * Returns the command for the page after the one shown.
+     *
+     * @return The command for the next page, or {@code null} if the last contact has been shown.
+     */
+    @Override
+    public Command getNextPageCommand() {
+        return nextPageCommand;
+    }
+
+    /**
+     * Indicates that this command only reads the lists.
+     *
+     * @return {@code true}, as listing contacts makes no changes.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
     }
 }
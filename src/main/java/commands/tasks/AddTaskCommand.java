@@ -1,12 +1,14 @@
 package commands.tasks;
 
 import java.io.IOException;
+import java.util.List;
 
 import commands.Command;
 import components.ContactList;
 import components.ContactStorage;
 import components.TaskList;
 import components.TaskStorage;
+import tasks.EventTask;
 import tasks.Task;
 
 /**
@@ -20,6 +22,7 @@ public class AddTaskCommand extends Command {
     private static final String ASSERT_TASKLIST_NULL = "Task list cannot be null";
     private static final String ASSERT_STORAGE_NULL = "Storage cannot be null";
     private static final String ASSERT_TASKLIST_SIZE = "Task list size should increase by 1";
+    private static final String CONFLICT_WARNING = "\nHeads up, this clashes with:";
 
     private final Task task;
 
@@ -52,7 +55,7 @@ public class AddTaskCommand extends Command {
         taskList.addTask(task);
         assert taskList.size() == initialSize + 1 : ASSERT_TASKLIST_SIZE;
 
-        String confirmationMessage = showTaskAdded(task, taskList.size());
+        String confirmationMessage = showTaskAdded(task, taskList.size()) + showConflicts(taskList);
         return saveTaskToStorage(taskStorage, confirmationMessage);
     }
 
@@ -70,6 +73,29 @@ public class AddTaskCommand extends Command {
     }
 
 
+    /**
+     * Returns a warning listing the events that overlap the added task, if it is an event.
+     *
+     * @param taskList The task list the task was added to.
+     * @return The warning, or an empty string if there are no conflicts.
+     */
+    private String showConflicts(TaskList taskList) {
+        if (!(task instanceof EventTask)) {
+            return "";
+        }
+        EventTask event = (EventTask) task;
+        List<EventTask> overlappingEvents = taskList.getOverlappingEvents(event.getStartDateTime(),
+                event.getEndDateTime());
+
+        StringBuilder warning = new StringBuilder();
+        for (EventTask overlappingEvent : overlappingEvents) {
+            if (overlappingEvent.getId() != event.getId()) {
+                warning.append("\n  ").append(overlappingEvent);
+            }
+        }
+        return warning.length() == 0 ? "" : CONFLICT_WARNING + warning;
+    }
+
     /**
      * Saves the task to storage and returns an appropriate message.
      *
@@ -2,6 +2,7 @@ package commands.tasks;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.List;
 
 import commands.Command;
 import components.ContactList;
@@ -38,8 +39,9 @@ public class DeleteTaskCommand extends Command {
 
     /**
      * Executes the delete task command.
-     * Removes the task from the task list, displays a confirmation message,
-     * and updates the storage.
+     * Resolves every index to a task id before removing anything, so that removing one task
+     * never shifts the others, then removes the tasks in a single pass, displays a confirmation
+     * message, and updates the storage.
      *
      * @param taskList The task list from which the task is deleted.
      * @param taskStorage  The storage component responsible for saving tasks.
@@ -51,7 +53,6 @@ public class DeleteTaskCommand extends Command {
         assert taskList != null : ASSERT_TASKLIST_NULL;
         assert taskStorage != null : ASSERT_STORAGE_NULL;
 
-        int initialSize = taskList.size();
         StringBuilder confirmationMessage = new StringBuilder();
 
         int[] sortedIndices = Arrays.stream(taskIndices)
@@ -59,15 +60,19 @@ public class DeleteTaskCommand extends Command {
                 .sorted()
                 .toArray();
 
-        for (int taskIndex : sortedIndices) {
-            assert taskIndex >= 0 : ASSERT_TASKINDEX_NEGATIVE;
-            validateIndex(taskList, taskIndex);
+        long[] taskIds = new long[sortedIndices.length];
+        for (int i = 0; i < sortedIndices.length; i++) {
+            assert sortedIndices[i] >= 0 : ASSERT_TASKINDEX_NEGATIVE;
+            validateIndex(taskList, sortedIndices[i]);
+            taskIds[i] = taskList.getTask(sortedIndices[i]).getId();
+        }
 
-            Task removedTask = taskList.removeTask(taskIndex);
+        List<Task> removedTasks = taskList.removeTasksById(taskIds);
+        for (Task removedTask : removedTasks) {
             confirmationMessage.append(showTaskRemoved(removedTask, taskList.size())).append("\n");
         }
 
-        updateStorage(taskStorage, taskList, confirmationMessage, initialSize);
+        updateStorage(taskStorage, confirmationMessage, taskIds);
         return confirmationMessage.toString().trim();
     }
 
@@ -102,16 +107,12 @@ public class DeleteTaskCommand extends Command {
      * Updates storage after tasks are deleted.
      *
      * @param taskStorage The storage component.
-     * @param taskList The updated task list.
      * @param confirmationMessage The confirmation message builder.
-     * @param initialSize The initial size of the task list.
+     * @param removedIds The ids of the removed tasks.
      */
-    private void updateStorage(TaskStorage taskStorage,
-                               TaskList taskList, StringBuilder confirmationMessage, int initialSize) {
+    private void updateStorage(TaskStorage taskStorage, StringBuilder confirmationMessage, long[] removedIds) {
         try {
-            if (taskList.size() < initialSize) {
-                taskStorage.overwriteTasks(taskList.getTasks());
-            }
+            taskStorage.saveDeletedTasks(removedIds);
         } catch (IOException e) {
             confirmationMessage.append("\n").append(ERROR_STORAGE_UPDATE).append(e.getMessage());
         }
@@ -1,19 +1,22 @@
 package commands.tasks;
 
 import java.util.List;
-import java.util.stream.IntStream;
 
 import commands.Command;
+import commands.ListRenderer;
+import commands.Page;
 import components.ContactList;
 import components.ContactStorage;
 import components.TaskList;
 import components.TaskStorage;
+import exceptions.InvalidFormatException;
 import exceptions.NiniException;
 import tasks.Task;
 
 /**
  * Represents a command that finds tasks in the task list based on a keyword.
  * The search is case-insensitive and matches tasks whose descriptions contain the keyword.
+ * In word search mode, it instead matches tasks whose descriptions contain every word of the keyword.
  */
 public class FindTaskCommand extends Command {
 
@@ -22,8 +25,11 @@ public class FindTaskCommand extends Command {
     private static final String ASSERT_MATCHING_TASKS_NULL = "Matching tasks list should not be null";
     private static final String EMPTY_LIST_MESSAGE = "The list is empty.";
     private static final String TASK_LIST_HEADER = "Here are the tasks in your list:";
+    private static final String ERROR_NO_WORDS = "Please enter at least one word to search for.";
 
     private final String keyword;
+    private final boolean isWordSearch;
+    private final Page page;
 
     /**
      * Constructs a FindCommand with the specified keyword.
@@ -31,8 +37,32 @@ public class FindTaskCommand extends Command {
      * @param keyword The keyword to search for in task descriptions.
      */
     public FindTaskCommand(String keyword) {
+        this(keyword, false);
+    }
+
+    /**
+     * Constructs a FindCommand with the specified keyword and search mode.
+     *
+     * @param keyword      The keyword to search for in task descriptions.
+     * @param isWordSearch Whether to match whole words instead of any substring.
+     */
+    public FindTaskCommand(String keyword, boolean isWordSearch) {
+        this(keyword, isWordSearch, Page.ALL);
+    }
+
+    /**
+     * Constructs a FindCommand that shows one page of the matching tasks.
+     *
+     * @param keyword      The keyword to search for in task descriptions.
+     * @param isWordSearch Whether to match whole words instead of any substring.
+     * @param page         The part of the matching tasks to show.
+     */
+    public FindTaskCommand(String keyword, boolean isWordSearch, Page page) {
         assert keyword != null && !keyword.isBlank() : ASSERT_KEYWORD_NULL;
+        assert page != null : "Page cannot be null";
         this.keyword = keyword;
+        this.isWordSearch = isWordSearch;
+        this.page = page;
     }
 
     /**
@@ -69,9 +99,7 @@ public class FindTaskCommand extends Command {
             return EMPTY_LIST_MESSAGE;
         }
 
-        return IntStream.range(0, tasks.size())
-                .mapToObj(i -> String.format("%d. %s", i + 1, tasks.get(i)))
-                .reduce(TASK_LIST_HEADER, (list, task) -> list + "\n" + task);
+        return ListRenderer.render(TASK_LIST_HEADER, tasks, page);
     }
 
 
@@ -80,10 +108,26 @@ public class FindTaskCommand extends Command {
      *
      * @param taskList The task list to search within.
      * @return A list of tasks that contain the keyword in their description.
+     * @throws InvalidFormatException If a word search is requested for a keyword without any words.
      */
-    private List<Task> searchTasks(TaskList taskList) {
-        List<Task> matchingTasks = taskList.findTasks(keyword);
+    private List<Task> searchTasks(TaskList taskList) throws InvalidFormatException {
+        List<Task> matchingTasks;
+        try {
+            matchingTasks = isWordSearch ? taskList.findTasksByWords(keyword) : taskList.findTasks(keyword);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidFormatException(ERROR_NO_WORDS);
+        }
         assert matchingTasks != null : ASSERT_MATCHING_TASKS_NULL;
         return matchingTasks;
     }
+
+    /**
+     * Indicates that this command only reads the lists.
+     *
+     * @return {@code true}, as searching makes no changes.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
 }
@@ -0,0 +1,115 @@
+package commands.tasks;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+
+import commands.Command;
+import components.ContactList;
+import components.ContactStorage;
+import components.TaskList;
+import components.TaskStorage;
+import tasks.EventTask;
+
+/**
+ * Represents a command to display the busy and free periods within a given period.
+ * Busy periods are the merged time ranges of the events overlapping the period.
+ */
+public class FreeBusyCommand extends Command {
+
+    private static final DateTimeFormatter OUTPUT_FORMATTER = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mma",
+            Locale.ENGLISH);
+    private static final String ASSERT_TASKLIST_NULL = "Task list cannot be null";
+    private static final String BUSY_HEADER = "Busy:";
+    private static final String FREE_HEADER = "Free:";
+    private static final String NONE = "  (none)";
+
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+    /**
+     * Constructs a {@code FreeBusyCommand} for the given period.
+     *
+     * @param from The start of the period.
+     * @param to   The end of the period.
+     */
+    public FreeBusyCommand(LocalDateTime from, LocalDateTime to) {
+        assert from != null && to != null : "Period cannot be null";
+        assert !from.isAfter(to) : "Period must not end before it starts";
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Executes the command by listing the busy periods, then the free periods between them.
+     *
+     * @param taskList The task list containing the events.
+     * @param taskStorage  The storage component (not used in this command).
+     * @return         The busy and free periods.
+     */
+    @Override
+    public String execute(TaskList taskList, ContactList contactList,
+                          TaskStorage taskStorage, ContactStorage contactStorage) {
+        assert taskList != null : ASSERT_TASKLIST_NULL;
+        List<EventTask> events = taskList.getOverlappingEvents(from, to);
+
+        StringBuilder busy = new StringBuilder(BUSY_HEADER);
+        StringBuilder free = new StringBuilder(FREE_HEADER);
+        LocalDateTime freeFrom = from;
+        LocalDateTime busyFrom = null;
+        LocalDateTime busyTo = null;
+
+        // Events are ordered by start time, so overlapping ones are merged in a single pass
+        for (EventTask event : events) {
+            LocalDateTime start = event.getStartDateTime().isBefore(from) ? from : event.getStartDateTime();
+            LocalDateTime end = event.getEndDateTime().isAfter(to) ? to : event.getEndDateTime();
+            if (busyTo != null && !start.isAfter(busyTo)) {
+                busyTo = end.isAfter(busyTo) ? end : busyTo;
+                continue;
+            }
+            if (busyTo != null) {
+                appendPeriod(busy, busyFrom, busyTo);
+                freeFrom = busyTo;
+            }
+            if (start.isAfter(freeFrom)) {
+                appendPeriod(free, freeFrom, start);
+            }
+            busyFrom = start;
+            busyTo = end;
+        }
+
+        if (busyTo != null) {
+            appendPeriod(busy, busyFrom, busyTo);
+            freeFrom = busyTo;
+        }
+        if (to.isAfter(freeFrom)) {
+            appendPeriod(free, freeFrom, to);
+        }
+
+        if (busyTo == null) {
+            busy.append("\n").append(NONE);
+        }
+        if (free.length() == FREE_HEADER.length()) {
+            free.append("\n").append(NONE);
+        }
+        return busy.append("\n").append(free).toString();
+    }
+
+    private static void appendPeriod(StringBuilder builder, LocalDateTime start, LocalDateTime end) {
+        builder.append("\n  ")
+                .append(start.format(OUTPUT_FORMATTER))
+                .append(" to ")
+                .append(end.format(OUTPUT_FORMATTER));
+    }
+
+    /**
+     * Indicates that this command only reads the lists.
+     *
+     * @return {@code true}, as computing free and busy periods makes no changes.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
@@ -1,36 +1,97 @@
 package commands.tasks;
 
 import java.util.List;
-import java.util.stream.IntStream;
 
 import commands.Command;
+import commands.ListRenderer;
+import commands.Page;
 import components.ContactList;
 import components.ContactStorage;
 import components.TaskList;
+import components.TaskPage;
 import components.TaskStorage;
+import exceptions.InvalidTaskNumberException;
 import tasks.Task;
 
 /**
  * Represents a command to display the list of tasks.
  * This command retrieves the tasks from the task list and displays them to the user.
+ * A page that does not reach the end of the list is followed by a hint for the next page, unless the
+ * frontend fetches it itself. The next page continues after the id of the last task shown, so it stays
+ * in place while tasks are added or deleted.
+ * Only the tasks on the requested page are copied out of the task list, so showing a page of a large list
+ * does not take a snapshot of all of it.
  */
 public class ListTaskCommand extends Command {
 
     private static final String EMPTY_LIST_MESSAGE = "The task list is empty.";
     private static final String TASK_LIST_HEADER = "Here are the tasks in your list:";
+    private static final String NEXT_PAGE_HINT = "\nNext page: listtasks --after %d --limit %d";
+    private static final String ERROR_UNKNOWN_CURSOR = "No task has id %d to continue the list after.";
+
+    private final Page page;
+    private final boolean isHintShown;
+    private Command nextPageCommand;
+
+    /**
+     * Constructs a ListTaskCommand that shows every task.
+     */
+    public ListTaskCommand() {
+        this(Page.ALL);
+    }
+
+    /**
+     * Constructs a ListTaskCommand that shows one page of the tasks.
+     *
+     * @param page The part of the task list to show.
+     */
+    public ListTaskCommand(Page page) {
+        this(page, true);
+    }
+
+    private ListTaskCommand(Page page, boolean isHintShown) {
+        assert page != null : "Page cannot be null";
+        this.page = page;
+        this.isHintShown = isHintShown;
+    }
 
     /**
      * Executes the list command.
-     * Retrieves and displays all tasks stored in the task list.
+     * Retrieves and displays the tasks on the requested page of the task list.
      *
      * @param taskList The task list containing the tasks.
      * @param taskStorage  The storage component (not used in this command).
      * @return         The list of tasks.
+     * @throws InvalidTaskNumberException If the page continues after a task that no longer exists.
      */
     @Override
     public String execute(TaskList taskList, ContactList contactList,
-                          TaskStorage taskStorage, ContactStorage contactStorage) {
-        return showTaskList(taskList.getTasks());
+                          TaskStorage taskStorage, ContactStorage contactStorage) throws InvalidTaskNumberException {
+        if (page == Page.ALL) {
+            return showTaskList(taskList.getTasks());
+        }
+
+        TaskPage shownPage = page.hasCursor()
+                ? taskList.getPageAfter(page.getAfterId(), page.getLimit())
+                : taskList.getPage(page.getOffset(), page.getLimit());
+        if (shownPage == null) {
+            throw new InvalidTaskNumberException(String.format(ERROR_UNKNOWN_CURSOR, page.getAfterId()));
+        }
+        if (shownPage.getListSize() == 0) {
+            return EMPTY_LIST_MESSAGE;
+        }
+
+        List<Task> tasks = shownPage.getTasks();
+        String response = ListRenderer.render(TASK_LIST_HEADER, tasks, shownPage.getStart(),
+                shownPage.getListSize());
+        if (!tasks.isEmpty() && shownPage.getEnd() < shownPage.getListSize()) {
+            long lastId = tasks.get(tasks.size() - 1).getId();
+            nextPageCommand = new ListTaskCommand(Page.after(lastId, page.getLimit()), isHintShown);
+            if (isHintShown) {
+                response += String.format(NEXT_PAGE_HINT, lastId, page.getLimit());
+            }
+        }
+        return response;
     }
 
     /**
@@ -43,8 +104,49 @@ public class ListTaskCommand extends Command {
             return EMPTY_LIST_MESSAGE;
         }
 
-        return IntStream.range(0, tasks.size())
-                .mapToObj(i -> String.format("%d. %s", i + 1, tasks.get(i)))
-                .reduce(TASK_LIST_HEADER, (list, task) -> list + "\n" + task);
+        return ListRenderer.render(TASK_LIST_HEADER, tasks, page);
+    }
+
+    /**
+     * Returns a version of this command that shows only the first page of the given size,
+     * unless it already asks for a particular page.
+     *
+     * @param limit The maximum number of tasks to show.
+     * @return The command to execute instead.
+     */
+    @Override
+    public Command withDefaultLimit(int limit) {
+        return page == Page.ALL ? new ListTaskCommand(new Page(0, limit), isHintShown) : this;
+    }
+
+    /**
+     * Returns a version of this command, and of the commands for the pages after it, that does not end
+     * its response with the command for the next page.
+     *
+     * @return The command to execute instead.
+     */
+    @Override
+    public Command withoutNextPageHint() {
+        return new ListTaskCommand(page, false);
+    }
+
+    /**
+     * Returns the command for the page after the one shown, continuing after the last task shown.
+     *
+     * @return The command for the next page, or {@code null} if the last task has been shown.
+     */
+    @Override
+    public Command getNextPageCommand() {
+        return nextPageCommand;
+    }
+
+    /**
+     * Indicates that this command only reads the lists.
+     *
+     * @return {@code true}, as listing tasks makes no changes.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
     }
 }
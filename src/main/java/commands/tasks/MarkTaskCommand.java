@@ -1,7 +1,6 @@
 package commands.tasks;
 
 import java.io.IOException;
-import java.util.Arrays;
 
 import commands.Command;
 import components.ContactList;
@@ -54,21 +53,40 @@ public class MarkTaskCommand extends Command {
         assert taskStorage != null : ASSERT_STORAGE_NULL;
 
         StringBuilder confirmationMessage = new StringBuilder();
-        int[] uniqueIndices = Arrays.stream(markIndices).distinct().toArray();
+        long[] taskIds = resolveIds(taskList);
 
-        for (int index : markIndices) {
-            assert index >= 0 : ASSERT_TASKINDEX_NEGATIVE;
-            validateIndex(taskList, index);
-
-            Task task = markTaskAsDone(taskList, index);
+        for (long taskId : taskIds) {
+            Task task = markTaskAsDone(taskList, taskId);
             confirmationMessage.append("Congratulations. You completed something. I've marked this task as done:\n")
                         .append(task).append("\n");
         }
 
-        updateStorage(taskStorage, taskList, confirmationMessage);
+        updateStorage(taskStorage, taskIds, confirmationMessage);
         return confirmationMessage.toString().trim();
     }
 
+    /**
+     * Validates every task index and the status of its task, and resolves it to the id of the task,
+     * before any task is changed.
+     *
+     * @param taskList The task list.
+     * @return The ids of the tasks, in the order their indices were given.
+     * @throws InvalidTaskNumberException If an index is out of bounds or its task is already marked as done.
+     */
+    private long[] resolveIds(TaskList taskList) throws InvalidTaskNumberException {
+        long[] taskIds = new long[markIndices.length];
+        for (int i = 0; i < markIndices.length; i++) {
+            assert markIndices[i] >= 0 : ASSERT_TASKINDEX_NEGATIVE;
+            validateIndex(taskList, markIndices[i]);
+            Task task = taskList.getTask(markIndices[i]);
+            if (task.isDone()) {
+                throw new InvalidTaskNumberException(ERROR_ALREADY_MARKED);
+            }
+            taskIds[i] = task.getId();
+        }
+        return taskIds;
+    }
+
     /**
      * Validates if the task index is within the valid range.
      *
@@ -88,29 +106,25 @@ public class MarkTaskCommand extends Command {
      * Marks a task as done.
      *
      * @param taskList The task list.
-     * @param taskIndex The index of the task to mark.
+     * @param taskId The id of the task to mark.
      * @return The marked task.
-     * @throws NiniException If the task is already marked as done.
+     * @throws NiniException If the task cannot be marked.
      */
-    private Task markTaskAsDone(TaskList taskList, int taskIndex) throws NiniException {
-        Task task = taskList.getTask(taskIndex);
-        if (task.isDone()) {
-            throw new InvalidTaskNumberException(ERROR_ALREADY_MARKED);
-        }
-        taskList.markTask(taskIndex);
-        return task;
+    private Task markTaskAsDone(TaskList taskList, long taskId) throws NiniException {
+        taskList.markTaskById(taskId);
+        return taskList.getTaskById(taskId);
     }
 
     /**
      * Updates storage after marking tasks as done.
      *
      * @param taskStorage The storage component.
-     * @param taskList The updated task list.
+     * @param taskIds The ids of the changed tasks.
      * @param confirmationMessage The confirmation message builder.
      */
-    private void updateStorage(TaskStorage taskStorage, TaskList taskList, StringBuilder confirmationMessage) {
+    private void updateStorage(TaskStorage taskStorage, long[] taskIds, StringBuilder confirmationMessage) {
         try {
-            taskStorage.overwriteTasks(taskList.getTasks());
+            taskStorage.saveMarkedTasks(taskIds);
         } catch (IOException e) {
             confirmationMessage.append("\n").append(ERROR_STORAGE_UPDATE).append(e.getMessage());
         }
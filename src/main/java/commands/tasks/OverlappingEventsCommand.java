@@ -0,0 +1,68 @@
+package commands.tasks;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import commands.Command;
+import commands.ListRenderer;
+import commands.Page;
+import components.ContactList;
+import components.ContactStorage;
+import components.TaskList;
+import components.TaskStorage;
+import tasks.EventTask;
+
+/**
+ * Represents a command to display the events that overlap a given period.
+ */
+public class OverlappingEventsCommand extends Command {
+
+    private static final String ASSERT_TASKLIST_NULL = "Task list cannot be null";
+    private static final String EMPTY_LIST_MESSAGE = "No events during that time. Suspiciously free.";
+    private static final String EVENT_LIST_HEADER = "Here are the events during that time:";
+
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+    /**
+     * Constructs an {@code OverlappingEventsCommand} for the given period.
+     *
+     * @param from The start of the period.
+     * @param to   The end of the period.
+     */
+    public OverlappingEventsCommand(LocalDateTime from, LocalDateTime to) {
+        assert from != null && to != null : "Period cannot be null";
+        assert !from.isAfter(to) : "Period must not end before it starts";
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Executes the command by listing every event that overlaps the period, ordered by start time.
+     *
+     * @param taskList The task list containing the events.
+     * @param taskStorage  The storage component (not used in this command).
+     * @return         The list of overlapping events.
+     */
+    @Override
+    public String execute(TaskList taskList, ContactList contactList,
+                          TaskStorage taskStorage, ContactStorage contactStorage) {
+        assert taskList != null : ASSERT_TASKLIST_NULL;
+        List<EventTask> events = taskList.getOverlappingEvents(from, to);
+        if (events.isEmpty()) {
+            return EMPTY_LIST_MESSAGE;
+        }
+
+        return ListRenderer.render(EVENT_LIST_HEADER, events, Page.ALL);
+    }
+
+    /**
+     * Indicates that this command only reads the lists.
+     *
+     * @return {@code true}, as listing overlapping events makes no changes.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
@@ -1,5 +1,7 @@
 package commands.tasks;
 
+import java.io.IOException;
+
 import commands.Command;
 import components.ContactList;
 import components.ContactStorage;
@@ -12,6 +14,8 @@ import components.TaskStorage;
  */
 public class SortTaskCommand extends Command {
 
+    private static final String ERROR_STORAGE_UPDATE = "Error saving sorted task list: ";
+
     /**
      * Executes the command to mark the specified task as not done.
      * If the task index is invalid, an exception is thrown.
@@ -24,6 +28,11 @@ public class SortTaskCommand extends Command {
     public String execute(TaskList taskList, ContactList contactList,
                           TaskStorage taskStorage, ContactStorage contactStorage) {
         taskList.sortTasks();
+        try {
+            taskStorage.saveSortedTasks();
+        } catch (IOException e) {
+            return "Tasks sorted by date!\n" + ERROR_STORAGE_UPDATE + e.getMessage();
+        }
         return "Tasks sorted by date!";
     }
 }
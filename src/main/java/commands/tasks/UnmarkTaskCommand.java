@@ -1,7 +1,6 @@
 package commands.tasks;
 
 import java.io.IOException;
-import java.util.Arrays;
 
 import commands.Command;
 import components.ContactList;
@@ -54,22 +53,41 @@ public class UnmarkTaskCommand extends Command {
         assert taskStorage != null : ASSERT_STORAGE_NULL;
 
         StringBuilder confirmationMessage = new StringBuilder();
-        int[] uniqueIndices = Arrays.stream(unmarkIndices).distinct().toArray();
+        long[] taskIds = resolveIds(taskList);
 
-        for (int index : unmarkIndices) {
-            assert index >= 0 : ASSERT_TASKINDEX_NEGATIVE;
-            validateIndex(taskList, index);
-
-            Task task = unmarkTask(taskList, index);
+        for (long taskId : taskIds) {
+            Task task = unmarkTask(taskList, taskId);
 
             confirmationMessage.append("OK, I've marked this task as not done yet:\n  ")
                         .append(task).append("\n");
         }
 
-        updateStorage(taskStorage, taskList, confirmationMessage);
+        updateStorage(taskStorage, taskIds, confirmationMessage);
         return confirmationMessage.toString().trim();
     }
 
+    /**
+     * Validates every task index and the status of its task, and resolves it to the id of the task,
+     * before any task is changed.
+     *
+     * @param taskList The task list.
+     * @return The ids of the tasks, in the order their indices were given.
+     * @throws NiniException If an index is out of bounds or its task is already unmarked.
+     */
+    private long[] resolveIds(TaskList taskList) throws NiniException {
+        long[] taskIds = new long[unmarkIndices.length];
+        for (int i = 0; i < unmarkIndices.length; i++) {
+            assert unmarkIndices[i] >= 0 : ASSERT_TASKINDEX_NEGATIVE;
+            validateIndex(taskList, unmarkIndices[i]);
+            Task task = taskList.getTask(unmarkIndices[i]);
+            if (!task.isDone()) {
+                throw new InvalidTaskNumberException(ERROR_ALREADY_UNMARKED);
+            }
+            taskIds[i] = task.getId();
+        }
+        return taskIds;
+    }
+
     /**
      * Validates if the task index is within the valid range.
      *
@@ -89,29 +107,25 @@ public class UnmarkTaskCommand extends Command {
      * Unmarks a task as not done.
      *
      * @param taskList The task list.
-     * @param taskIndex The index of the task to unmark.
+     * @param taskId The id of the task to unmark.
      * @return The unmarked task.
-     * @throws NiniException If the task is already unmarked.
+     * @throws NiniException If the task cannot be unmarked.
      */
-    private Task unmarkTask(TaskList taskList, int taskIndex) throws NiniException {
-        Task task = taskList.getTask(taskIndex);
-        if (!task.isDone()) {
-            throw new InvalidTaskNumberException(ERROR_ALREADY_UNMARKED);
-        }
-        taskList.unmarkTask(taskIndex);
-        return task;
+    private Task unmarkTask(TaskList taskList, long taskId) throws NiniException {
+        taskList.unmarkTaskById(taskId);
+        return taskList.getTaskById(taskId);
     }
 
     /**
      * Updates storage after unmarking tasks.
      *
      * @param taskStorage The storage component.
-     * @param taskList The updated task list.
+     * @param taskIds The ids of the changed tasks.
      * @param confirmationMessage The confirmation message builder.
      */
-    private void updateStorage(TaskStorage taskStorage, TaskList taskList, StringBuilder confirmationMessage) {
+    private void updateStorage(TaskStorage taskStorage, long[] taskIds, StringBuilder confirmationMessage) {
         try {
-            taskStorage.overwriteTasks(taskList.getTasks());
+            taskStorage.saveUnmarkedTasks(taskIds);
         } catch (IOException e) {
             confirmationMessage.append("\n").append(ERROR_STORAGE_UPDATE).append(e.getMessage());
         }
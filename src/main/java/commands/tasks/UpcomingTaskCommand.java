@@ -0,0 +1,85 @@
+package commands.tasks;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import commands.Command;
+import commands.ListRenderer;
+import commands.Page;
+import components.ContactList;
+import components.ContactStorage;
+import components.TaskList;
+import components.TaskStorage;
+import tasks.Task;
+
+/**
+ * Represents a command to display the next deadlines and events from now on.
+ * The tasks are read from the date index of the task list, so the task list itself is not sorted.
+ */
+public class UpcomingTaskCommand extends Command {
+
+    public static final int DEFAULT_COUNT = 5;
+
+    private static final String ASSERT_TASKLIST_NULL = "Task list cannot be null";
+    private static final String EMPTY_LIST_MESSAGE = "Nothing coming up. Enjoy it while it lasts.";
+    private static final String TASK_LIST_HEADER = "Here are your upcoming tasks:";
+
+    private final int count;
+
+    /**
+     * Constructs an {@code UpcomingTaskCommand} showing the given number of tasks.
+     *
+     * @param count The maximum number of tasks to show.
+     */
+    public UpcomingTaskCommand(int count) {
+        assert count > 0 : "Count must be positive";
+        this.count = count;
+    }
+
+    /**
+     * Executes the upcoming command.
+     * Retrieves and displays the earliest tasks whose deadline or start time has not passed.
+     *
+     * @param taskList The task list containing the tasks.
+     * @param taskStorage  The storage component (not used in this command).
+     * @return         The list of upcoming tasks.
+     */
+    @Override
+    public String execute(TaskList taskList, ContactList contactList,
+                          TaskStorage taskStorage, ContactStorage contactStorage) {
+        assert taskList != null : ASSERT_TASKLIST_NULL;
+        return showTaskList(taskList.getUpcomingTasks(LocalDateTime.now(), count));
+    }
+
+    /**
+     * Displays the list of upcoming tasks.
+     *
+     * @param tasks The list of tasks to be displayed.
+     */
+    public String showTaskList(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return EMPTY_LIST_MESSAGE;
+        }
+
+        return ListRenderer.render(TASK_LIST_HEADER, tasks, Page.ALL);
+    }
+
+    /**
+     * Returns the maximum number of tasks shown.
+     *
+     * @return The number of tasks.
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Indicates that this command only reads the lists.
+     *
+     * @return {@code true}, as listing upcoming tasks makes no changes.
+     */
+    @Override
+    public boolean isReadOnly() {
+        return true;
+    }
+}
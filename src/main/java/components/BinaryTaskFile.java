@@ -0,0 +1,474 @@
+package components;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import exceptions.InvalidDataException;
+import exceptions.NiniException;
+import tasks.DeadlineTask;
+import tasks.EventTask;
+import tasks.Task;
+import tasks.ToDoTask;
+
+/**
+ * Represents a task file in a compact binary format.
+ * The file starts with a magic header, followed by one record per task:
+ * <ul>
+ *     <li>a type byte ({@code T}, {@code D} or {@code E}),</li>
+ *     <li>a flags byte whose lowest bit is the done status, and whose second bit is set if an id follows,</li>
+ *     <li>the task id as a long, if present,</li>
+ *     <li>a length-prefixed UTF-8 description,</li>
+ *     <li>one ({@code D}) or two ({@code E}) times as minutes since the epoch,</li>
+ *     <li>a CRC32 checksum of the record.</li>
+ * </ul>
+ * Files are read in one pass through a bounded window, avoiding the text parsing cost of the default format.
+ */
+public class BinaryTaskFile {
+
+    private static final byte[] MAGIC = {'N', 'I', 'N', 'B', 1};
+    private static final byte TODO_TYPE = 'T';
+    private static final byte DEADLINE_TYPE = 'D';
+    private static final byte EVENT_TYPE = 'E';
+    private static final byte DONE_FLAG = 1;
+    private static final byte ID_FLAG = 2;
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int CHECKSUM_BYTES = Integer.BYTES;
+    // Longer records are taken to be corrupted, so a damaged length never has the rest of the file read in
+    private static final int MAX_RECORD_LENGTH = 1 << 24;
+
+    private final Path path;
+    private int skippedCount;
+
+    /**
+     * Constructs a {@code BinaryTaskFile} backed by the given file.
+     *
+     * @param fileName The path to the binary task file.
+     */
+    public BinaryTaskFile(String fileName) {
+        assert fileName != null && !fileName.isBlank() : "File name cannot be null or empty";
+        this.path = Path.of(fileName);
+    }
+
+    /**
+     * Returns whether the given file exists and starts with the binary task file header.
+     *
+     * @param fileName The path to the file to check.
+     * @return {@code true} if the file is a binary task file, {@code false} otherwise.
+     * @throws IOException If an error occurs while reading the file.
+     */
+    public static boolean isBinaryFile(String fileName) throws IOException {
+        Path path = Path.of(fileName);
+        if (!Files.exists(path) || Files.size(path) < MAGIC.length) {
+            return false;
+        }
+        try (InputStream input = Files.newInputStream(path)) {
+            return Arrays.equals(input.readNBytes(MAGIC.length), MAGIC);
+        }
+    }
+
+    /**
+     * Returns the number of records skipped by the last {@code read} because they were corrupted.
+     *
+     * @return The number of corrupted records skipped.
+     */
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * Represents an action performed on each intact record of a file.
+     */
+    @FunctionalInterface
+    interface RecordVisitor {
+        /**
+         * Visits a record, which is only valid in the buffer until this returns.
+         *
+         * @param buffer The buffer holding the record.
+         * @param start  The position of the first byte of the record in the buffer.
+         * @param length The length of the record.
+         * @param offset The position of the first byte of the record in the file.
+         * @throws IOException If the record cannot be handled.
+         */
+        void visit(ByteBuffer buffer, int start, int length, long offset) throws IOException;
+    }
+
+    /**
+     * Reads all intact tasks from the file.
+     * Records whose checksum does not match are skipped; a truncated final record ends the read.
+     *
+     * @return The tasks stored in the file, in order.
+     * @throws IOException If an error occurs while reading the file or the file is not a binary task file.
+     */
+    public List<Task> read() throws IOException {
+        List<Task> tasks = new ArrayList<>();
+        forEachTask(tasks::add);
+        return tasks;
+    }
+
+    /**
+     * Decodes each intact task in the file and passes it to the consumer, in order, without keeping it.
+     * The file is read with positional reads through a bounded window, so files of any size are read
+     * without holding more than a window of them, and no mapping outlives the call.
+     * Records whose checksum does not match, or that do not describe a valid task, are skipped;
+     * a truncated final record ends the read.
+     *
+     * @param consumer The consumer of the decoded tasks.
+     * @throws IOException If an error occurs while reading the file or the file is not a binary task file.
+     */
+    public void forEachTask(Consumer<Task> consumer) throws IOException {
+        skippedCount = 0;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int corruptedCount = forEachRecord(channel, (buffer, start, length, offset) -> {
+                Task task = decodeIntactAt(buffer, start);
+                if (task == null) {
+                    skippedCount++;
+                } else {
+                    consumer.accept(task);
+                }
+            });
+            skippedCount += corruptedCount;
+        }
+    }
+
+    /**
+     * Passes each intact record in the file to the visitor, in order, reading the file through a window that
+     * slides forward with positional reads. The window only grows when a single record does not fit in it.
+     *
+     * @param channel The channel of a binary task file, which is left open.
+     * @param visitor The visitor to pass the records to.
+     * @return The number of corrupted records skipped, counting a truncated final record.
+     * @throws IOException If an error occurs while reading the file or the file is not a binary task file.
+     */
+    static int forEachRecord(FileChannel channel, RecordVisitor visitor) throws IOException {
+        FileWindow window = new FileWindow(channel);
+        skipHeader(window.getBuffer().duplicate());
+
+        int skippedCount = 0;
+        int position = MAGIC.length;
+        while (!window.isDoneAt(position)) {
+            ByteBuffer buffer = window.getBuffer();
+            int length = recordLengthAt(buffer, position);
+            if (length < 0) {
+                // The record may continue past the window, unless it is already longer than any record can be
+                if (!window.isAtEnd() && buffer.limit() - position <= MAX_RECORD_LENGTH) {
+                    window.slide(position);
+                    position = 0;
+                    continue;
+                }
+                skippedCount++;
+                break;
+            }
+            if (isIntactAt(buffer, position, length)) {
+                visitor.visit(buffer, position, length, window.getStart() + position);
+            } else {
+                skippedCount++;
+            }
+            position += length;
+        }
+        return skippedCount;
+    }
+
+    /**
+     * Decodes the record at the given position, which must be intact and of a known type.
+     *
+     * @param buffer The buffer holding the record.
+     * @param start  The position of the first byte of the record.
+     * @return The decoded task, or {@code null} if the record does not describe a valid task.
+     */
+    static Task decodeIntactAt(ByteBuffer buffer, int start) {
+        try {
+            return decode(buffer.duplicate().position(start));
+        } catch (InvalidDataException e) {
+            throw new IllegalStateException(e); // Never happens, as an intact record has a known type and length
+        }
+    }
+
+    /**
+     * Replaces the content of the file with the given tasks, atomically.
+     *
+     * @param tasks The tasks to write.
+     * @throws IOException If an error occurs while writing the file.
+     */
+    public void write(List<Task> tasks) throws IOException {
+        assert tasks != null : "Tasks cannot be null";
+        List<byte[]> records = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            records.add(encode(task));
+        }
+        writeRecords(records);
+    }
+
+    /**
+     * Replaces the content of the file with the given already encoded records, atomically.
+     *
+     * @param records The records to write, as returned by {@code encode}.
+     * @throws IOException If an error occurs while writing the file.
+     */
+    public void writeRecords(List<byte[]> records) throws IOException {
+        assert records != null : "Records cannot be null";
+        int totalSize = MAGIC.length;
+        for (byte[] record : records) {
+            totalSize += record.length;
+        }
+
+        ByteBuffer content = ByteBuffer.allocate(totalSize).put(MAGIC);
+        for (byte[] record : records) {
+            content.put(record);
+        }
+        RecordFile.replaceAtomically(path, content.flip());
+    }
+
+    /**
+     * Encodes a task into a single checksummed binary record.
+     *
+     * @param task The task to encode.
+     * @return The encoded record.
+     */
+    public static byte[] encode(Task task) {
+        assert task != null : "Task cannot be null";
+        return encode(task, task.getId());
+    }
+
+    /**
+     * Encodes a task into a single checksummed binary record, under the given id instead of its own.
+     *
+     * @param task The task to encode.
+     * @param id   The id to record, or {@code 0} to record none.
+     * @return The encoded record.
+     */
+    static byte[] encode(Task task, long id) {
+        assert task != null : "Task cannot be null";
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        LocalDateTime[] times = timesOf(task);
+
+        boolean hasId = id != 0;
+
+        ByteBuffer record = ByteBuffer.allocate(2 + (hasId ? Long.BYTES : 0) + Integer.BYTES
+                + description.length + times.length * Long.BYTES + CHECKSUM_BYTES);
+        record.put(typeOf(task))
+                .put((byte) ((task.isDone() ? DONE_FLAG : 0) | (hasId ? ID_FLAG : 0)));
+        if (hasId) {
+            record.putLong(id);
+        }
+        record.putInt(description.length)
+                .put(description);
+        for (LocalDateTime time : times) {
+            record.putLong(toEpochMinute(time));
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 0, record.position());
+        record.putInt((int) crc.getValue());
+        return record.array();
+    }
+
+    /**
+     * Decodes the record at the current position of the buffer and advances past it.
+     *
+     * @param buffer The buffer positioned at the start of a record.
+     * @return The decoded task, or {@code null} if the record is corrupted or describes an invalid task.
+     * @throws InvalidDataException If the record is truncated or has an unknown type,
+     *                              so the start of the next record cannot be found.
+     */
+    public static Task decode(ByteBuffer buffer) throws InvalidDataException {
+        int start = buffer.position();
+        try {
+            byte type = buffer.get();
+            byte flags = buffer.get();
+            boolean isDone = (flags & DONE_FLAG) != 0;
+            long id = (flags & ID_FLAG) != 0 ? buffer.getLong() : 0;
+            int descriptionLength = buffer.getInt();
+            if (descriptionLength < 0 || descriptionLength > buffer.remaining()) {
+                throw new InvalidDataException("Truncated task record.");
+            }
+            byte[] description = new byte[descriptionLength];
+            buffer.get(description);
+
+            long[] epochMinutes = new long[timeCountOf(type)];
+            for (int i = 0; i < epochMinutes.length; i++) {
+                epochMinutes[i] = buffer.getLong();
+            }
+
+            int end = buffer.position();
+            int checksum = buffer.getInt();
+            if (checksum != checksumOf(buffer, start, end)) {
+                return null;
+            }
+            Task task = createTask(type, new String(description, StandardCharsets.UTF_8), isDone, epochMinutes);
+            if (task != null && id > 0) {
+                task.setId(id);
+            }
+            return task;
+        } catch (BufferUnderflowException e) {
+            throw new InvalidDataException("Truncated task record.");
+        }
+    }
+
+    private static void skipHeader(ByteBuffer buffer) throws IOException {
+        for (byte expected : MAGIC) {
+            if (!buffer.hasRemaining() || buffer.get() != expected) {
+                throw new IOException("File is not a binary task file.");
+            }
+        }
+    }
+
+    /**
+     * Returns the length of the record starting at the given position, without decoding it.
+     *
+     * @param buffer The buffer holding the record.
+     * @param start  The position of the first byte of the record.
+     * @return The record length in bytes, or {@code -1} if the record is truncated or has an unknown type.
+     */
+    static int recordLengthAt(ByteBuffer buffer, int start) {
+        if (buffer.limit() - start < 2) {
+            return -1;
+        }
+        int fixedLength = 2 + (hasIdAt(buffer, start) ? Long.BYTES : 0) + Integer.BYTES;
+        if (buffer.limit() - start < fixedLength) {
+            return -1;
+        }
+        int descriptionLength = buffer.getInt(start + fixedLength - Integer.BYTES);
+        int timeCount;
+        try {
+            timeCount = timeCountOf(buffer.get(start));
+        } catch (InvalidDataException e) {
+            return -1;
+        }
+
+        long length = (long) fixedLength + descriptionLength + (long) timeCount * Long.BYTES + CHECKSUM_BYTES;
+        if (descriptionLength < 0 || start + length > buffer.limit()) {
+            return -1;
+        }
+        return (int) length;
+    }
+
+    /**
+     * Returns the id stored in the record starting at the given position, without decoding it.
+     *
+     * @param buffer The buffer holding the record.
+     * @param start  The position of the first byte of the record.
+     * @return The task id, or {@code 0} if the record has no id.
+     */
+    static long idAt(ByteBuffer buffer, int start) {
+        return hasIdAt(buffer, start) ? buffer.getLong(start + 2) : 0;
+    }
+
+    private static boolean hasIdAt(ByteBuffer buffer, int start) {
+        return (buffer.get(start + 1) & ID_FLAG) != 0;
+    }
+
+    /**
+     * Passes the fields of the record starting at the given position that a task list indexes to the visitor,
+     * without decoding the record into a task. The record must be intact and of a known type.
+     *
+     * @param buffer  The buffer holding the record.
+     * @param start   The position of the first byte of the record.
+     * @param id      The id of the task, which may differ from the one stored in the record.
+     * @param visitor The visitor to pass the fields to.
+     */
+    static void visitIndexedFieldsAt(ByteBuffer buffer, int start, long id, TaskList.IndexedFieldsVisitor visitor) {
+        byte type = buffer.get(start);
+        int position = start + 2 + (hasIdAt(buffer, start) ? Long.BYTES : 0);
+        byte[] description = new byte[buffer.getInt(position)];
+        position += Integer.BYTES;
+        buffer.get(position, description);
+        position += description.length;
+
+        LocalDateTime date = type == TODO_TYPE ? null : fromEpochMinute(buffer.getLong(position));
+        LocalDateTime end = type == EVENT_TYPE ? fromEpochMinute(buffer.getLong(position + Long.BYTES)) : null;
+        visitor.visit(id, new String(description, StandardCharsets.UTF_8), date, end);
+    }
+
+    /**
+     * Returns whether the checksum of the record at the given position matches its content.
+     *
+     * @param buffer The buffer holding the record.
+     * @param start  The position of the first byte of the record.
+     * @param length The length of the record, as returned by {@code recordLengthAt}.
+     * @return {@code true} if the record is intact, {@code false} otherwise.
+     */
+    static boolean isIntactAt(ByteBuffer buffer, int start, int length) {
+        int end = start + length - CHECKSUM_BYTES;
+        return buffer.getInt(end) == checksumOf(buffer, start, end);
+    }
+
+    private static int checksumOf(ByteBuffer buffer, int start, int end) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(end).position(start));
+        return (int) crc.getValue();
+    }
+
+    private static Task createTask(byte type, String description, boolean isDone, long[] epochMinutes) {
+        if (description.isBlank()) {
+            return null;
+        }
+        try {
+            switch (type) {
+            case DEADLINE_TYPE:
+                return new DeadlineTask(description, fromEpochMinute(epochMinutes[0]), isDone);
+            case EVENT_TYPE:
+                return new EventTask(description, fromEpochMinute(epochMinutes[0]),
+                        fromEpochMinute(epochMinutes[1]), isDone);
+            default:
+                return new ToDoTask(description, isDone);
+            }
+        } catch (NiniException | DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static byte typeOf(Task task) {
+        if (task instanceof DeadlineTask) {
+            return DEADLINE_TYPE;
+        } else if (task instanceof EventTask) {
+            return EVENT_TYPE;
+        }
+        return TODO_TYPE;
+    }
+
+    private static int timeCountOf(byte type) throws InvalidDataException {
+        switch (type) {
+        case TODO_TYPE:
+            return 0;
+        case DEADLINE_TYPE:
+            return 1;
+        case EVENT_TYPE:
+            return 2;
+        default:
+            throw new InvalidDataException("Unknown task type.");
+        }
+    }
+
+    private static LocalDateTime[] timesOf(Task task) {
+        if (task instanceof DeadlineTask) {
+            return new LocalDateTime[] {((DeadlineTask) task).getDeadline()};
+        } else if (task instanceof EventTask) {
+            EventTask event = (EventTask) task;
+            return new LocalDateTime[] {event.getStartDateTime(), event.getEndDateTime()};
+        }
+        return new LocalDateTime[0];
+    }
+
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / SECONDS_PER_MINUTE;
+    }
+
+    private static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * SECONDS_PER_MINUTE, 0, ZoneOffset.UTC);
+    }
+}
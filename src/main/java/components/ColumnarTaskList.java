@@ -0,0 +1,333 @@
+package components;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import exceptions.NiniException;
+import tasks.DeadlineTask;
+import tasks.EventTask;
+import tasks.Task;
+import tasks.ToDoTask;
+
+/**
+ * Represents a list of tasks stored column by column in primitive arrays instead of as task objects.
+ * Each task takes one entry in every column: its type as a {@code byte}, its done flag as a bit, its id
+ * and dates as {@code long}s, with dates kept in epoch minutes, and its description as a range of a
+ * shared character arena. A large list is therefore a handful of arrays that the garbage collector
+ * never has to trace.
+ * {@code get} builds a new task from the columns on every call, so changes made to a returned task are
+ * only kept once it is passed back to {@code set}, as {@code TaskList} already does.
+ * Several threads may read the list at once, but changes must not run alongside other reads or changes.
+ */
+public class ColumnarTaskList extends AbstractList<Task> implements RandomAccess, TaskList.Backend {
+
+    private static final byte TODO = 0;
+    private static final byte DEADLINE = 1;
+    private static final byte EVENT = 2;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int INITIAL_ARENA_CAPACITY = 256;
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final String ERROR_UNSUPPORTED_TASK = "Unsupported task type: %s";
+
+    private byte[] types = new byte[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] starts = new long[INITIAL_CAPACITY];
+    private long[] ends = new long[INITIAL_CAPACITY];
+    private int[] descriptionOffsets = new int[INITIAL_CAPACITY];
+    private int[] descriptionLengths = new int[INITIAL_CAPACITY];
+    private final BitSet doneFlags = new BitSet();
+    private char[] arena = new char[INITIAL_ARENA_CAPACITY];
+    private int arenaSize;
+    private int unusedArenaSize;
+    private int size;
+
+    /**
+     * Constructs an empty {@code ColumnarTaskList}.
+     */
+    public ColumnarTaskList() {
+    }
+
+    /**
+     * Creates a {@code ColumnarTaskList} holding the given tasks, in order.
+     * Tasks without an id, or whose id is already taken, are given new ids after the largest
+     * existing one, in the same way as a {@code TaskList}.
+     *
+     * @param tasks The tasks to store.
+     * @return A columnar list of the tasks.
+     */
+    public static ColumnarTaskList copyOf(Collection<? extends Task> tasks) {
+        assert tasks != null : "Tasks cannot be null";
+        ColumnarTaskList list = new ColumnarTaskList();
+        list.ensureCapacity(tasks.size());
+        for (Task task : tasks) {
+            list.add(task);
+        }
+        list.assignMissingIds();
+        return list;
+    }
+
+    /**
+     * Gives tasks without an id, or whose id is already taken, new ids after the largest existing one.
+     *
+     * @return The number of tasks given a new id.
+     */
+    int assignMissingIds() {
+        return TaskIdIndex.assignMissingIds(ids, size);
+    }
+
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+        String description = new String(arena, descriptionOffsets[index], descriptionLengths[index]);
+        boolean isDone = doneFlags.get(index);
+        Task task;
+        switch (types[index]) {
+        case DEADLINE:
+            task = new DeadlineTask(description, toDateTime(starts[index]), isDone);
+            break;
+        case EVENT:
+            try {
+                task = new EventTask(description, toDateTime(starts[index]), toDateTime(ends[index]), isDone);
+            } catch (NiniException e) {
+                throw new IllegalStateException(e.getMessage(), e); // Only valid events are ever stored
+            }
+            break;
+        default:
+            task = new ToDoTask(description, isDone);
+            break;
+        }
+        if (ids[index] != 0) {
+            task.setId(ids[index]);
+        }
+        return task;
+    }
+
+    @Override
+    public long getId(int index) {
+        Objects.checkIndex(index, size);
+        return ids[index];
+    }
+
+    /**
+     * Returns whether the task at the given index is done, without building the task.
+     *
+     * @param index The index of the task.
+     * @return {@code true} if the task is done, {@code false} otherwise.
+     */
+    public boolean isDone(int index) {
+        Objects.checkIndex(index, size);
+        return doneFlags.get(index);
+    }
+
+    /**
+     * Replaces the task at the given index by writing its fields into the columns.
+     * A description that has not changed keeps its place in the arena.
+     */
+    @Override
+    public Task set(int index, Task task) {
+        assert task != null : "Task cannot be null";
+        Task previous = get(index);
+        String description = task.getDescription();
+        if (!hasDescription(index, description)) {
+            unusedArenaSize += descriptionLengths[index];
+            storeDescription(index, description);
+        }
+        storeFields(index, task);
+        modCount++;
+        compactArenaIfSparse();
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        assert task != null : "Task cannot be null";
+        Objects.checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        shift(index, index + 1, size - index);
+        size++;
+        storeDescription(index, task.getDescription());
+        storeFields(index, task);
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        unusedArenaSize += descriptionLengths[index];
+        shift(index + 1, index, size - index - 1);
+        size--;
+        doneFlags.clear(size);
+        modCount++;
+        compactArenaIfSparse();
+        return removed;
+    }
+
+    /**
+     * Removes the tasks at the given indices in a single pass, without building them.
+     */
+    @Override
+    public void removeAll(BitSet indices) {
+        int writeIndex = 0;
+        for (int readIndex = 0; readIndex < size; readIndex++) {
+            if (indices.get(readIndex)) {
+                unusedArenaSize += descriptionLengths[readIndex];
+            } else {
+                if (writeIndex != readIndex) {
+                    copyRow(readIndex, writeIndex);
+                }
+                writeIndex++;
+            }
+        }
+        doneFlags.clear(writeIndex, size);
+        size = writeIndex;
+        modCount++;
+        compactArenaIfSparse();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Builds the tasks in the range straight away, as every {@code get} builds a new task anyway.
+     */
+    @Override
+    public List<Task> snapshotOf(int fromIndex, int toIndex) {
+        return List.copyOf(subList(fromIndex, toIndex));
+    }
+
+    /**
+     * Passes the indexed fields of every task to the visitor straight from the columns.
+     */
+    @Override
+    public void forEachIndexedFields(TaskList.IndexedFieldsVisitor visitor) {
+        for (int i = 0; i < size; i++) {
+            LocalDateTime date = types[i] == TODO ? null : toDateTime(starts[i]);
+            LocalDateTime end = types[i] == EVENT ? toDateTime(ends[i]) : null;
+            visitor.visit(ids[i], new String(arena, descriptionOffsets[i], descriptionLengths[i]), date, end);
+        }
+    }
+
+    private void storeFields(int index, Task task) {
+        ids[index] = task.getId();
+        doneFlags.set(index, task.isDone());
+        if (task instanceof DeadlineTask) {
+            types[index] = DEADLINE;
+            starts[index] = toEpochMinute(((DeadlineTask) task).getDeadline());
+            ends[index] = 0;
+        } else if (task instanceof EventTask) {
+            EventTask event = (EventTask) task;
+            types[index] = EVENT;
+            starts[index] = toEpochMinute(event.getStartDateTime());
+            ends[index] = toEpochMinute(event.getEndDateTime());
+        } else if (task instanceof ToDoTask) {
+            types[index] = TODO;
+            starts[index] = 0;
+            ends[index] = 0;
+        } else {
+            throw new IllegalArgumentException(String.format(ERROR_UNSUPPORTED_TASK, task.getClass().getName()));
+        }
+    }
+
+    private boolean hasDescription(int index, String description) {
+        int length = descriptionLengths[index];
+        if (length != description.length()) {
+            return false;
+        }
+        int offset = descriptionOffsets[index];
+        for (int i = 0; i < length; i++) {
+            if (arena[offset + i] != description.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void storeDescription(int index, String description) {
+        int length = description.length();
+        if (arenaSize + length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + length));
+        }
+        description.getChars(0, length, arena, arenaSize);
+        descriptionOffsets[index] = arenaSize;
+        descriptionLengths[index] = length;
+        arenaSize += length;
+    }
+
+    /**
+     * Rewrites the arena without the descriptions of removed or replaced tasks, once they take up
+     * more than half of it.
+     */
+    private void compactArenaIfSparse() {
+        if (unusedArenaSize <= INITIAL_ARENA_CAPACITY || unusedArenaSize * 2 <= arenaSize) {
+            return;
+        }
+        char[] compacted = new char[Math.max(INITIAL_ARENA_CAPACITY, arenaSize - unusedArenaSize)];
+        int compactedSize = 0;
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(arena, descriptionOffsets[i], compacted, compactedSize, descriptionLengths[i]);
+            descriptionOffsets[i] = compactedSize;
+            compactedSize += descriptionLengths[i];
+        }
+        arena = compacted;
+        arenaSize = compactedSize;
+        unusedArenaSize = 0;
+    }
+
+    private void shift(int from, int to, int length) {
+        System.arraycopy(types, from, types, to, length);
+        System.arraycopy(ids, from, ids, to, length);
+        System.arraycopy(starts, from, starts, to, length);
+        System.arraycopy(ends, from, ends, to, length);
+        System.arraycopy(descriptionOffsets, from, descriptionOffsets, to, length);
+        System.arraycopy(descriptionLengths, from, descriptionLengths, to, length);
+        if (from < to) {
+            for (int i = from + length - 1; i >= from; i--) {
+                doneFlags.set(i + to - from, doneFlags.get(i));
+            }
+        } else {
+            for (int i = from; i < from + length; i++) {
+                doneFlags.set(i + to - from, doneFlags.get(i));
+            }
+        }
+    }
+
+    private void copyRow(int from, int to) {
+        types[to] = types[from];
+        ids[to] = ids[from];
+        starts[to] = starts[from];
+        ends[to] = ends[from];
+        descriptionOffsets[to] = descriptionOffsets[from];
+        descriptionLengths[to] = descriptionLengths[from];
+        doneFlags.set(to, doneFlags.get(from));
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= types.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, types.length * 2);
+        types = Arrays.copyOf(types, newCapacity);
+        ids = Arrays.copyOf(ids, newCapacity);
+        starts = Arrays.copyOf(starts, newCapacity);
+        ends = Arrays.copyOf(ends, newCapacity);
+        descriptionOffsets = Arrays.copyOf(descriptionOffsets, newCapacity);
+        descriptionLengths = Arrays.copyOf(descriptionLengths, newCapacity);
+    }
+
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / SECONDS_PER_MINUTE;
+    }
+
+    private static LocalDateTime toDateTime(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * SECONDS_PER_MINUTE, 0, ZoneOffset.UTC);
+    }
+}
@@ -1,12 +1,10 @@
 package components;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
 
 import exceptions.NiniException;
 
@@ -15,27 +13,38 @@ import exceptions.NiniException;
  * Handles file storage operations for saving and loading tasks.
  * This class manages reading and writing task data to a file, ensuring
  * persistence of task lists between program runs.
+ * Records are checksummed and rewrites are atomic, so corrupted records are skipped on load.
  */
 public class ContactStorage {
     private static final String DEFAULT_FILE_PATH = "./data/contacts.txt";
 
     private final String fileName;
+    private final RecordFile recordFile;
+    private final StorageWriter writer;
+    private int skippedRecordCount;
 
     /**
-     * Constructs a {@code Storage} object with the default file path {@code ./data/chat.txt}.
+     * Constructs a {@code Storage} object with the default file path {@code ./data/contacts.txt},
+     * performing its writes through the given writer.
+     *
+     * @param writer The writer that performs storage writes.
      */
-    public ContactStorage() {
-        this(DEFAULT_FILE_PATH);
+    public ContactStorage(StorageWriter writer) {
+        this(DEFAULT_FILE_PATH, writer);
     }
 
     /**
-     * Constructs a {@code Storage} object with a specified file path.
+     * Constructs a {@code Storage} object with a specified file path and writer.
      *
-     * @param fileName The path to the file where tasks will be stored.
+     * @param fileName The path to the file where contacts will be stored.
+     * @param writer   The writer that performs storage writes.
      */
-    public ContactStorage(String fileName) {
+    public ContactStorage(String fileName, StorageWriter writer) {
         assert fileName != null && !fileName.isBlank() : "File name cannot be null or empty";
+        assert writer != null : "Writer cannot be null";
         this.fileName = fileName;
+        this.recordFile = new RecordFile(fileName);
+        this.writer = writer;
     }
 
     /**
@@ -58,32 +67,42 @@ public class ContactStorage {
      * @return An {@code ArrayList} of contacts loaded from the file.
      */
     public List<Contact> loadContacts() throws IOException, NiniException {
-        File file = new File(fileName);
-
-        if (!file.exists()) {
-            return new ArrayList<>();
-        }
+        writer.flush();
+        List<String> records = recordFile.read();
+        skippedRecordCount = recordFile.getSkippedCount();
 
-        List<Contact> contacts = new ArrayList<>();
-        try (Scanner scanner = new Scanner(file)) {
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                assert line != null : "Read line should not be null";
-                contacts.add(Contact.deserialize(line));
+        List<Contact> contacts = new ArrayList<>(records.size());
+        for (String record : records) {
+            assert record != null : "Read line should not be null";
+            try {
+                contacts.add(Contact.deserialize(record));
+            } catch (NiniException e) {
+                skippedRecordCount++;
+                System.err.println("Skipping invalid contact record: " + e.getMessage());
             }
         }
         return contacts;
     }
 
+    /**
+     * Returns the number of corrupted or invalid records skipped by the last {@code loadContacts}.
+     *
+     * @return The number of skipped contact records.
+     */
+    public int getSkippedRecordCount() {
+        return skippedRecordCount;
+    }
+
     /**
      * Saves a single contact to the storage file by appending it to the existing file.
      *
      * @param contact The contact to be saved.
+     * @return A future that completes once the contact has been written.
      * @throws IOException If an error occurs while writing to the file.
      */
-    public void saveContact(Contact contact) throws IOException {
+    public CompletableFuture<Void> saveContact(Contact contact) throws IOException {
         assert contact != null : "contact cannot be null";
-        appendToFile(contact.serialize());
+        return appendToFile(contact.serialize());
     }
 
     /**
@@ -91,39 +110,41 @@ public class ContactStorage {
      * This method removes all previous data in the file and writes the new contacts.
      *
      * @param contacts The list of contacts to be saved.
+     * @return A future that completes once the contacts have been written.
      * @throws IOException If an error occurs while writing to the file.
      */
-    public void overwriteContacts(List<Contact> contacts) throws IOException {
+    public CompletableFuture<Void> overwriteContacts(List<Contact> contacts) throws IOException {
         assert contacts != null : "contacts list cannot be null";
-        writeToFile(contacts);
+        return writeToFile(contacts);
     }
 
     /**
      * Appends a single serialized contact to the storage file.
      *
      * @param contactData The serialized contact string.
+     * @return A future that completes once the contact has been written.
      * @throws IOException If an error occurs while writing to the file.
      */
-    private void appendToFile(String contactData) throws IOException {
+    private CompletableFuture<Void> appendToFile(String contactData) throws IOException {
         ensureFileDirectoryExists();
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName, true))) {
-            writer.write(contactData + System.lineSeparator());
-        }
+        return writer.append(recordFile, List.of(contactData));
     }
 
     /**
      * Writes a list of serialized contacts to the storage file, overwriting existing content.
+     * The contacts are serialized before this method returns, so later changes to them are not included.
      *
      * @param contacts The list of contacts to be written.
+     * @return A future that completes once the contacts have been written.
      * @throws IOException If an error occurs while writing to the file.
      */
-    private void writeToFile(List<Contact> contacts) throws IOException {
+    private CompletableFuture<Void> writeToFile(List<Contact> contacts) throws IOException {
         ensureFileDirectoryExists();
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName))) {
-            for (Contact contact : contacts) {
-                assert contact != null : "contact in list cannot be null";
-                writer.write(contact.serialize() + System.lineSeparator());
-            }
+        List<String> records = new ArrayList<>(contacts.size());
+        for (Contact contact : contacts) {
+            assert contact != null : "contact in list cannot be null";
+            records.add(contact.serialize());
         }
+        return writer.run(() -> recordFile.write(records));
     }
 }
@@ -0,0 +1,225 @@
+package components;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+import tasks.EventTask;
+
+/**
+ * Represents an interval tree over the time ranges of events, used to find the events
+ * that overlap a given period.
+ * The tree is a treap ordered by start time and id, where every node also records the latest
+ * end time in its subtree. A query skips every subtree that ends before the period starts or
+ * starts after it ends, so it costs O(log n + k) for k overlapping events.
+ * Priorities are derived from the task ids, so the shape of the tree does not depend on chance.
+ */
+class EventIntervalTree {
+
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final long PRIORITY_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private Node root;
+    private int size;
+
+    /**
+     * Adds an event to the tree.
+     *
+     * @param event The event to add.
+     */
+    void add(EventTask event) {
+        add(event.getId(), event.getStartDateTime(), event.getEndDateTime());
+    }
+
+    /**
+     * Adds an event to the tree by its id and time range.
+     *
+     * @param id    The id of the event.
+     * @param start The start time of the event.
+     * @param end   The end time of the event.
+     */
+    void add(long id, LocalDateTime start, LocalDateTime end) {
+        root = insert(root, new Node(toEpochMinute(start), toEpochMinute(end), id));
+        size++;
+    }
+
+    /**
+     * Removes an event from the tree, if present.
+     *
+     * @param event The event to remove.
+     */
+    void remove(EventTask event) {
+        root = remove(root, toEpochMinute(event.getStartDateTime()), event.getId());
+    }
+
+    /**
+     * Returns the number of events in the tree.
+     *
+     * @return The number of events.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the ids of the events that overlap the given period, ordered by start time.
+     * An event overlaps the period if it starts before the period ends and ends after the period starts,
+     * so events that merely touch the period are not included.
+     *
+     * @param from The start of the period.
+     * @param to   The end of the period.
+     * @return The ids of the overlapping events.
+     */
+    long[] overlapping(LocalDateTime from, LocalDateTime to) {
+        IdCollector collector = new IdCollector();
+        collect(root, toEpochMinute(from), toEpochMinute(to), collector);
+        return Arrays.copyOf(collector.ids, collector.size);
+    }
+
+    private static void collect(Node node, long start, long end, IdCollector collector) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collect(node.left, start, end, collector);
+        if (node.start >= end) {
+            return; // This node and its right subtree start too late
+        }
+        if (node.end > start) {
+            collector.add(node.id);
+        }
+        collect(node.right, start, end, collector);
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node remove(Node node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int order = compare(start, id, node);
+        if (order == 0) {
+            size--;
+            return merge(node.left, node.right);
+        }
+        if (order < 0) {
+            node.left = remove(node.left, start, id);
+        } else {
+            node.right = remove(node.right, start, id);
+        }
+        update(node);
+        return node;
+    }
+
+    /**
+     * Merges two subtrees, where every node of {@code left} comes before every node of {@code right}.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int compare(long start, long id, Node node) {
+        int order = Long.compare(start, node.start);
+        return order != 0 ? order : Long.compare(id, node.id);
+    }
+
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / SECONDS_PER_MINUTE;
+    }
+
+    /**
+     * Represents an event in the tree, together with the latest end time in its subtree.
+     */
+    private static class Node {
+        private final long start;
+        private final long end;
+        private final long id;
+        private final int priority;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(long start, long end, long id) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.priority = (int) ((id * PRIORITY_MULTIPLIER) >>> 32);
+            this.maxEnd = end;
+        }
+    }
+
+    /**
+     * Collects ids into a growing primitive array.
+     */
+    private static class IdCollector {
+        private static final int INITIAL_CAPACITY = 8;
+
+        private long[] ids = new long[INITIAL_CAPACITY];
+        private int size;
+
+        private void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
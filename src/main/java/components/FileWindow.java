@@ -0,0 +1,92 @@
+package components;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Represents a part of a file held in a heap buffer, which slides forward through the file with positional
+ * reads, so a file can be read in a single pass without ever holding more than a window of it.
+ * The window only grows when a single record does not fit in it.
+ */
+class FileWindow {
+
+    private static final int WINDOW_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private ByteBuffer buffer = ByteBuffer.allocate(WINDOW_SIZE).limit(0);
+    // The position in the file of the start of the buffer
+    private long start;
+
+    /**
+     * Constructs a {@code FileWindow} over the given channel and fills it from the start of the file.
+     *
+     * @param channel The channel to read from, which is not closed by the window.
+     * @throws IOException If the file cannot be read.
+     */
+    FileWindow(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.fileSize = channel.size();
+        slide(0);
+    }
+
+    /**
+     * Returns the buffer holding the window, from index {@code 0} up to its limit.
+     * The buffer is replaced whenever the window slides.
+     *
+     * @return The buffer.
+     */
+    ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Returns the position in the file of the first byte of the window.
+     *
+     * @return The file position.
+     */
+    long getStart() {
+        return start;
+    }
+
+    /**
+     * Moves the window forward so it starts at the given index of the buffer, then fills the rest of
+     * the buffer from the file. The buffer doubles in size if the part kept already fills it.
+     *
+     * @param from The index of the buffer the window should start at.
+     * @throws IOException If the file cannot be read.
+     */
+    void slide(int from) throws IOException {
+        int kept = buffer.limit() - from;
+        ByteBuffer next = kept == buffer.capacity() ? ByteBuffer.allocate(buffer.capacity() * 2) : buffer;
+        System.arraycopy(buffer.array(), from, next.array(), 0, kept);
+        start += from;
+        next.clear().position(kept).limit((int) Math.min(next.capacity(), fileSize - start));
+        while (next.hasRemaining()) {
+            if (channel.read(next, start + next.position()) < 0) {
+                throw new IOException("File ended unexpectedly.");
+            }
+        }
+        buffer = next.flip();
+    }
+
+    /**
+     * Returns whether the window reaches the end of the file.
+     *
+     * @return {@code true} if nothing of the file is left after the window, {@code false} otherwise.
+     */
+    boolean isAtEnd() {
+        return start + buffer.limit() >= fileSize;
+    }
+
+    /**
+     * Returns whether the given index of the buffer is past the end of the file.
+     *
+     * @param index The index in the buffer.
+     * @return {@code true} if the whole file has been read up to the index, {@code false} otherwise.
+     */
+    boolean isDoneAt(int index) {
+        return index >= buffer.limit() && isAtEnd();
+    }
+}
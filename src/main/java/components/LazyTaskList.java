@@ -0,0 +1,573 @@
+package components;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import exceptions.NiniException;
+import tasks.EventTask;
+import tasks.Task;
+import tasks.ToDoTask;
+
+/**
+ * Represents a list of tasks backed by a snapshot file, where each task is only kept deserialized
+ * while it is in use.
+ * Opening the list streams through the file once, verifying the checksum of each record and keeping
+ * only its position, length and id, so opening takes time proportional to the size of the file but
+ * deserializes nothing. Records are read back with positional reads when they are first accessed.
+ * Hydrated tasks are kept in a bounded cache, while tasks that have been added or replaced are pinned
+ * in memory, so the number of task objects grows with the working set rather than with the size of the file.
+ * Records that are intact but do not describe a valid task are only found when they are first accessed.
+ * Such a record is shown as a placeholder to-do task that keeps its id, and is counted as skipped.
+ * Records without an id are given new ids after the largest one in the file, in the same way as an eager load.
+ * The file is kept open until the list is closed. Compaction replaces the snapshot by renaming a new file
+ * over it, so the list keeps reading the file it opened.
+ * Several threads may read the list at once, but changes must not run alongside other reads or changes.
+ */
+public class LazyTaskList extends AbstractList<Task> implements RandomAccess, TaskList.Backend, Closeable {
+
+    /** The description of the placeholder shown for a record that does not describe a valid task. */
+    static final String UNREADABLE_TASK = "(unreadable task record)";
+
+    private static final int LENGTH_BITS = 24;
+    private static final long MAX_RECORD_LENGTH = (1L << LENGTH_BITS) - 1;
+    private static final int DEFAULT_CACHE_SIZE = 10_000;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int WINDOW_SIZE = 1 << 20;
+    private static final char FIELD_SEPARATOR = '|';
+
+    private final Path path;
+    private final BasicFileAttributes openedFile;
+    private final boolean isBinary;
+    private final int cacheSize;
+    private final Map<Long, Task> cache;
+    private final Map<Long, Task> pinnedTasks = new HashMap<>();
+    private FileChannel channel;
+    private boolean isClosed;
+
+    /**
+     * Each slot holds either a record reference ({@code offset << LENGTH_BITS | length}) into the file,
+     * or a negative key into {@code pinnedTasks}.
+     */
+    private long[] slots = new long[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+    private long nextPinnedKey = -1;
+    private volatile int skippedCount;
+    private int assignedIdCount;
+
+    private LazyTaskList(Path path, FileChannel channel, BasicFileAttributes openedFile, boolean isBinary,
+            int cacheSize) {
+        this.path = path;
+        this.channel = channel;
+        this.openedFile = openedFile;
+        this.isBinary = isBinary;
+        this.cacheSize = cacheSize;
+        this.cache = new LinkedHashMap<>(INITIAL_CAPACITY, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Task> eldest) {
+                return size() > LazyTaskList.this.cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Opens a snapshot file and indexes its records with the default cache size.
+     *
+     * @param fileName The path to a checksummed text or binary snapshot file.
+     * @return A lazily hydrated list of the tasks in the file.
+     * @throws IOException If the file cannot be read or is in the old unchecksummed text format.
+     */
+    public static LazyTaskList open(String fileName) throws IOException {
+        return open(fileName, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Opens a snapshot file and indexes its records.
+     *
+     * @param fileName  The path to a checksummed text or binary snapshot file.
+     * @param cacheSize The maximum number of unmodified tasks kept hydrated at once.
+     * @return A lazily hydrated list of the tasks in the file.
+     * @throws IOException If the file cannot be read or is in the old unchecksummed text format.
+     */
+    public static LazyTaskList open(String fileName, int cacheSize) throws IOException {
+        assert cacheSize > 0 : "Cache size must be positive";
+        Path path = Path.of(fileName);
+        boolean isBinary = BinaryTaskFile.isBinaryFile(fileName);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            BasicFileAttributes openedFile = Files.readAttributes(path, BasicFileAttributes.class);
+            LazyTaskList list = new LazyTaskList(path, channel, openedFile, isBinary, cacheSize);
+            if (isBinary) {
+                list.indexBinaryRecords(channel);
+            } else {
+                list.indexTextRecords(new FileWindow(channel));
+            }
+            list.assignedIdCount = TaskIdIndex.assignMissingIds(list.ids, list.size);
+            return list;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of corrupted records skipped while indexing the file, together with the records
+     * found not to describe a valid task when they were first accessed.
+     *
+     * @return The number of skipped records.
+     */
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * Returns the number of records that were given a new id while indexing the file, because they had
+     * none or their id was already taken.
+     *
+     * @return The number of assigned ids.
+     */
+    public int getAssignedIdCount() {
+        return assignedIdCount;
+    }
+
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+        long slot = slots[index];
+        if (slot < 0) {
+            return pinnedTasks.get(slot);
+        }
+
+        return cachedOrHydrated(slot, ids[index]);
+    }
+
+    @Override
+    public long getId(int index) {
+        Objects.checkIndex(index, size);
+        return ids[index];
+    }
+
+    /**
+     * Replaces the task at the given index and pins the new task in memory,
+     * so changes made to it are never lost to cache eviction.
+     */
+    @Override
+    public Task set(int index, Task task) {
+        assert task != null : "Task cannot be null";
+        Task previous = get(index);
+        release(slots[index]);
+        slots[index] = pin(task);
+        ids[index] = task.getId();
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        assert task != null : "Task cannot be null";
+        Objects.checkIndex(index, size + 1);
+        ensureCapacity();
+        System.arraycopy(slots, index, slots, index + 1, size - index);
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        slots[index] = pin(task);
+        ids[index] = task.getId();
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        release(slots[index]);
+        System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Removes the tasks at the given indices in a single pass, without deserializing them.
+     */
+    @Override
+    public void removeAll(BitSet indices) {
+        int writeIndex = 0;
+        for (int readIndex = 0; readIndex < size; readIndex++) {
+            if (indices.get(readIndex)) {
+                release(slots[readIndex]);
+            } else {
+                slots[writeIndex] = slots[readIndex];
+                ids[writeIndex] = ids[readIndex];
+                writeIndex++;
+            }
+        }
+        size = writeIndex;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copies the slots and ids of the range, so the snapshot only hydrates the tasks that are read from it.
+     * Records in the file never change, and pinned tasks are taken as they are now.
+     */
+    @Override
+    public List<Task> snapshotOf(int fromIndex, int toIndex) {
+        Objects.checkFromToIndex(fromIndex, toIndex, size);
+        long[] rangeSlots = Arrays.copyOfRange(slots, fromIndex, toIndex);
+        Task[] rangePinnedTasks = new Task[rangeSlots.length];
+        for (int i = 0; i < rangeSlots.length; i++) {
+            if (rangeSlots[i] < 0) {
+                rangePinnedTasks[i] = pinnedTasks.get(rangeSlots[i]);
+            }
+        }
+        return new RecordRange(rangeSlots, Arrays.copyOfRange(ids, fromIndex, toIndex), rangePinnedTasks);
+    }
+
+    /**
+     * Passes the indexed fields of every task to the visitor without hydrating the tasks into the cache,
+     * so building an index neither evicts the working set nor keeps every task deserialized.
+     * Records are read a window at a time, so records still in file order cost one read per window.
+     * A record that does not describe a valid task is passed as the placeholder it is shown as, and is
+     * only counted as skipped once it is accessed.
+     */
+    @Override
+    public void forEachIndexedFields(TaskList.IndexedFieldsVisitor visitor) {
+        ByteBuffer window = ByteBuffer.allocate(0);
+        long windowStart = 0;
+        for (int i = 0; i < size; i++) {
+            long slot = slots[i];
+            Task task = slot < 0 ? pinnedTasks.get(slot) : cachedTask(slot);
+            if (task == null) {
+                long offset = slot >>> LENGTH_BITS;
+                int length = (int) (slot & MAX_RECORD_LENGTH);
+                if (offset < windowStart || offset + length > windowStart + window.limit()) {
+                    windowStart = offset;
+                    window = readWindow(offset, length);
+                }
+                task = decodeOrPlaceholder(window, (int) (offset - windowStart), length);
+            }
+            LocalDateTime end = task instanceof EventTask ? ((EventTask) task).getEndDateTime() : null;
+            visitor.visit(ids[i], task.getDescription(), task.getRelevantDate(), end);
+        }
+    }
+
+    /**
+     * Closes the snapshot file. Tasks that were not hydrated can no longer be read afterwards.
+     *
+     * @throws IOException If the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (cache) {
+            isClosed = true;
+            channel.close();
+        }
+    }
+
+    private void indexBinaryRecords(FileChannel channel) throws IOException {
+        int corruptedCount = BinaryTaskFile.forEachRecord(channel, (buffer, start, length, offset) ->
+                appendRecord(offset, length, BinaryTaskFile.idAt(buffer, start)));
+        skippedCount += corruptedCount;
+    }
+
+    private void indexTextRecords(FileWindow window) throws IOException {
+        boolean isHeaderRead = false;
+        boolean isSkippingLine = false;
+        int position = 0;
+        while (!isHeaderRead || !window.isDoneAt(position)) {
+            ByteBuffer buffer = window.getBuffer();
+            int newline = indexOfNewline(buffer, position);
+            if (newline < 0 && !window.isAtEnd()) {
+                if (isSkippingLine || buffer.limit() - position > MAX_RECORD_LENGTH + 2) {
+                    // Too long to be a record, so the rest of the line is dropped without being kept in memory
+                    if (!isHeaderRead) {
+                        throw new IOException("Only checksummed task files can be loaded lazily.");
+                    }
+                    isSkippingLine = true;
+                    position = buffer.limit();
+                }
+                window.slide(position);
+                position = 0;
+                continue;
+            }
+
+            int lineEnd = newline < 0 ? buffer.limit() : newline + 1;
+            int recordEnd = trimLineEnd(buffer, position, lineEnd);
+            if (!isHeaderRead) {
+                String header = StandardCharsets.UTF_8.decode(buffer.duplicate().position(position).limit(recordEnd))
+                        .toString();
+                if (!RecordFile.HEADER.equals(header)) {
+                    throw new IOException("Only checksummed task files can be loaded lazily.");
+                }
+                isHeaderRead = true;
+            } else if (isSkippingLine) {
+                skippedCount++;
+                isSkippingLine = false;
+            } else if (recordEnd > position) {
+                if (RecordFile.isIntact(buffer, position, recordEnd)) {
+                    appendRecord(window.getStart() + position, recordEnd - position,
+                            textIdOf(buffer, position, recordEnd));
+                } else {
+                    skippedCount++;
+                }
+            }
+            position = lineEnd;
+        }
+    }
+
+    /**
+     * Indexes an intact record, unless it is too long to reference.
+     */
+    private void appendRecord(long offset, int length, long id) {
+        if (length > MAX_RECORD_LENGTH) {
+            skippedCount++;
+            return;
+        }
+        ensureCapacity();
+        slots[size] = offset << LENGTH_BITS | length;
+        ids[size] = id;
+        size++;
+    }
+
+    private void ensureCapacity() {
+        if (size == slots.length) {
+            slots = Arrays.copyOf(slots, size * 2);
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+    }
+
+    /**
+     * Reads and deserializes the record in the given slot. Called with the cache lock held.
+     * A record that does not describe a valid task is counted as skipped and replaced by a placeholder.
+     */
+    private Task hydrate(long slot) {
+        long offset = slot >>> LENGTH_BITS;
+        int length = (int) (slot & MAX_RECORD_LENGTH);
+        try {
+            Task task = decode(readRecord(offset, length), 0, length);
+            if (task != null) {
+                return task;
+            }
+            System.err.println("Skipping invalid task record at byte " + offset + ".");
+        } catch (NiniException e) {
+            System.err.println("Skipping invalid task record at byte " + offset + ": " + e.getMessage());
+        }
+        skippedCount++;
+        return new ToDoTask(UNREADABLE_TASK);
+    }
+
+    /**
+     * Deserializes the record held in the buffer at the given position.
+     *
+     * @return The task, or {@code null} if the record does not describe a valid task.
+     */
+    private Task decode(ByteBuffer buffer, int start, int length) throws NiniException {
+        return isBinary
+                ? BinaryTaskFile.decode(buffer.duplicate().position(start).limit(start + length))
+                : Task.deserialize(new String(buffer.array(), start + RecordFile.CHECKSUM_LENGTH + 1,
+                        length - RecordFile.CHECKSUM_LENGTH - 1, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a record from the file. An interrupt would close the channel for every reader, so the interrupt
+     * status is put aside while reading. If the channel was closed anyway, it is opened again as long as the
+     * file has not been replaced since the list was opened.
+     */
+    private ByteBuffer readRecord(long offset, int length) {
+        boolean wasInterrupted = Thread.interrupted();
+        try {
+            try {
+                return RecordFile.readFully(channel, offset, length);
+            } catch (ClosedChannelException e) {
+                reopen(e);
+                return RecordFile.readFully(channel, offset, length);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (wasInterrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void reopen(ClosedChannelException cause) throws IOException {
+        if (isClosed) {
+            throw cause;
+        }
+        BasicFileAttributes current = Files.readAttributes(path, BasicFileAttributes.class);
+        boolean isSameFile = openedFile.fileKey() != null
+                ? openedFile.fileKey().equals(current.fileKey())
+                : openedFile.creationTime().equals(current.creationTime())
+                        && openedFile.lastModifiedTime().equals(current.lastModifiedTime());
+        if (!isSameFile) {
+            throw new IOException("Task file was replaced after it was closed by an interrupt.", cause);
+        }
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+    }
+
+    /**
+     * Returns the task of the record in the given slot from the cache, hydrating and caching it if needed.
+     */
+    private Task cachedOrHydrated(long slot, long id) {
+        // Reads reorder the cache, so concurrent readers take turns hydrating and caching tasks
+        synchronized (cache) {
+            Task task = cache.get(slot);
+            if (task == null) {
+                task = hydrate(slot);
+                task.setId(id);
+                cache.put(slot, task);
+            }
+            return task;
+        }
+    }
+
+    private Task cachedTask(long slot) {
+        synchronized (cache) {
+            return cache.get(slot);
+        }
+    }
+
+    /**
+     * Reads the record at the given offset together with as much of the file after it as fits in a window.
+     */
+    private ByteBuffer readWindow(long offset, int length) {
+        int windowLength = (int) Math.max(length, Math.min(WINDOW_SIZE, openedFile.size() - offset));
+        synchronized (cache) {
+            return readRecord(offset, windowLength);
+        }
+    }
+
+    private Task decodeOrPlaceholder(ByteBuffer buffer, int start, int length) {
+        try {
+            Task task = decode(buffer, start, length);
+            return task != null ? task : new ToDoTask(UNREADABLE_TASK);
+        } catch (NiniException e) {
+            return new ToDoTask(UNREADABLE_TASK);
+        }
+    }
+
+    private long pin(Task task) {
+        long key = nextPinnedKey--;
+        pinnedTasks.put(key, task);
+        return key;
+    }
+
+    private void release(long slot) {
+        if (slot < 0) {
+            pinnedTasks.remove(slot);
+        } else {
+            synchronized (cache) {
+                cache.remove(slot);
+            }
+        }
+    }
+
+    private static int indexOfNewline(ByteBuffer buffer, int position) {
+        for (int i = position; i < buffer.limit(); i++) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int trimLineEnd(ByteBuffer buffer, int start, int end) {
+        while (end > start && (buffer.get(end - 1) == '\n' || buffer.get(end - 1) == '\r')) {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Returns the id in the trailing field of a text record, or {@code 0} if the record has none.
+     * A record has an id if it has one more field than its task type requires.
+     */
+    private static long textIdOf(ByteBuffer buffer, int start, int end) {
+        int recordStart = start + RecordFile.CHECKSUM_LENGTH + 1;
+        int requiredSeparators;
+        switch (buffer.get(recordStart)) {
+        case 'T':
+            requiredSeparators = 2;
+            break;
+        case 'D':
+            requiredSeparators = 3;
+            break;
+        case 'E':
+            requiredSeparators = 4;
+            break;
+        default:
+            return 0;
+        }
+
+        int separatorCount = 0;
+        int lastSeparator = -1;
+        for (int i = recordStart; i < end; i++) {
+            if (buffer.get(i) == FIELD_SEPARATOR) {
+                separatorCount++;
+                lastSeparator = i;
+            }
+        }
+        if (separatorCount <= requiredSeparators) {
+            return 0;
+        }
+
+        long id = 0;
+        for (int i = lastSeparator + 1; i < end; i++) {
+            int digit = Character.digit(buffer.get(i), 10);
+            if (digit < 0 || id > (Long.MAX_VALUE - digit) / 10) {
+                return 0;
+            }
+            id = id * 10 + digit;
+        }
+        return id;
+    }
+
+    /**
+     * Represents an immutable range of the list taken for a snapshot, which hydrates its tasks when they are read.
+     */
+    private class RecordRange extends AbstractList<Task> implements RandomAccess {
+        private final long[] slots;
+        private final long[] ids;
+        private final Task[] pinnedTasks;
+
+        private RecordRange(long[] slots, long[] ids, Task[] pinnedTasks) {
+            this.slots = slots;
+            this.ids = ids;
+            this.pinnedTasks = pinnedTasks;
+        }
+
+        @Override
+        public Task get(int index) {
+            Objects.checkIndex(index, slots.length);
+            return slots[index] < 0 ? pinnedTasks[index] : cachedOrHydrated(slots[index], ids[index]);
+        }
+
+        @Override
+        public int size() {
+            return slots.length;
+        }
+    }
+}
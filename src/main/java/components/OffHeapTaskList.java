@@ -0,0 +1,333 @@
+package components;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import exceptions.InvalidDataException;
+import tasks.Task;
+
+/**
+ * Represents a list of tasks whose records are kept outside the Java heap, in direct byte buffers.
+ * Each task is stored as a record in the same format as a {@code BinaryTaskFile}, and is decoded
+ * again on every {@code get}, so changes made to a returned task are only kept once it is passed back
+ * to {@code set}, as {@code TaskList} already does.
+ * The heap only holds two {@code long}s per task, the location of its record and its id, so even
+ * lists of several gigabytes add almost nothing for the garbage collector to trace. Records live in
+ * segments that grow up to {@code MAX_SEGMENT_SIZE}; the space of replaced and removed records is
+ * reclaimed by copying the remaining records into new segments once it exceeds half of the total.
+ * Direct memory is limited by {@code -XX:MaxDirectMemorySize}, which defaults to the maximum heap size.
+ * Several threads may read the list at once, but changes must not run alongside other reads or changes.
+ */
+public class OffHeapTaskList extends AbstractList<Task> implements RandomAccess, TaskList.Backend {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MIN_SEGMENT_SIZE = 1 << 16;
+    private static final int MAX_SEGMENT_SIZE = 1 << 26;
+    private static final int OFFSET_BITS = 32;
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    /** Each location holds the segment of a record in its upper bits and its offset in the lower bits. */
+    private long[] locations = new long[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+    private long usedBytes;
+    private long unusedBytes;
+    private int skippedCount;
+    private int assignedIdCount;
+
+    /**
+     * Constructs an empty {@code OffHeapTaskList}.
+     */
+    public OffHeapTaskList() {
+    }
+
+    /**
+     * Creates an {@code OffHeapTaskList} holding the given tasks, in order.
+     * Tasks without an id, or whose id is already taken, are given new ids after the largest
+     * existing one, in the same way as a {@code TaskList}.
+     *
+     * @param tasks The tasks to store.
+     * @return An off-heap list of the tasks.
+     */
+    public static OffHeapTaskList copyOf(Collection<? extends Task> tasks) {
+        assert tasks != null : "Tasks cannot be null";
+        OffHeapTaskList list = new OffHeapTaskList();
+        list.ensureCapacity(tasks.size());
+        for (Task task : tasks) {
+            list.ids[list.size++] = task.getId();
+        }
+        list.assignMissingIds();
+
+        // Records are written with their final ids, so marking a task later can overwrite its record in place
+        int index = 0;
+        for (Task task : tasks) {
+            list.locations[index] = list.store(ByteBuffer.wrap(BinaryTaskFile.encode(task, list.ids[index])));
+            index++;
+        }
+        return list;
+    }
+
+    /**
+     * Copies the records of a binary task file into an {@code OffHeapTaskList} as they are.
+     * The file is read through a heap window of bounded size that slides forward with positional reads,
+     * so files of any size are loaded without ever being held on the heap.
+     * Each record is decoded once to check that it can be read back, then dropped.
+     * Records whose checksum does not match, or that do not describe a valid task, are skipped;
+     * a truncated final record ends the load.
+     * Records without an id are given new ids after the largest one in the file, in the same way as an eager load.
+     *
+     * @param fileName The path to a binary task file.
+     * @return An off-heap list of the tasks in the file.
+     * @throws IOException If the file cannot be read or is not a binary task file.
+     */
+    public static OffHeapTaskList load(String fileName) throws IOException {
+        if (!BinaryTaskFile.isBinaryFile(fileName)) {
+            throw new IOException("Only binary task files can be loaded off the heap.");
+        }
+        OffHeapTaskList list = new OffHeapTaskList();
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+            int corruptedCount = BinaryTaskFile.forEachRecord(channel, (buffer, start, length, offset) -> {
+                // A record that does not describe a valid task could never be read back by get
+                if (BinaryTaskFile.decodeIntactAt(buffer, start) == null) {
+                    list.skippedCount++;
+                    return;
+                }
+                list.ensureCapacity(list.size + 1);
+                list.locations[list.size] = list.store(buffer.duplicate().position(start).limit(start + length));
+                list.ids[list.size] = BinaryTaskFile.idAt(buffer, start);
+                list.size++;
+            });
+            list.skippedCount += corruptedCount;
+        }
+        list.assignedIdCount = list.assignMissingIds();
+        return list;
+    }
+
+    /**
+     * Returns the number of corrupted or invalid records skipped while loading a file.
+     *
+     * @return The number of skipped records.
+     */
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * Returns the number of records that were given a new id while loading a file, because they had
+     * none or their id was already taken.
+     *
+     * @return The number of assigned ids.
+     */
+    public int getAssignedIdCount() {
+        return assignedIdCount;
+    }
+
+    /**
+     * Gives tasks without an id, or whose id is already taken, new ids after the largest existing one.
+     * Only the ids kept on the heap change; records keep the ids they were stored with.
+     *
+     * @return The number of tasks given a new id.
+     */
+    int assignMissingIds() {
+        return TaskIdIndex.assignMissingIds(ids, size);
+    }
+
+    /**
+     * Returns the number of bytes of direct memory taken up by records, including replaced and removed ones
+     * that have not been reclaimed yet.
+     *
+     * @return The number of bytes in use.
+     */
+    public long getStoredBytes() {
+        return usedBytes;
+    }
+
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+        long location = locations[index];
+        ByteBuffer record = segments.get((int) (location >>> OFFSET_BITS)).duplicate()
+                .position((int) (location & OFFSET_MASK));
+        try {
+            Task task = BinaryTaskFile.decode(record);
+            if (task == null) {
+                throw new IllegalStateException("Task record at index " + index + " is invalid.");
+            }
+            if (ids[index] != 0) {
+                task.setId(ids[index]);
+            }
+            return task;
+        } catch (InvalidDataException e) {
+            throw new IllegalStateException("Task record at index " + index + " is invalid.", e);
+        }
+    }
+
+    @Override
+    public long getId(int index) {
+        Objects.checkIndex(index, size);
+        return ids[index];
+    }
+
+    /**
+     * Replaces the task at the given index with a newly encoded record.
+     * A record of the same length, such as one whose task was only marked or unmarked, is overwritten in place.
+     */
+    @Override
+    public Task set(int index, Task task) {
+        assert task != null : "Task cannot be null";
+        Task previous = get(index);
+        ByteBuffer record = ByteBuffer.wrap(BinaryTaskFile.encode(task));
+        int previousLength = recordLength(index);
+        if (record.remaining() == previousLength) {
+            long location = locations[index];
+            segments.get((int) (location >>> OFFSET_BITS)).put((int) (location & OFFSET_MASK), record,
+                    0, previousLength);
+        } else {
+            unusedBytes += previousLength;
+            locations[index] = store(record);
+        }
+        ids[index] = task.getId();
+        modCount++;
+        compactIfSparse();
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        assert task != null : "Task cannot be null";
+        Objects.checkIndex(index, size + 1);
+        ensureCapacity(size + 1);
+        long location = store(ByteBuffer.wrap(BinaryTaskFile.encode(task)));
+        System.arraycopy(locations, index, locations, index + 1, size - index);
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        locations[index] = location;
+        ids[index] = task.getId();
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        unusedBytes += recordLength(index);
+        System.arraycopy(locations, index + 1, locations, index, size - index - 1);
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+        modCount++;
+        compactIfSparse();
+        return removed;
+    }
+
+    /**
+     * Removes the tasks at the given indices in a single pass, without decoding them.
+     */
+    @Override
+    public void removeAll(BitSet indices) {
+        int writeIndex = 0;
+        for (int readIndex = 0; readIndex < size; readIndex++) {
+            if (indices.get(readIndex)) {
+                unusedBytes += recordLength(readIndex);
+            } else {
+                locations[writeIndex] = locations[readIndex];
+                ids[writeIndex] = ids[readIndex];
+                writeIndex++;
+            }
+        }
+        size = writeIndex;
+        modCount++;
+        compactIfSparse();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Builds the tasks in the range straight away, as every {@code get} builds a new task anyway.
+     */
+    @Override
+    public List<Task> snapshotOf(int fromIndex, int toIndex) {
+        return List.copyOf(subList(fromIndex, toIndex));
+    }
+
+    /**
+     * Passes the indexed fields of every task to the visitor straight from its record, without decoding it.
+     */
+    @Override
+    public void forEachIndexedFields(TaskList.IndexedFieldsVisitor visitor) {
+        for (int i = 0; i < size; i++) {
+            long location = locations[i];
+            BinaryTaskFile.visitIndexedFieldsAt(segments.get((int) (location >>> OFFSET_BITS)),
+                    (int) (location & OFFSET_MASK), ids[i], visitor);
+        }
+    }
+
+    /**
+     * Copies a record into the last segment, starting a new segment if it does not fit.
+     *
+     * @param record The record, between the position and the limit of the buffer.
+     * @return The location of the stored record.
+     */
+    private long store(ByteBuffer record) {
+        int length = record.remaining();
+        ByteBuffer segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || segment.remaining() < length) {
+            int segmentSize = segment == null ? MIN_SEGMENT_SIZE : Math.min(segment.capacity() * 2, MAX_SEGMENT_SIZE);
+            segment = ByteBuffer.allocateDirect(Math.max(segmentSize, length));
+            segments.add(segment);
+        }
+        long location = (long) (segments.size() - 1) << OFFSET_BITS | segment.position();
+        segment.put(record);
+        usedBytes += length;
+        return location;
+    }
+
+    private int recordLength(int index) {
+        long location = locations[index];
+        return BinaryTaskFile.recordLengthAt(segments.get((int) (location >>> OFFSET_BITS)),
+                (int) (location & OFFSET_MASK));
+    }
+
+    /**
+     * Copies the remaining records into new segments once replaced and removed records take up
+     * more than half of the stored bytes. The old segments are freed when they are garbage collected.
+     */
+    private void compactIfSparse() {
+        if (unusedBytes <= MIN_SEGMENT_SIZE || unusedBytes * 2 <= usedBytes) {
+            return;
+        }
+        List<ByteBuffer> oldSegments = new ArrayList<>(segments);
+        segments.clear();
+        usedBytes = 0;
+        unusedBytes = 0;
+        for (int i = 0; i < size; i++) {
+            long location = locations[i];
+            ByteBuffer segment = oldSegments.get((int) (location >>> OFFSET_BITS));
+            int offset = (int) (location & OFFSET_MASK);
+            int length = BinaryTaskFile.recordLengthAt(segment, offset);
+            locations[i] = store(segment.duplicate().limit(offset + length).position(offset));
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= locations.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, locations.length * 2);
+        locations = Arrays.copyOf(locations, newCapacity);
+        ids = Arrays.copyOf(ids, newCapacity);
+    }
+}
@@ -1,7 +1,12 @@
 package components;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+
 import commands.Command;
 import commands.ExitCommand;
+import commands.Page;
 import commands.contacts.AddContactCommand;
 import commands.contacts.DeleteContactCommand;
 import commands.contacts.FindContactCommand;
@@ -9,13 +14,17 @@ import commands.contacts.ListContactCommand;
 import commands.tasks.AddTaskCommand;
 import commands.tasks.DeleteTaskCommand;
 import commands.tasks.FindTaskCommand;
+import commands.tasks.FreeBusyCommand;
 import commands.tasks.ListTaskCommand;
 import commands.tasks.MarkTaskCommand;
+import commands.tasks.OverlappingEventsCommand;
 import commands.tasks.SortTaskCommand;
 import commands.tasks.UnmarkTaskCommand;
+import commands.tasks.UpcomingTaskCommand;
 import exceptions.InvalidCommandException;
 import exceptions.InvalidFormatException;
 import exceptions.NiniException;
+import tasks.DateTimeParser;
 import tasks.DeadlineTask;
 import tasks.EventTask;
 import tasks.ToDoTask;
@@ -24,9 +33,44 @@ import tasks.ToDoTask;
  * Parses user input and returns the corresponding {@code Command} object.
  * This class processes different commands and extracts necessary arguments
  * for task operations such as adding, marking, unmarking, deleting, and sorting tasks.
+ * Input is scanned in a single pass by index: the command keyword is looked up in a table
+ * instead of being copied and lower-cased, and arguments are located by searching for their
+ * markers, so only the strings that end up in the command are allocated.
  */
 public class Parser {
 
+    /**
+     * Represents the command keywords recognised by the parser.
+     */
+    private enum CommandType {
+        LIST_TASKS("listtasks"),
+        BYE("bye"),
+        MARK_TASKS("marktasks"),
+        UNMARK_TASKS("unmarktasks"),
+        TODO("todo"),
+        EVENT("event"),
+        DEADLINE("deadline"),
+        SORT_TASKS("sorttasks"),
+        UPCOMING_TASKS("upcomingtasks"),
+        OVERLAPPING_EVENTS("overlappingevents"),
+        FREE_BUSY("freebusy"),
+        DELETE_TASKS("deletetasks"),
+        FIND_TASKS("findtasks"),
+        ADD_CONTACT("addcontact"),
+        DELETE_CONTACT("deletecontact"),
+        LIST_CONTACTS("listcontacts"),
+        FIND_CONTACT("findcontact");
+
+        private final String keyword;
+
+        CommandType(String keyword) {
+            this.keyword = keyword;
+        }
+    }
+
+    /** The command types, grouped by the length of their keywords. */
+    private static final CommandType[][] COMMANDS_BY_LENGTH = buildCommandTable();
+
     private static final String ERROR_INVALID_DEADLINE_FORMAT = "Invalid format for deadline."
             + " Use: deadline <description> /by <time>";
     private static final String ERROR_INVALID_EVENT_FORMAT = "Invalid format for event."
@@ -34,6 +78,31 @@ public class Parser {
     private static final String ERROR_EMPTY_DESCRIPTION = "Description cannot be empty";
     private static final String ERROR_INVALID_CONTACT_FORMAT = "Invalid format for adding a contact."
             + " Use: addcontact <name> /p <phone> /e <email>";
+    private static final String ERROR_EMPTY_SEARCH_WORDS = "Words to search for cannot be empty";
+    private static final String WORDS_FLAG = "--words";
+    private static final String ERROR_INVALID_UPCOMING_COUNT = "Invalid number of tasks."
+            + " Use: upcomingtasks [COUNT], where COUNT is a positive number";
+    private static final String ERROR_INVALID_PERIOD_FORMAT = "Invalid format for a period."
+            + " Use: %s /from <start> /to <end>";
+    private static final String ERROR_INVALID_DATE_FORMAT = "Invalid date format. Please use the format: "
+            + "d/M/yyyy HHmm (e.g., 25/12/2025 1800)";
+    private static final String ERROR_INVALID_PERIOD_ORDER = "The start time must be earlier than the end time.";
+    private static final String ERROR_INVALID_INDICES = "Invalid indices."
+            + " Please enter valid numbers separated by spaces.";
+    private static final String ERROR_INVALID_PAGE = "Invalid paging options."
+            + " Use: --offset <count> --limit <count>, where the offset is at least 0 and the limit at least 1";
+    private static final String ERROR_INVALID_CURSOR = "Invalid cursor."
+            + " Use: listtasks --after <task id> [--limit <count>], without --offset";
+    private static final String OFFSET_FLAG = "--offset";
+    private static final String LIMIT_FLAG = "--limit";
+    private static final String AFTER_FLAG = "--after";
+    private static final String BY_MARKER = "/by";
+    private static final String FROM_MARKER = "/from";
+    private static final String TO_MARKER = "/to";
+    private static final String PHONE_MARKER = " /p ";
+    private static final String EMAIL_MARKER = " /e";
+    private static final int NOT_FOUND = -1;
+
     /**
      * Parses the user input and returns the appropriate {@code Command} object.
      *
@@ -44,120 +113,459 @@ public class Parser {
     public Command parseCommand(String input) throws NiniException {
         assert input != null && !input.isBlank() : "Input command cannot be null or empty";
 
-        String[] parts = input.split(" ", 2);
-        String commandType = parts[0].toLowerCase();
-        String details = parts.length > 1 ? parts[1].trim() : "";
+        int keywordEnd = input.indexOf(' ');
+        if (keywordEnd == NOT_FOUND) {
+            keywordEnd = input.length();
+        }
+        CommandType commandType = lookUpCommand(input, keywordEnd);
+        if (commandType == null) {
+            throw new InvalidCommandException("Unknown command");
+        }
+
+        // The details are the rest of the input after the first space, without surrounding whitespace
+        int end = trimEnd(input, Math.min(keywordEnd + 1, input.length()), input.length());
+        int start = trimStart(input, Math.min(keywordEnd + 1, input.length()), end);
 
         switch (commandType) {
-        case "listtasks":
-            return new ListTaskCommand();
-        case "bye":
+        case LIST_TASKS:
+            return new ListTaskCommand(parseListPage(input, start, end, true));
+        case BYE:
             return new ExitCommand();
-        case "marktasks":
-            return new MarkTaskCommand(parseIndices(details));
-        case "unmarktasks":
-            return new UnmarkTaskCommand(parseIndices(details));
-        case "todo":
-            return parseTodo(details);
-        case "event":
-            return parseEvent(details);
-        case "deadline":
-            return parseDeadline(details);
-        case "sorttasks":
+        case MARK_TASKS:
+            return new MarkTaskCommand(parseIndices(input, start, end));
+        case UNMARK_TASKS:
+            return new UnmarkTaskCommand(parseIndices(input, start, end));
+        case TODO:
+            return parseTodo(input, start, end);
+        case EVENT:
+            return parseEvent(input, start, end);
+        case DEADLINE:
+            return parseDeadline(input, start, end);
+        case SORT_TASKS:
             return new SortTaskCommand();
-        case "deletetasks":
-            return new DeleteTaskCommand(parseIndices(details));
-        case "findtasks":
-            return new FindTaskCommand(details);
-        case "addcontact":
-            return parseAddContact(details);
-        case "deletecontact":
-            return new DeleteContactCommand(parseIndices(details));
-        case "listcontacts":
-            return new ListContactCommand();
-        case "findcontact":
-            return new FindContactCommand(details);
+        case UPCOMING_TASKS:
+            return parseUpcoming(input, start, end);
+        case OVERLAPPING_EVENTS:
+            LocalDateTime[] overlapPeriod = parsePeriod(input, start, end, commandType);
+            return new OverlappingEventsCommand(overlapPeriod[0], overlapPeriod[1]);
+        case FREE_BUSY:
+            LocalDateTime[] freeBusyPeriod = parsePeriod(input, start, end, commandType);
+            return new FreeBusyCommand(freeBusyPeriod[0], freeBusyPeriod[1]);
+        case DELETE_TASKS:
+            return new DeleteTaskCommand(parseIndices(input, start, end));
+        case FIND_TASKS:
+            return parseFindTasks(input, start, end);
+        case ADD_CONTACT:
+            return parseAddContact(input, start, end);
+        case DELETE_CONTACT:
+            return new DeleteContactCommand(parseIndices(input, start, end));
+        case LIST_CONTACTS:
+            return new ListContactCommand(parseListPage(input, start, end, false));
+        case FIND_CONTACT:
+            return parseFindContact(input, start, end);
         default:
             throw new InvalidCommandException("Unknown command");
         }
     }
 
-    private Command parseTodo(String details) throws NiniException {
-        validateNonEmpty(details, "Description for todo cannot be empty");
-        return new AddTaskCommand(new ToDoTask(details));
+    private static CommandType[][] buildCommandTable() {
+        int maxLength = 0;
+        for (CommandType commandType : CommandType.values()) {
+            maxLength = Math.max(maxLength, commandType.keyword.length());
+        }
+
+        CommandType[][] table = new CommandType[maxLength + 1][0];
+        for (CommandType commandType : CommandType.values()) {
+            CommandType[] candidates = table[commandType.keyword.length()];
+            candidates = Arrays.copyOf(candidates, candidates.length + 1);
+            candidates[candidates.length - 1] = commandType;
+            table[commandType.keyword.length()] = candidates;
+        }
+        return table;
+    }
+
+    private static CommandType lookUpCommand(String input, int keywordEnd) {
+        if (keywordEnd >= COMMANDS_BY_LENGTH.length) {
+            return null;
+        }
+        for (CommandType candidate : COMMANDS_BY_LENGTH[keywordEnd]) {
+            if (input.regionMatches(true, 0, candidate.keyword, 0, keywordEnd)) {
+                return candidate;
+            }
+        }
+        return null;
     }
 
-    private Command parseDeadline(String details) throws NiniException {
-        validateNonEmpty(details, ERROR_EMPTY_DESCRIPTION);
-        String[] deadlineParts = splitDetails(details);
+    private Command parseTodo(String input, int start, int end) throws NiniException {
+        validateNonEmpty(start, end, "Description for todo cannot be empty");
+        return new AddTaskCommand(new ToDoTask(input.substring(start, end)));
+    }
+
+    private Command parseDeadline(String input, int start, int end) throws NiniException {
+        validateNonEmpty(start, end, ERROR_EMPTY_DESCRIPTION);
 
-        if (deadlineParts.length < 2 || deadlineParts[1].trim().isEmpty()) {
+        int byIndex = indexOf(input, BY_MARKER, start, end);
+        if (byIndex == NOT_FOUND || isBlank(input, start, byIndex)) {
             throw new InvalidFormatException(ERROR_INVALID_DEADLINE_FORMAT);
         }
 
-        return new AddTaskCommand(new DeadlineTask(deadlineParts[0].trim(), deadlineParts[1].trim()));
+        // Anything after a second marker is ignored
+        int deadlineStart = byIndex + BY_MARKER.length();
+        int nextByIndex = indexOf(input, BY_MARKER, deadlineStart, end);
+        int deadlineEnd = nextByIndex == NOT_FOUND ? end : nextByIndex;
+        if (isBlank(input, deadlineStart, deadlineEnd)) {
+            throw new InvalidFormatException(ERROR_INVALID_DEADLINE_FORMAT);
+        }
+
+        return new AddTaskCommand(new DeadlineTask(trimmed(input, start, byIndex),
+                trimmed(input, deadlineStart, deadlineEnd)));
     }
 
-    private Command parseEvent(String details) throws NiniException {
-        validateNonEmpty(details, ERROR_EMPTY_DESCRIPTION);
+    private Command parseEvent(String input, int start, int end) throws NiniException {
+        validateNonEmpty(start, end, ERROR_EMPTY_DESCRIPTION);
+
+        if (indexOf(input, FROM_MARKER, start, end) == NOT_FOUND
+                || indexOf(input, TO_MARKER, start, end) == NOT_FOUND) {
+            throw new InvalidFormatException(ERROR_INVALID_EVENT_FORMAT);
+        }
 
-        if (!details.contains("/from") || !details.contains("/to")) {
+        // The description, start and end are separated by the first two markers, in whichever order they appear
+        int firstMarker = indexOfPeriodMarker(input, start, end);
+        int fromStart = afterPeriodMarker(input, firstMarker);
+        int secondMarker = indexOfPeriodMarker(input, fromStart, end);
+        if (secondMarker == NOT_FOUND) {
             throw new InvalidFormatException(ERROR_INVALID_EVENT_FORMAT);
         }
+        int toStart = afterPeriodMarker(input, secondMarker);
+        int thirdMarker = indexOfPeriodMarker(input, toStart, end);
+        int toEnd = thirdMarker == NOT_FOUND ? end : thirdMarker;
 
-        String[] eventParts = details.split("/from|/to", -1);
-        if (eventParts.length < 3 || eventParts[0].trim().isEmpty()
-                || eventParts[1].trim().isEmpty() || eventParts[2].trim().isEmpty()) {
+        if (isBlank(input, start, firstMarker) || isBlank(input, fromStart, secondMarker)
+                || isBlank(input, toStart, toEnd)) {
             throw new InvalidFormatException(ERROR_INVALID_EVENT_FORMAT);
         }
 
-        return new AddTaskCommand(new EventTask(eventParts[0].trim(), eventParts[1].trim(), eventParts[2].trim()));
+        return new AddTaskCommand(new EventTask(trimmed(input, start, firstMarker),
+                trimmed(input, fromStart, secondMarker), trimmed(input, toStart, toEnd)));
+    }
+
+    private Command parseFindTasks(String input, int start, int end) throws NiniException {
+        int optionsStart = pagingStart(input, start, end);
+        Page page = parsePage(input, optionsStart, end, false);
+        end = trimEnd(input, start, optionsStart);
+
+        boolean hasWordsFlag = input.startsWith(WORDS_FLAG, start)
+                && (start + WORDS_FLAG.length() == end || input.charAt(start + WORDS_FLAG.length()) == ' ');
+        if (!hasWordsFlag) {
+            validateNonEmpty(start, end, ERROR_EMPTY_SEARCH_WORDS);
+            return new FindTaskCommand(input.substring(start, end), false, page);
+        }
+        int wordsStart = trimStart(input, start + WORDS_FLAG.length(), end);
+        validateNonEmpty(wordsStart, end, ERROR_EMPTY_SEARCH_WORDS);
+        return new FindTaskCommand(input.substring(wordsStart, end), true, page);
+    }
+
+    private Command parseFindContact(String input, int start, int end) throws NiniException {
+        int optionsStart = pagingStart(input, start, end);
+        Page page = parsePage(input, optionsStart, end, false);
+        end = trimEnd(input, start, optionsStart);
+        validateNonEmpty(start, end, ERROR_EMPTY_SEARCH_WORDS);
+        return new FindContactCommand(input.substring(start, end), page);
+    }
+
+    /**
+     * Parses the details of a list command, which may only hold paging options.
+     */
+    private Page parseListPage(String input, int start, int end, boolean isCursorAllowed)
+            throws InvalidFormatException {
+        if (pagingStart(input, start, end) != start) {
+            throw new InvalidFormatException(ERROR_INVALID_PAGE);
+        }
+        return parsePage(input, start, end, isCursorAllowed);
+    }
+
+    /**
+     * Returns where the {@code --offset}, {@code --limit} and {@code --after} options at the end of the details begin,
+     * or {@code end} if the details do not end with any.
+     */
+    private static int pagingStart(String input, int start, int end) {
+        int optionsStart = end;
+        while (true) {
+            int valueEnd = trimEnd(input, start, optionsStart);
+            int flagEnd = trimEnd(input, start, lastTokenStart(input, start, valueEnd));
+            int flagStart = lastTokenStart(input, start, flagEnd);
+            if (flagEnd == valueEnd || !isPagingFlag(input, flagStart, flagEnd)) {
+                return optionsStart;
+            }
+            optionsStart = flagStart;
+        }
+    }
+
+    /**
+     * Parses paging options, each a flag followed by a number, into the page they describe.
+     * A page may either start at an offset or, if allowed, after the task with a given id.
+     */
+    private Page parsePage(String input, int start, int end, boolean isCursorAllowed) throws InvalidFormatException {
+        if (start == end) {
+            return Page.ALL;
+        }
+        int offset = 0;
+        int limit = Page.ALL.getLimit();
+        long afterId = 0;
+        boolean hasOffset = false;
+        int position = start;
+        while (position < end) {
+            int flagEnd = skipToken(input, position, end);
+            int valueStart = skipWhitespace(input, flagEnd, end);
+            int valueEnd = skipToken(input, valueStart, end);
+            if (isFlag(input, position, flagEnd, AFTER_FLAG)) {
+                afterId = parseCursor(input, valueStart, valueEnd, isCursorAllowed);
+            } else if (isFlag(input, position, flagEnd, OFFSET_FLAG)) {
+                offset = parseCount(input, valueStart, valueEnd);
+                hasOffset = true;
+            } else if (isFlag(input, position, flagEnd, LIMIT_FLAG)) {
+                limit = parseCount(input, valueStart, valueEnd);
+            } else {
+                throw new InvalidFormatException(ERROR_INVALID_PAGE);
+            }
+            position = skipWhitespace(input, valueEnd, end);
+        }
+
+        if (limit == 0) {
+            throw new InvalidFormatException(ERROR_INVALID_PAGE);
+        }
+        if (afterId == 0) {
+            return new Page(offset, limit);
+        }
+        if (hasOffset) {
+            throw new InvalidFormatException(ERROR_INVALID_CURSOR);
+        }
+        return Page.after(afterId, limit);
+    }
+
+    private static long parseCursor(String input, int start, int end, boolean isCursorAllowed)
+            throws InvalidFormatException {
+        try {
+            long afterId = Long.parseLong(input, start, end, 10);
+            if (!isCursorAllowed || afterId <= 0) {
+                throw new InvalidFormatException(ERROR_INVALID_CURSOR);
+            }
+            return afterId;
+        } catch (NumberFormatException e) {
+            throw new InvalidFormatException(ERROR_INVALID_CURSOR);
+        }
+    }
+
+    private static int parseCount(String input, int start, int end) throws InvalidFormatException {
+        try {
+            int count = Integer.parseInt(input, start, end, 10);
+            if (count < 0) {
+                throw new InvalidFormatException(ERROR_INVALID_PAGE);
+            }
+            return count;
+        } catch (NumberFormatException e) {
+            throw new InvalidFormatException(ERROR_INVALID_PAGE);
+        }
+    }
+
+    private static boolean isPagingFlag(String input, int start, int end) {
+        return isFlag(input, start, end, OFFSET_FLAG) || isFlag(input, start, end, LIMIT_FLAG)
+                || isFlag(input, start, end, AFTER_FLAG);
     }
 
-    private int[] parseIndices(String input) throws InvalidFormatException {
-        assert input != null && !input.isBlank() : "Task indices input cannot be null or empty";
+    private static boolean isFlag(String input, int start, int end, String flag) {
+        return end - start == flag.length() && input.startsWith(flag, start);
+    }
+
+    private LocalDateTime[] parsePeriod(String input, int start, int end, CommandType commandType)
+            throws InvalidFormatException {
+        String errorMessage = String.format(ERROR_INVALID_PERIOD_FORMAT, commandType.keyword);
+        if (!input.startsWith(FROM_MARKER, start) || indexOf(input, TO_MARKER, start, end) == NOT_FOUND) {
+            throw new InvalidFormatException(errorMessage);
+        }
 
+        // The period must have exactly two markers, the first of which is /from
+        int fromStart = start + FROM_MARKER.length();
+        int secondMarker = indexOfPeriodMarker(input, fromStart, end);
+        int toStart = afterPeriodMarker(input, secondMarker);
+        if (indexOfPeriodMarker(input, toStart, end) != NOT_FOUND
+                || isBlank(input, fromStart, secondMarker) || isBlank(input, toStart, end)) {
+            throw new InvalidFormatException(errorMessage);
+        }
+
+        LocalDateTime from = parseDateTime(trimmed(input, fromStart, secondMarker));
+        LocalDateTime to = parseDateTime(trimmed(input, toStart, end));
+        if (from.isAfter(to)) {
+            throw new InvalidFormatException(ERROR_INVALID_PERIOD_ORDER);
+        }
+        return new LocalDateTime[] {from, to};
+    }
+
+    private LocalDateTime parseDateTime(String dateTime) throws InvalidFormatException {
         try {
-            String[] parts = input.split("\\s+"); // Split input by spaces
-            int[] indices = new int[parts.length];
+            return DateTimeParser.parse(dateTime);
+        } catch (DateTimeParseException e) {
+            throw new InvalidFormatException(ERROR_INVALID_DATE_FORMAT);
+        }
+    }
 
-            for (int i = 0; i < parts.length; i++) {
-                indices[i] = Integer.parseInt(parts[i]) - 1; // Convert to zero-based index
+    private Command parseUpcoming(String input, int start, int end) throws InvalidFormatException {
+        if (start == end) {
+            return new UpcomingTaskCommand(UpcomingTaskCommand.DEFAULT_COUNT);
+        }
+        try {
+            int count = Integer.parseInt(input, start, end, 10);
+            if (count <= 0) {
+                throw new InvalidFormatException(ERROR_INVALID_UPCOMING_COUNT);
             }
+            return new UpcomingTaskCommand(count);
+        } catch (NumberFormatException e) {
+            throw new InvalidFormatException(ERROR_INVALID_UPCOMING_COUNT);
+        }
+    }
 
-            return indices;
+    /**
+     * Parses whitespace-separated one-based indices straight into an array of zero-based indices.
+     */
+    private int[] parseIndices(String input, int start, int end) throws InvalidFormatException {
+        assert start < end : "Task indices input cannot be null or empty";
+
+        // Counts the indices first, so the array is allocated at its final size
+        int count = 0;
+        for (int i = start; i < end; i = skipWhitespace(input, skipToken(input, i, end), end)) {
+            count++;
+        }
+        if (count == 0) {
+            throw new InvalidFormatException(ERROR_INVALID_INDICES);
+        }
+
+        int[] indices = new int[count];
+        int tokenStart = start;
+        try {
+            for (int i = 0; i < count; i++) {
+                int tokenEnd = skipToken(input, tokenStart, end);
+                indices[i] = Integer.parseInt(input, tokenStart, tokenEnd, 10) - 1; // Convert to zero-based index
+                tokenStart = skipWhitespace(input, tokenEnd, end);
+            }
         } catch (NumberFormatException e) {
-            throw new InvalidFormatException("Invalid indices. Please enter valid numbers separated by spaces.");
+            throw new InvalidFormatException(ERROR_INVALID_INDICES);
         }
+        return indices;
     }
 
-    private Command parseAddContact(String details) throws NiniException {
-        validateNonEmpty(details, ERROR_INVALID_CONTACT_FORMAT);
+    private Command parseAddContact(String input, int start, int end) throws NiniException {
+        validateNonEmpty(start, end, ERROR_INVALID_CONTACT_FORMAT);
 
-        String[] contactParts = details.split(" /p | /e", -1);
+        // The name, phone and email are separated by the first two markers, in whichever order they appear
+        int firstMarker = indexOfContactMarker(input, start, end);
+        if (firstMarker == NOT_FOUND) {
+            throw new InvalidFormatException(ERROR_INVALID_CONTACT_FORMAT);
+        }
+        int phoneStart = afterContactMarker(input, firstMarker);
+        int secondMarker = indexOfContactMarker(input, phoneStart, end);
+        if (secondMarker == NOT_FOUND) {
+            throw new InvalidFormatException(ERROR_INVALID_CONTACT_FORMAT);
+        }
+        int emailStart = afterContactMarker(input, secondMarker);
+        int thirdMarker = indexOfContactMarker(input, emailStart, end);
+        int emailEnd = thirdMarker == NOT_FOUND ? end : thirdMarker;
 
-        if (contactParts.length < 3 || contactParts[0].trim().isEmpty()
-                || contactParts[1].trim().isEmpty() || contactParts[2].trim().isEmpty()) {
+        if (isBlank(input, start, firstMarker) || isBlank(input, phoneStart, secondMarker)
+                || isBlank(input, emailStart, emailEnd)) {
             throw new InvalidFormatException(ERROR_INVALID_CONTACT_FORMAT);
         }
 
-        Contact contact = new Contact(contactParts[0].trim(), contactParts[1].trim(), contactParts[2].trim());
+        Contact contact = new Contact(trimmed(input, start, firstMarker), trimmed(input, phoneStart, secondMarker),
+                trimmed(input, emailStart, emailEnd));
         return new AddContactCommand(contact);
     }
 
-    private void validateNonEmpty(String input, String errorMessage) throws InvalidFormatException {
-        if (input.isEmpty()) {
+    private void validateNonEmpty(int start, int end, String errorMessage) throws InvalidFormatException {
+        if (start == end) {
             throw new InvalidFormatException(errorMessage);
         }
     }
 
-    private String[] splitDetails(String details) throws InvalidFormatException {
-        String[] parts = details.split("/by", -1);
-        if (parts.length < 2 || parts[0].trim().isEmpty()) {
-            throw new InvalidFormatException(Parser.ERROR_INVALID_DEADLINE_FORMAT);
+    /**
+     * Returns the index of the first occurrence of the marker that lies entirely within {@code [from, end)}.
+     */
+    private static int indexOf(String input, String marker, int from, int end) {
+        int index = input.indexOf(marker, from);
+        return index != NOT_FOUND && index + marker.length() <= end ? index : NOT_FOUND;
+    }
+
+    private static int indexOfPeriodMarker(String input, int from, int end) {
+        return earliest(indexOf(input, FROM_MARKER, from, end), indexOf(input, TO_MARKER, from, end));
+    }
+
+    private static int afterPeriodMarker(String input, int markerIndex) {
+        return markerIndex + (input.startsWith(FROM_MARKER, markerIndex) ? FROM_MARKER.length() : TO_MARKER.length());
+    }
+
+    private static int indexOfContactMarker(String input, int from, int end) {
+        return earliest(indexOf(input, PHONE_MARKER, from, end), indexOf(input, EMAIL_MARKER, from, end));
+    }
+
+    private static int afterContactMarker(String input, int markerIndex) {
+        return markerIndex + (input.startsWith(PHONE_MARKER, markerIndex) ? PHONE_MARKER.length()
+                : EMAIL_MARKER.length());
+    }
+
+    private static int earliest(int first, int second) {
+        if (first == NOT_FOUND) {
+            return second;
+        }
+        return second == NOT_FOUND ? first : Math.min(first, second);
+    }
+
+    private static int trimStart(String input, int start, int end) {
+        while (start < end && input.charAt(start) <= ' ') {
+            start++;
         }
-        return parts;
+        return start;
     }
 
+    private static int trimEnd(String input, int start, int end) {
+        while (end > start && input.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
 
+    private static boolean isBlank(String input, int start, int end) {
+        return trimStart(input, start, end) == end;
+    }
+
+    private static String trimmed(String input, int start, int end) {
+        int trimmedStart = trimStart(input, start, end);
+        return input.substring(trimmedStart, trimEnd(input, trimmedStart, end));
+    }
+
+    private static int skipToken(String input, int start, int end) {
+        while (start < end && !isWhitespace(input.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int lastTokenStart(String input, int start, int end) {
+        while (end > start && !isWhitespace(input.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static int skipWhitespace(String input, int start, int end) {
+        while (start < end && isWhitespace(input.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Returns whether the character is whitespace in the sense of the regular expression {@code \s}.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
 }
@@ -0,0 +1,603 @@
+package components;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+
+import exceptions.NiniException;
+
+/**
+ * Represents a line-based file of records, each protected by a CRC32 checksum.
+ * Full rewrites go to a temporary file that is flushed to disk and then atomically
+ * renamed over the original, so a crash never leaves a half-written file behind.
+ * Files written before checksums were introduced are still read as plain records.
+ */
+public class RecordFile {
+
+    static final String HEADER = "#nini-crc32";
+    static final char CHECKSUM_SEPARATOR = '|';
+    static final int CHECKSUM_LENGTH = 8;
+    private static final String TEMP_SUFFIX = ".tmp";
+    // Smaller chunks cost more to schedule than they save, so small files are decoded on the calling thread
+    private static final long MIN_CHUNK_SIZE = 1 << 18;
+    // Each chunk is read into a single heap buffer, so it must fit in an array
+    private static final long MAX_CHUNK_SIZE = 1 << 30;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int SCAN_BUFFER_SIZE = 1 << 13;
+
+    private final Path path;
+    private int skippedCount;
+    // Whether the file is known to exist and start with the checksum header, so appends can skip checking it.
+    // The file is expected to only be replaced or deleted through this object, which keeps this up to date.
+    private volatile boolean hasHeader;
+
+    /**
+     * Constructs a {@code RecordFile} backed by the given file.
+     *
+     * @param fileName The path to the record file.
+     */
+    public RecordFile(String fileName) {
+        assert fileName != null && !fileName.isBlank() : "File name cannot be null or empty";
+        this.path = Path.of(fileName);
+    }
+
+    /**
+     * Returns whether the record file exists.
+     *
+     * @return {@code true} if the file exists, {@code false} otherwise.
+     */
+    public boolean exists() {
+        return Files.exists(path);
+    }
+
+    /**
+     * Returns the number of records skipped by the last {@code read} because their checksum did not match.
+     *
+     * @return The number of corrupted records skipped.
+     */
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * Decodes a single record read from a file.
+     *
+     * @param <T> The type of the decoded records.
+     */
+    @FunctionalInterface
+    public interface RecordDecoder<T> {
+        /**
+         * Decodes a record.
+         *
+         * @param record The record, without its checksum.
+         * @return The decoded record.
+         * @throws NiniException If the record is invalid.
+         */
+        T decode(String record) throws NiniException;
+    }
+
+    /**
+     * Handles a single record read from a file.
+     */
+    @FunctionalInterface
+    public interface RecordConsumer {
+        /**
+         * Handles a record.
+         *
+         * @param record The record, without its checksum.
+         * @throws NiniException If the record is invalid.
+         */
+        void accept(String record) throws NiniException;
+    }
+
+    /**
+     * Reads all intact records from the file in a single streaming pass.
+     * Records whose checksum does not match their content are skipped.
+     * If the file does not exist, it returns an empty list.
+     *
+     * @return The records stored in the file, in order.
+     * @throws IOException If an error occurs while reading the file.
+     */
+    public List<String> read() throws IOException {
+        List<String> records = new ArrayList<>();
+        forEachRecord(records::add, "record");
+        return records;
+    }
+
+    /**
+     * Passes each intact record in the file to the consumer in a single streaming pass, in order,
+     * so only one record is held at a time. Records whose checksum does not match, or that the consumer
+     * rejects, are skipped and counted; the line each rejected record is on is reported.
+     * If the file does not exist, nothing is read.
+     *
+     * @param consumer   The consumer of the records.
+     * @param recordType The kind of record in the file, for error messages.
+     * @throws IOException If an error occurs while reading the file.
+     */
+    public void forEachRecord(RecordConsumer consumer, String recordType) throws IOException {
+        skippedCount = 0;
+        if (!exists()) {
+            return;
+        }
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8))) {
+            String line = reader.readLine();
+            int lineNumber = 1;
+            boolean isChecksummed = HEADER.equals(line);
+            if (isChecksummed) {
+                line = reader.readLine();
+                lineNumber++;
+            }
+
+            for (; line != null; line = reader.readLine(), lineNumber++) {
+                if (isChecksummed && !isIntact(line)) {
+                    skippedCount++;
+                    continue;
+                }
+                try {
+                    consumer.accept(isChecksummed ? line.substring(CHECKSUM_LENGTH + 1) : line);
+                } catch (NiniException e) {
+                    skippedCount++;
+                    System.err.println("Skipping invalid " + recordType + " record on line " + lineNumber + ": "
+                            + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads and decodes all intact records from the file, using every core for large files.
+     * The file is split into chunks of whole lines, which are read into heap buffers and decoded in parallel
+     * on the common fork-join pool, then put back together in order. Chunks are read with positional reads
+     * rather than mapped, so no mapping keeps the file open after it is closed or replaced. Records whose
+     * checksum does not match, or that cannot be decoded, are skipped and counted; the line each undecodable
+     * record is on is reported.
+     * If the file does not exist, it returns an empty list.
+     *
+     * @param decoder    Decodes each record; it is called from several threads at once.
+     * @param recordType The kind of record in the file, for error messages.
+     * @param <T>        The type of the decoded records.
+     * @return The decoded records, in order.
+     * @throws IOException If an error occurs while reading the file.
+     */
+    public <T> List<T> readInParallel(RecordDecoder<T> decoder, String recordType) throws IOException {
+        skippedCount = 0;
+        if (!exists()) {
+            return new ArrayList<>();
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long dataStart = headerEnd(channel);
+            boolean isChecksummed = dataStart > 0;
+
+            long[] boundaries = chunkBoundaries(channel, dataStart, size);
+            List<Callable<DecodedChunk<T>>> chunkTasks = new ArrayList<>(boundaries.length - 1);
+            for (int i = 0; i < boundaries.length - 1; i++) {
+                long start = boundaries[i];
+                long end = boundaries[i + 1];
+                chunkTasks.add(() -> decodeChunk(readFully(channel, start, (int) (end - start)),
+                        isChecksummed, decoder));
+            }
+            List<DecodedChunk<T>> chunks = chunkTasks.size() == 1
+                    ? List.of(callOnThisThread(chunkTasks.get(0)))
+                    : invokeAll(chunkTasks);
+
+            return joinChunks(chunks, isChecksummed ? 1 : 0, recordType);
+        }
+    }
+
+    /**
+     * Reads {@code length} bytes of the file starting at {@code position} into a new heap buffer.
+     * Unlike a mapping, the buffer holds no reference to the file, so the file can be closed, replaced
+     * or deleted as soon as this returns.
+     *
+     * @param channel  The channel to read from.
+     * @param position The position in the file of the first byte to read.
+     * @param length   The number of bytes to read.
+     * @return A buffer holding the bytes, positioned at its start.
+     * @throws IOException If an error occurs while reading, or the file ends before {@code length} bytes.
+     */
+    static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("File ended unexpectedly.");
+            }
+        }
+        return buffer.flip();
+    }
+
+    /**
+     * Returns where the records begin, which is after the checksum header if the file has one.
+     */
+    private static long headerEnd(FileChannel channel) throws IOException {
+        ByteBuffer start = ByteBuffer.allocate(HEADER.length() + 2);
+        channel.read(start, 0);
+        start.flip();
+        int lineEnd = 0;
+        while (lineEnd < start.limit() && start.get(lineEnd) != '\n') {
+            lineEnd++;
+        }
+        int contentEnd = lineEnd > 0 && start.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+        boolean isHeader = contentEnd == HEADER.length()
+                && StandardCharsets.UTF_8.decode(start.duplicate().limit(contentEnd)).toString().equals(HEADER);
+        return isHeader ? Math.min(lineEnd + 1, start.limit()) : 0;
+    }
+
+    /**
+     * Splits the records between {@code start} and {@code end} into chunks that each hold whole lines.
+     *
+     * @return The start of each chunk, followed by the end of the last one.
+     */
+    private static long[] chunkBoundaries(FileChannel channel, long start, long end) throws IOException {
+        long size = end - start;
+        long chunkCount = Math.min(size / MIN_CHUNK_SIZE,
+                (long) ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_THREAD);
+        chunkCount = Math.max(chunkCount, Math.max(1, (size + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE));
+
+        long[] boundaries = new long[(int) chunkCount + 1];
+        int count = 0;
+        boundaries[count++] = start;
+        for (int i = 1; i < chunkCount; i++) {
+            long lineStart = lineStartAfter(channel, Math.max(start + size * i / chunkCount,
+                    boundaries[count - 1]), end);
+            if (lineStart > boundaries[count - 1] && lineStart < end) {
+                boundaries[count++] = lineStart;
+            }
+        }
+        boundaries[count++] = end;
+        return Arrays.copyOf(boundaries, count);
+    }
+
+    /**
+     * Returns the start of the first line that begins after {@code position}, or {@code end} if there is none.
+     */
+    private static long lineStartAfter(FileChannel channel, long position, long end) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        while (position < end) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return end;
+    }
+
+    /**
+     * Decodes the records in one chunk of the file. Failures are kept by line within the chunk,
+     * since the line the chunk starts at is only known once every chunk before it has been counted.
+     */
+    private static <T> DecodedChunk<T> decodeChunk(ByteBuffer buffer, boolean isChecksummed,
+            RecordDecoder<T> decoder) {
+        assert buffer.hasArray() && buffer.arrayOffset() == 0 : "Chunk must be read into a heap buffer";
+        DecodedChunk<T> chunk = new DecodedChunk<>();
+        byte[] bytes = buffer.array();
+        int lineStart = 0;
+        while (lineStart < buffer.limit()) {
+            int lineEnd = lineStart;
+            while (lineEnd < buffer.limit() && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int contentEnd = lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+            int recordStart = isChecksummed ? lineStart + CHECKSUM_LENGTH + 1 : lineStart;
+
+            if (isChecksummed && !isIntact(buffer, lineStart, contentEnd)) {
+                chunk.skippedCount++;
+            } else {
+                int length = contentEnd - recordStart;
+                try {
+                    chunk.records.add(decoder.decode(new String(bytes, recordStart, length, StandardCharsets.UTF_8)));
+                } catch (NiniException e) {
+                    chunk.failedLines.add(chunk.lineCount);
+                    chunk.failureMessages.add(e.getMessage());
+                }
+            }
+            chunk.lineCount++;
+            lineStart = lineEnd + 1;
+        }
+        return chunk;
+    }
+
+    private static <T> DecodedChunk<T> callOnThisThread(Callable<DecodedChunk<T>> chunkTask) throws IOException {
+        try {
+            return chunkTask.call();
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e); // Never happens, as decoding only throws I/O errors
+        }
+    }
+
+    private static <T> List<DecodedChunk<T>> invokeAll(List<Callable<DecodedChunk<T>>> chunkTasks)
+            throws IOException {
+        List<DecodedChunk<T>> chunks = new ArrayList<>(chunkTasks.size());
+        try {
+            for (Future<DecodedChunk<T>> future : ForkJoinPool.commonPool().invokeAll(chunkTasks)) {
+                chunks.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading records.");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw (Error) cause;
+        }
+        return chunks;
+    }
+
+    /**
+     * Puts the decoded chunks back together in order, reporting each record that could not be decoded
+     * by its line in the file.
+     *
+     * @param headerLines The number of lines before the first chunk.
+     */
+    private <T> List<T> joinChunks(List<DecodedChunk<T>> chunks, int headerLines, String recordType) {
+        int recordCount = 0;
+        for (DecodedChunk<T> chunk : chunks) {
+            recordCount += chunk.records.size();
+        }
+
+        List<T> records = new ArrayList<>(recordCount);
+        int firstLine = headerLines + 1;
+        for (DecodedChunk<T> chunk : chunks) {
+            records.addAll(chunk.records);
+            skippedCount += chunk.skippedCount + chunk.failedLines.size();
+            for (int i = 0; i < chunk.failedLines.size(); i++) {
+                System.err.println("Skipping invalid " + recordType + " record on line "
+                        + (firstLine + chunk.failedLines.get(i)) + ": " + chunk.failureMessages.get(i));
+            }
+            firstLine += chunk.lineCount;
+        }
+        return records;
+    }
+
+    /**
+     * Replaces the content of the file with the given records.
+     * The records are written to a temporary file, flushed to disk, and atomically renamed into place.
+     *
+     * @param records The records to write.
+     * @throws IOException If an error occurs while writing the file.
+     */
+    public void write(List<String> records) throws IOException {
+        assert records != null : "Records cannot be null";
+        StringBuilder content = new StringBuilder(HEADER).append(System.lineSeparator());
+        appendRecords(content, records);
+        hasHeader = false;
+        replaceAtomically(path, StandardCharsets.UTF_8.encode(content.toString()));
+        hasHeader = true;
+    }
+
+    /**
+     * Replaces the content of a file with the given bytes by writing them to a temporary file,
+     * flushing it to disk and atomically renaming it over the original. The directory is flushed
+     * after the rename, so the rename itself survives a power failure.
+     *
+     * @param path    The file to replace.
+     * @param content The new content of the file.
+     * @throws IOException If an error occurs while writing the file.
+     */
+    static void replaceAtomically(Path path, ByteBuffer content) throws IOException {
+        Path tempPath = path.resolveSibling(path.getFileName() + TEMP_SUFFIX);
+
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+            channel.force(true);
+        }
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(path);
+    }
+
+    /**
+     * Flushes the directory holding the given file to disk, so that a file created or renamed in it
+     * is not lost on power failure. Platforms that cannot open or flush directories are ignored.
+     */
+    private static void syncDirectory(Path path) {
+        Path directory = path.toAbsolutePath().getParent();
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be flushed on this platform, such as on Windows
+        }
+    }
+
+    /**
+     * Appends the given records to the end of the file and flushes them to disk.
+     * A file in the old unchecksummed format is first rewritten in the checksummed format.
+     *
+     * @param records The records to append.
+     * @throws IOException If an error occurs while writing the file.
+     */
+    public void append(List<String> records) throws IOException {
+        append(records, true);
+    }
+
+    /**
+     * Appends the given records to the end of the file.
+     * A file in the old unchecksummed format is first rewritten in the checksummed format.
+     * The format is only checked on the first append after the file was opened, replaced or deleted.
+     *
+     * @param records  The records to append.
+     * @param isForced Whether to flush the appended records to disk before returning.
+     * @throws IOException If an error occurs while writing the file.
+     */
+    public void append(List<String> records, boolean isForced) throws IOException {
+        assert records != null : "Records cannot be null";
+        boolean isNewFile = false;
+        StringBuilder content = new StringBuilder();
+        if (!hasHeader) {
+            if (isLegacyFormat()) {
+                List<String> allRecords = read();
+                allRecords.addAll(records);
+                write(allRecords);
+                return;
+            }
+            isNewFile = !exists();
+            if (isNewFile || Files.size(path) == 0) {
+                content.append(HEADER).append(System.lineSeparator());
+            }
+        }
+        appendRecords(content, records);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            writeFully(channel, content);
+            if (isForced) {
+                channel.force(true);
+            }
+        }
+        if (isNewFile && isForced) {
+            syncDirectory(path);
+        }
+        hasHeader = true;
+    }
+
+    /**
+     * Flushes any appended records that have not yet reached the disk.
+     *
+     * @throws IOException If an error occurs while flushing the file.
+     */
+    public void sync() throws IOException {
+        if (!exists()) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Deletes the file if it exists.
+     *
+     * @throws IOException If the file exists but cannot be deleted.
+     */
+    public void delete() throws IOException {
+        hasHeader = false;
+        Files.deleteIfExists(path);
+    }
+
+    /**
+     * Returns whether the file exists and was written without checksums.
+     *
+     * @return {@code true} if the file is in the old unchecksummed format, {@code false} otherwise.
+     * @throws IOException If an error occurs while reading the file.
+     */
+    boolean isLegacyFormat() throws IOException {
+        if (!exists() || Files.size(path) == 0) {
+            return false;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8))) {
+            return !HEADER.equals(reader.readLine());
+        }
+    }
+
+    private static void appendRecords(StringBuilder content, List<String> records) {
+        for (String record : records) {
+            assert record.indexOf('\n') < 0 : "Record cannot span multiple lines";
+            content.append(checksumOf(record))
+                    .append(CHECKSUM_SEPARATOR)
+                    .append(record)
+                    .append(System.lineSeparator());
+        }
+    }
+
+    private static void writeFully(FileChannel channel, CharSequence content) throws IOException {
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(content.toString());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Returns whether the line between {@code start} and {@code end} holds a record that matches its checksum.
+     *
+     * @param buffer The buffer holding the line.
+     * @param start  The start of the line.
+     * @param end    The end of the line, without its line separator.
+     * @return {@code true} if the record is intact, {@code false} otherwise.
+     */
+    static boolean isIntact(ByteBuffer buffer, int start, int end) {
+        int recordStart = start + CHECKSUM_LENGTH + 1;
+        if (recordStart > end || buffer.get(recordStart - 1) != CHECKSUM_SEPARATOR) {
+            return false;
+        }
+
+        long expected = 0;
+        for (int i = start; i < recordStart - 1; i++) {
+            int digit = Character.digit(buffer.get(i), 16);
+            if (digit < 0) {
+                return false;
+            }
+            expected = expected << 4 | digit;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().limit(end).position(recordStart));
+        return crc.getValue() == expected;
+    }
+
+    private static boolean isIntact(String line) {
+        if (line.length() <= CHECKSUM_LENGTH || line.charAt(CHECKSUM_LENGTH) != CHECKSUM_SEPARATOR) {
+            return false;
+        }
+        String record = line.substring(CHECKSUM_LENGTH + 1);
+        return line.startsWith(checksumOf(record));
+    }
+
+    private static String checksumOf(String record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.getBytes(StandardCharsets.UTF_8));
+        return String.format("%08x", crc.getValue());
+    }
+
+    /**
+     * Represents the records decoded from one chunk of a file.
+     */
+    private static class DecodedChunk<T> {
+        private final List<T> records = new ArrayList<>();
+        private final List<Integer> failedLines = new ArrayList<>();
+        private final List<String> failureMessages = new ArrayList<>();
+        private int lineCount;
+        private int skippedCount;
+    }
+}
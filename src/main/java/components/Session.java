@@ -0,0 +1,171 @@
+package components;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+import exceptions.NiniException;
+import tasks.Task;
+
+/**
+ * Represents the task and contact storage a frontend works on, together with the writer they share.
+ * Every frontend opens a single session and closes it when it exits, which flushes the queued writes
+ * and stops the writer thread.
+ * The list that holds the tasks in memory is chosen with the {@code nini.taskList} system property,
+ * and the format task snapshots are written in with the {@code nini.taskFormat} system property.
+ */
+public class Session implements Closeable {
+
+    /**
+     * Represents how loaded tasks are held in memory.
+     */
+    public enum TaskListType {
+        /** Tasks are deserialized from the file when they are first accessed. */
+        LAZY,
+        /** Tasks are stored column by column in primitive arrays. */
+        COLUMNAR,
+        /** Tasks are stored as binary records outside the Java heap. */
+        OFF_HEAP
+    }
+
+    /** The maximum number of unmodified tasks kept deserialized at once when tasks are loaded lazily. */
+    public static final int TASK_CACHE_SIZE = 10_000;
+    /** The system property that selects the {@code TaskListType}, such as {@code -Dnini.taskList=columnar}. */
+    public static final String TASK_LIST_PROPERTY = "nini.taskList";
+    /** The system property that selects the {@code TaskStorage.Format}, such as {@code -Dnini.taskFormat=binary}. */
+    public static final String TASK_FORMAT_PROPERTY = "nini.taskFormat";
+
+    private final StorageWriter writer;
+    private final TaskStorage taskStorage;
+    private final ContactStorage contactStorage;
+    private final TaskListType taskListType;
+    private Closeable lazyTasks;
+
+    /**
+     * Constructs a {@code Session} over the given storage, which should perform its writes through the given writer.
+     * The session takes ownership of the writer, and closes it when the session is closed.
+     * Tasks are loaded lazily.
+     *
+     * @param writer         The writer shared by the task and contact storage.
+     * @param taskStorage    The storage for tasks.
+     * @param contactStorage The storage for contacts.
+     */
+    public Session(StorageWriter writer, TaskStorage taskStorage, ContactStorage contactStorage) {
+        this(writer, taskStorage, contactStorage, TaskListType.LAZY);
+    }
+
+    /**
+     * Constructs a {@code Session} over the given storage, holding loaded tasks in the given type of list.
+     * The session takes ownership of the writer, and closes it when the session is closed.
+     *
+     * @param writer         The writer shared by the task and contact storage.
+     * @param taskStorage    The storage for tasks.
+     * @param contactStorage The storage for contacts.
+     * @param taskListType   How loaded tasks are held in memory.
+     */
+    public Session(StorageWriter writer, TaskStorage taskStorage, ContactStorage contactStorage,
+            TaskListType taskListType) {
+        assert writer != null && taskStorage != null && contactStorage != null : "Storage cannot be null";
+        assert taskListType != null : "Task list type cannot be null";
+        this.writer = writer;
+        this.taskStorage = taskStorage;
+        this.contactStorage = contactStorage;
+        this.taskListType = taskListType;
+    }
+
+    /**
+     * Opens a session over the default task and contact files, with the task list type and snapshot format
+     * selected by the {@code nini.taskList} and {@code nini.taskFormat} system properties.
+     *
+     * @param durability How long callers wait for their writes.
+     * @return The session.
+     */
+    public static Session open(StorageWriter.Durability durability) {
+        StorageWriter writer = new StorageWriter(durability);
+        TaskStorage.Format format = selectedOption(TASK_FORMAT_PROPERTY, TaskStorage.Format.class,
+                TaskStorage.Format.TEXT);
+        return new Session(writer, new TaskStorage(format, writer), new ContactStorage(writer),
+                selectedOption(TASK_LIST_PROPERTY, TaskListType.class, TaskListType.LAZY));
+    }
+
+    /**
+     * Returns the constant named by the given system property, or {@code defaultValue} if the property
+     * is not set or names no constant.
+     */
+    private static <E extends Enum<E>> E selectedOption(String property, Class<E> type, E defaultValue) {
+        String name = System.getProperty(property);
+        if (name == null) {
+            return defaultValue;
+        }
+        try {
+            return Enum.valueOf(type, name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Unknown " + property + " '" + name + "', using "
+                    + defaultValue.name().toLowerCase(Locale.ROOT) + " instead.");
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Loads the stored tasks into a task list held in memory as this session's {@code TaskListType}.
+     *
+     * @return The task list.
+     * @throws IOException   If the tasks cannot be read.
+     * @throws NiniException If the stored tasks are invalid.
+     */
+    public TaskList loadTaskList() throws IOException, NiniException {
+        switch (taskListType) {
+        case COLUMNAR:
+            return TaskList.backedBy(taskStorage.loadTasksColumnar());
+        case OFF_HEAP:
+            return TaskList.backedBy(taskStorage.loadTasksOffHeap());
+        default:
+            List<Task> tasks = taskStorage.loadTasksLazily(TASK_CACHE_SIZE);
+            if (tasks instanceof Closeable) {
+                // The lazily loaded list keeps the task file open until the session is closed
+                lazyTasks = (Closeable) tasks;
+            }
+            return TaskList.backedBy(tasks);
+        }
+    }
+
+    /**
+     * Loads the stored contacts into a contact list.
+     *
+     * @return The contact list.
+     * @throws IOException   If the contacts cannot be read.
+     * @throws NiniException If the stored contacts are invalid.
+     */
+    public ContactList loadContactList() throws IOException, NiniException {
+        return new ContactList(contactStorage.loadContacts());
+    }
+
+    public StorageWriter getWriter() {
+        return writer;
+    }
+
+    public TaskStorage getTaskStorage() {
+        return taskStorage;
+    }
+
+    public ContactStorage getContactStorage() {
+        return contactStorage;
+    }
+
+    /**
+     * Flushes every queued write to disk, stops the writer thread and closes the task file
+     * the tasks were lazily loaded from.
+     */
+    @Override
+    public void close() {
+        writer.close();
+        if (lazyTasks != null) {
+            try {
+                lazyTasks.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close the task file: " + e.getMessage());
+            }
+        }
+    }
+}
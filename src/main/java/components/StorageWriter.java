@@ -0,0 +1,402 @@
+package components;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Performs storage writes on a single background thread.
+ * Writes are queued in the order they are submitted. Whenever the writer thread picks up work,
+ * it drains everything queued so far and merges consecutive appends to the same file into a
+ * single write and flush to disk (group commit), so bursts of changes cost one disk round-trip.
+ */
+public class StorageWriter implements Closeable {
+
+    /**
+     * Represents how long callers wait for their writes, and how often written data is flushed to disk.
+     */
+    public enum Durability {
+        /** Callers wait until their write has been written and flushed to disk. */
+        SYNC,
+        /** Callers return immediately; writes are written and flushed to disk in the background. */
+        ASYNC,
+        /** Callers return immediately; written data is flushed to disk at a fixed interval. */
+        PERIODIC,
+        /**
+         * Callers return immediately; writes are held back until {@code flush} or {@code close},
+         * then written and flushed to disk together.
+         */
+        DEFERRED
+    }
+
+    /**
+     * Represents a storage action that runs on the writer thread.
+     */
+    @FunctionalInterface
+    public interface StorageAction {
+        void run() throws IOException;
+    }
+
+    private static final long DEFAULT_SYNC_INTERVAL_MILLIS = 100;
+    private static final Consumer<IOException> PRINT_FAILURE = e ->
+            System.err.println("Error writing to storage: " + e.getMessage());
+
+    private final BlockingQueue<PendingWrite> queue = new LinkedBlockingQueue<>();
+    private final Set<RecordFile> unsyncedFiles = new LinkedHashSet<>();
+    // Also guards isClosed against writes being queued while the writer closes
+    private final List<PendingWrite> deferredWrites = new ArrayList<>();
+    private final Durability durability;
+    private final long syncIntervalMillis;
+    private final Thread thread;
+    private volatile Consumer<IOException> failureListener = PRINT_FAILURE;
+    private long nextSyncTime;
+    private volatile boolean isClosed;
+
+    /**
+     * Constructs a {@code StorageWriter} whose callers wait for every write to reach the disk.
+     */
+    public StorageWriter() {
+        this(Durability.SYNC);
+    }
+
+    /**
+     * Constructs a {@code StorageWriter} with the given durability mode and the default sync interval.
+     *
+     * @param durability How long callers wait for their writes.
+     */
+    public StorageWriter(Durability durability) {
+        this(durability, DEFAULT_SYNC_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Constructs a {@code StorageWriter} with the given durability mode.
+     *
+     * @param durability         How long callers wait for their writes.
+     * @param syncIntervalMillis How often written data is flushed to disk in {@code PERIODIC} mode.
+     */
+    public StorageWriter(Durability durability, long syncIntervalMillis) {
+        assert durability != null : "Durability cannot be null";
+        assert syncIntervalMillis > 0 : "Sync interval must be positive";
+        this.durability = durability;
+        this.syncIntervalMillis = syncIntervalMillis;
+        this.thread = new Thread(this::processWrites, "storage-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Returns the durability mode of this writer.
+     *
+     * @return The durability mode.
+     */
+    public Durability getDurability() {
+        return durability;
+    }
+
+    /**
+     * Sets the listener told about writes that fail after their callers have returned, such as queued
+     * writes in {@code ASYNC} and {@code PERIODIC} mode, or held-back writes released by {@code close}.
+     * The listener is called on the writer thread. By default, failures are printed to standard error.
+     *
+     * @param failureListener The listener to tell about failed writes.
+     */
+    public void setFailureListener(Consumer<IOException> failureListener) {
+        assert failureListener != null : "Failure listener cannot be null";
+        this.failureListener = failureListener;
+    }
+
+    /**
+     * Tells the failure listener about a background write that failed outside of a queued write,
+     * such as a compaction started by the storage itself.
+     *
+     * @param failure The failure to report.
+     */
+    void reportFailure(IOException failure) {
+        assert failure != null : "Failure cannot be null";
+        failureListener.accept(failure);
+    }
+
+    /**
+     * Queues records to be appended to the given file.
+     * In {@code SYNC} mode, this method waits until the records have been written and flushed to disk.
+     *
+     * @param file    The file to append to.
+     * @param records The records to append.
+     * @return A future that completes once the records have been written.
+     * @throws IOException If the writer is closed, or the write fails in {@code SYNC} mode.
+     */
+    public CompletableFuture<Void> append(RecordFile file, List<String> records) throws IOException {
+        assert file != null && records != null : "File and records cannot be null";
+        return submit(new PendingWrite(file, List.copyOf(records), null));
+    }
+
+    /**
+     * Queues an action to run on the writer thread, after every write queued before it.
+     * In {@code SYNC} mode, this method waits until the action has completed.
+     *
+     * @param action The action to run.
+     * @return A future that completes once the action has run.
+     * @throws IOException If the writer is closed, or the action fails in {@code SYNC} mode.
+     */
+    public CompletableFuture<Void> run(StorageAction action) throws IOException {
+        assert action != null : "Action cannot be null";
+        return submit(new PendingWrite(null, null, action));
+    }
+
+    /**
+     * Waits until every write queued so far has been written and flushed to disk, in any durability mode.
+     * In {@code DEFERRED} mode, this releases every write held back since the last flush.
+     *
+     * @throws IOException If a queued write fails, any write released by this flush failed, or the writer is closed.
+     */
+    public void flush() throws IOException {
+        if (isWriterThread()) {
+            syncFiles();
+            return;
+        }
+        PendingWrite sync;
+        synchronized (deferredWrites) {
+            if (isClosed) {
+                throw new IOException("Storage has already been closed.");
+            }
+            // Held-back writes are processed as a single batch, so consecutive appends are merged into one write
+            List<PendingWrite> released = new ArrayList<>(deferredWrites);
+            deferredWrites.clear();
+            sync = new PendingWrite(null, null, () -> {
+                processBatch(released);
+                syncFiles();
+                throwIfAnyFailed(released);
+            });
+            queue.add(sync);
+        }
+        await(sync.future);
+    }
+
+    /**
+     * Returns whether the current thread is the writer thread.
+     *
+     * @return {@code true} if called from the writer thread, {@code false} otherwise.
+     */
+    public boolean isWriterThread() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Flushes every queued write to disk and stops the writer thread.
+     * Writes submitted while the writer closes are either written before the thread stops, or rejected.
+     */
+    @Override
+    public void close() {
+        if (isClosed) {
+            return;
+        }
+        try {
+            flush();
+        } catch (IOException e) {
+            failureListener.accept(e);
+        }
+
+        PendingWrite last;
+        synchronized (deferredWrites) {
+            if (isClosed) {
+                return;
+            }
+            isClosed = true;
+            // Writes held back since the flush above are released with the last batch, which also wakes up
+            // the writer thread so that it can stop
+            List<PendingWrite> released = new ArrayList<>(deferredWrites);
+            deferredWrites.clear();
+            last = new PendingWrite(null, null, () -> {
+                processBatch(released);
+                syncFiles();
+                throwIfAnyFailed(released);
+            });
+            queue.add(last);
+        }
+        last.future.whenComplete((result, error) -> {
+            if (error != null) {
+                failureListener.accept(error instanceof IOException ? (IOException) error : new IOException(error));
+            }
+        });
+    }
+
+    private CompletableFuture<Void> submit(PendingWrite write) throws IOException {
+        // Checked under the same lock as close, so no write is queued after the writer thread may have stopped
+        synchronized (deferredWrites) {
+            if (isClosed) {
+                throw new IOException("Storage has already been closed.");
+            }
+            if (durability == Durability.DEFERRED && !isWriterThread()) {
+                deferredWrites.add(write);
+            } else {
+                queue.add(write);
+            }
+        }
+
+        if (durability == Durability.SYNC && !isWriterThread()) {
+            await(write.future);
+        } else if (durability != Durability.DEFERRED) {
+            // Held-back writes are reported by the flush that releases them instead
+            write.future.whenComplete((result, error) -> {
+                if (error != null) {
+                    failureListener.accept(error instanceof IOException ? (IOException) error : new IOException(error));
+                }
+            });
+        }
+        return write.future;
+    }
+
+    private static void await(CompletableFuture<Void> future) throws IOException {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for storage.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private void processWrites() {
+        try {
+            writeUntilClosed();
+        } finally {
+            failRemainingWrites();
+        }
+    }
+
+    private void writeUntilClosed() {
+        List<PendingWrite> batch = new ArrayList<>();
+        while (!isClosed || !queue.isEmpty()) {
+            try {
+                PendingWrite first = unsyncedFiles.isEmpty()
+                        ? queue.take()
+                        : queue.poll(Math.max(0, nextSyncTime - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch);
+                    processBatch(batch);
+                    batch.clear();
+                }
+                if (!unsyncedFiles.isEmpty() && System.currentTimeMillis() >= nextSyncTime) {
+                    syncFiles();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                failureListener.accept(e);
+            }
+        }
+    }
+
+    /**
+     * Fails every write still queued or held back once the writer thread stops, so that no caller waits
+     * for a write that will never be performed, and rejects any write submitted afterwards.
+     */
+    private void failRemainingWrites() {
+        List<PendingWrite> remaining = new ArrayList<>();
+        synchronized (deferredWrites) {
+            isClosed = true;
+            queue.drainTo(remaining);
+            remaining.addAll(deferredWrites);
+            deferredWrites.clear();
+        }
+        IOException failure = new IOException("Storage was closed before the write was performed.");
+        remaining.forEach(write -> write.future.completeExceptionally(failure));
+    }
+
+    private void processBatch(List<PendingWrite> batch) {
+        int start = 0;
+        while (start < batch.size()) {
+            PendingWrite write = batch.get(start);
+            if (write.action != null) {
+                complete(List.of(write), write.action);
+                start++;
+                continue;
+            }
+
+            int end = start + 1;
+            List<String> records = new ArrayList<>(write.records);
+            while (end < batch.size() && batch.get(end).file == write.file) {
+                records.addAll(batch.get(end).records);
+                end++;
+            }
+            complete(batch.subList(start, end), () -> appendGroup(write.file, records));
+            start = end;
+        }
+    }
+
+    private void appendGroup(RecordFile file, List<String> records) throws IOException {
+        boolean isForced = durability != Durability.PERIODIC;
+        file.append(records, isForced);
+        if (!isForced && unsyncedFiles.add(file) && unsyncedFiles.size() == 1) {
+            nextSyncTime = System.currentTimeMillis() + syncIntervalMillis;
+        }
+    }
+
+    private void syncFiles() throws IOException {
+        for (RecordFile file : unsyncedFiles) {
+            file.sync();
+        }
+        unsyncedFiles.clear();
+    }
+
+    /**
+     * Throws if any of the given writes failed, so that callers waiting for the whole batch learn of it.
+     */
+    private static void throwIfAnyFailed(List<PendingWrite> writes) throws IOException {
+        int failedCount = 0;
+        Throwable firstFailure = null;
+        for (PendingWrite write : writes) {
+            try {
+                write.future.getNow(null);
+            } catch (CompletionException e) {
+                failedCount++;
+                firstFailure = firstFailure == null ? e.getCause() : firstFailure;
+            }
+        }
+        if (failedCount > 0) {
+            throw new IOException(failedCount + " held-back write(s) failed: " + firstFailure.getMessage(),
+                    firstFailure);
+        }
+    }
+
+    private static void complete(List<PendingWrite> writes, StorageAction action) {
+        try {
+            action.run();
+            writes.forEach(write -> write.future.complete(null));
+        } catch (IOException | RuntimeException e) {
+            writes.forEach(write -> write.future.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Represents a queued append or action, together with the future completed once it is done.
+     */
+    private static class PendingWrite {
+        private final RecordFile file;
+        private final List<String> records;
+        private final StorageAction action;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        private PendingWrite(RecordFile file, List<String> records, StorageAction action) {
+            this.file = file;
+            this.records = records;
+            this.action = action;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package components;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import tasks.Task;
+
+/**
+ * Keeps the ids of tasks ordered by their relevant date, that is the deadline of a
+ * {@code DeadlineTask} or the start time of an {@code EventTask}.
+ * Dated tasks live in a balanced tree keyed on their date and id, so the sorted order is
+ * maintained on every change instead of being recomputed. Undated tasks are kept in their own
+ * bucket, in the order they were added, and always come after the dated ones.
+ */
+class TaskDateIndex {
+
+    private final NavigableSet<DateKey> datedTasks = new TreeSet<>();
+    private final Set<Long> undatedTasks = new LinkedHashSet<>();
+
+    /**
+     * Adds a task to the index.
+     *
+     * @param task The task to add.
+     */
+    void add(Task task) {
+        add(task.getId(), task.getRelevantDate());
+    }
+
+    /**
+     * Adds a task to the index by its id and relevant date.
+     *
+     * @param id   The task id.
+     * @param date The relevant date of the task, or {@code null} if it has none.
+     */
+    void add(long id, LocalDateTime date) {
+        if (date == null) {
+            undatedTasks.add(id);
+        } else {
+            datedTasks.add(new DateKey(date, id));
+        }
+    }
+
+    /**
+     * Removes a task from the index.
+     *
+     * @param task The task to remove.
+     */
+    void remove(Task task) {
+        LocalDateTime date = task.getRelevantDate();
+        if (date == null) {
+            undatedTasks.remove(task.getId());
+        } else {
+            datedTasks.remove(new DateKey(date, task.getId()));
+        }
+    }
+
+    /**
+     * Returns the ids of every indexed task, with dated tasks in date order followed by undated tasks.
+     *
+     * @return The ordered task ids.
+     */
+    long[] idsInDateOrder() {
+        long[] ids = new long[datedTasks.size() + undatedTasks.size()];
+        int count = 0;
+        for (DateKey key : datedTasks) {
+            ids[count++] = key.id;
+        }
+        for (long id : undatedTasks) {
+            ids[count++] = id;
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the ids of the earliest dated tasks on or after the given time, in date order.
+     *
+     * @param from  The earliest date to include.
+     * @param limit The maximum number of ids to return.
+     * @return The ordered task ids.
+     */
+    long[] idsFrom(LocalDateTime from, int limit) {
+        assert limit >= 0 : "Limit cannot be negative";
+        long[] ids = new long[Math.min(limit, datedTasks.size())];
+        int count = 0;
+        for (DateKey key : datedTasks.tailSet(new DateKey(from, Long.MIN_VALUE), true)) {
+            if (count == ids.length) {
+                break;
+            }
+            ids[count++] = key.id;
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * Represents the position of a dated task in the index. Tasks with the same date are ordered by id.
+     */
+    private static class DateKey implements Comparable<DateKey> {
+        private final LocalDateTime date;
+        private final long id;
+
+        private DateKey(LocalDateTime date, long id) {
+            this.date = date;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(DateKey other) {
+            int dateOrder = date.compareTo(other.date);
+            return dateOrder != 0 ? dateOrder : Long.compare(id, other.id);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof DateKey)) {
+                return false;
+            }
+            DateKey key = (DateKey) other;
+            return id == key.id && date.equals(key.date);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(id);
+        }
+    }
+}
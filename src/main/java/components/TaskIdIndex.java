@@ -0,0 +1,160 @@
+package components;
+
+import java.util.Arrays;
+
+/**
+ * Maps task ids to their positions in a task list.
+ * Keys and values are kept in primitive arrays with open addressing, so lookups never box ids
+ * and the index allocates nothing per task.
+ */
+class TaskIdIndex {
+
+    private static final long EMPTY = 0;
+    private static final int MISSING = -1;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int[] positions = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Returns the position of the task with the given id.
+     *
+     * @param id The task id.
+     * @return The position of the task, or {@code -1} if no task has the id.
+     */
+    int get(long id) {
+        assert id != EMPTY : "Task id cannot be zero";
+        int mask = keys.length - 1;
+        for (int slot = slotOf(id, mask); keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (keys[slot] == id) {
+                return positions[slot];
+            }
+        }
+        return MISSING;
+    }
+
+    /**
+     * Returns whether a task with the given id is indexed.
+     *
+     * @param id The task id.
+     * @return {@code true} if the id is indexed, {@code false} otherwise.
+     */
+    boolean contains(long id) {
+        return get(id) != MISSING;
+    }
+
+    /**
+     * Records the position of the task with the given id, replacing any previous position.
+     *
+     * @param id       The task id.
+     * @param position The position of the task.
+     */
+    void put(long id, int position) {
+        assert id != EMPTY : "Task id cannot be zero";
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+
+        int mask = keys.length - 1;
+        int slot = slotOf(id, mask);
+        while (keys[slot] != EMPTY && keys[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        if (keys[slot] == EMPTY) {
+            keys[slot] = id;
+            size++;
+        }
+        positions[slot] = position;
+    }
+
+    /**
+     * Removes the task with the given id from the index, if present.
+     *
+     * @param id The task id.
+     */
+    void remove(long id) {
+        assert id != EMPTY : "Task id cannot be zero";
+        int mask = keys.length - 1;
+        int slot = slotOf(id, mask);
+        while (keys[slot] != id) {
+            if (keys[slot] == EMPTY) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // Shifts later entries of the probe sequence back, so that lookups never stop at a hole
+        int hole = slot;
+        for (int next = (hole + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slotOf(keys[next], mask);
+            boolean canMove = hole <= next ? home <= hole || home > next : home <= hole && home > next;
+            if (canMove) {
+                keys[hole] = keys[next];
+                positions[hole] = positions[next];
+                hole = next;
+            }
+        }
+        keys[hole] = EMPTY;
+        size--;
+    }
+
+    /**
+     * Removes every id from the index.
+     */
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    /**
+     * Returns the number of indexed ids.
+     *
+     * @return The number of ids.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Gives tasks without an id, or whose id is already taken by an earlier task, new ids after the largest id.
+     *
+     * @param ids  The ids of the tasks in list order, updated in place.
+     * @param size The number of tasks.
+     * @return The number of ids assigned.
+     */
+    static int assignMissingIds(long[] ids, int size) {
+        long nextId = 1;
+        for (int i = 0; i < size; i++) {
+            nextId = Math.max(nextId, ids[i] + 1);
+        }
+        int assignedCount = 0;
+        TaskIdIndex seenIds = new TaskIdIndex();
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == EMPTY || seenIds.contains(ids[i])) {
+                ids[i] = nextId++;
+                assignedCount++;
+            }
+            seenIds.put(ids[i], i);
+        }
+        return assignedCount;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldPositions = positions;
+        keys = new long[capacity];
+        positions = new int[capacity];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                put(oldKeys[i], oldPositions[i]);
+            }
+        }
+    }
+
+    private static int slotOf(long id, int mask) {
+        return (int) ((id * HASH_MULTIPLIER) >>> 32) & mask;
+    }
+}
@@ -0,0 +1,239 @@
+package components;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import exceptions.InvalidDataException;
+import exceptions.NiniException;
+import tasks.Task;
+
+/**
+ * Represents an append-only log of task mutations.
+ * Each line in the journal records a single change (add, mark, unmark, delete or sort)
+ * that has been applied to the task list since the last snapshot was written.
+ * Replaying the journal on top of the snapshot restores the latest task list.
+ * Changes to existing tasks refer to them by id.
+ * Entries are checksummed, so an entry torn by a crash mid-append is skipped on replay.
+ * Appends are performed by a {@code StorageWriter}, in the order they are made.
+ */
+public class TaskJournal {
+
+    private static final String ADD = "A";
+    private static final String MARK = "MI";
+    private static final String UNMARK = "UI";
+    private static final String DELETE = "DI";
+    private static final String SORT = "S";
+    private static final String SEPARATOR = "|";
+
+    private final RecordFile file;
+    private final StorageWriter writer;
+    private final AtomicInteger entryCount = new AtomicInteger();
+
+    /**
+     * Constructs a {@code TaskJournal} backed by the given file.
+     *
+     * @param fileName The path to the journal file.
+     * @param writer   The writer that performs appends to the journal.
+     */
+    public TaskJournal(String fileName, StorageWriter writer) {
+        assert fileName != null && !fileName.isBlank() : "Journal file name cannot be null or empty";
+        assert writer != null : "Writer cannot be null";
+        this.file = new RecordFile(fileName);
+        this.writer = writer;
+    }
+
+    /**
+     * Returns the number of entries written to the journal since it was last cleared.
+     *
+     * @return The number of journal entries.
+     */
+    public int size() {
+        return entryCount.get();
+    }
+
+    /**
+     * Creates a journal entry recording that a task was added.
+     *
+     * @param task The task that was added.
+     * @return The journal entry.
+     */
+    public static String addEntry(Task task) {
+        assert task != null : "Task cannot be null";
+        return ADD + SEPARATOR + task.serialize();
+    }
+
+    /**
+     * Creates a journal entry recording that the task with the given id was marked as done.
+     *
+     * @param id The id of the task.
+     * @return The journal entry.
+     */
+    public static String markEntry(long id) {
+        return MARK + SEPARATOR + id;
+    }
+
+    /**
+     * Creates a journal entry recording that the task with the given id was unmarked.
+     *
+     * @param id The id of the task.
+     * @return The journal entry.
+     */
+    public static String unmarkEntry(long id) {
+        return UNMARK + SEPARATOR + id;
+    }
+
+    /**
+     * Creates a journal entry recording that the task with the given id was removed.
+     *
+     * @param id The id of the task.
+     * @return The journal entry.
+     */
+    public static String deleteEntry(long id) {
+        return DELETE + SEPARATOR + id;
+    }
+
+    /**
+     * Creates a journal entry recording that the task list was sorted by date.
+     *
+     * @return The journal entry.
+     */
+    public static String sortEntry() {
+        return SORT + SEPARATOR;
+    }
+
+    /**
+     * Queues the given entries to be appended to the end of the journal file.
+     *
+     * @param entries The journal entries to append.
+     * @return A future that completes once the entries have been written.
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    public CompletableFuture<Void> append(List<String> entries) throws IOException {
+        assert entries != null : "Journal entries cannot be null";
+        entryCount.addAndGet(entries.size());
+        return writer.append(file, entries);
+    }
+
+    /**
+     * Replays the entries in the journal on top of the given task list, in the order they were written.
+     * If records were skipped while reading a snapshot that also had records without an id, the ids assigned
+     * by position have moved to other tasks, so entries that refer to tasks by id may no longer find the task
+     * they were written for.
+     * Replay then stops at the first such entry, as it and every entry after it would change the wrong tasks.
+     * Entries that refer by id to one of the skipped records are left out on their own, as there is no task
+     * for them to change.
+     *
+     * @param taskList             The task list restored from the last snapshot.
+     * @param snapshotSkippedCount The number of records skipped while reading the snapshot.
+     * @param assignedIdCount      The number of snapshot tasks that were given an id when it was read.
+     * @return The number of entries left out.
+     * @throws IOException   If an error occurs while reading the journal file.
+     * @throws NiniException If an entry is malformed or cannot be applied.
+     */
+    public int replay(TaskList taskList, int snapshotSkippedCount, int assignedIdCount)
+            throws IOException, NiniException {
+        assert taskList != null : "Task list cannot be null";
+        List<String> entries = file.read();
+        int appliedCount = 0;
+        int skippedTaskEntryCount = 0;
+        for (String entry : entries) {
+            if (snapshotSkippedCount > 0 && assignedIdCount > 0 && refersToTaskById(entry)) {
+                break;
+            }
+            if (snapshotSkippedCount > 0 && refersToMissingTask(taskList, entry)) {
+                skippedTaskEntryCount++;
+                continue;
+            }
+            apply(taskList, entry);
+            appliedCount++;
+        }
+        entryCount.set(entries.size());
+
+        if (file.getSkippedCount() > 0) {
+            System.err.println("Skipped " + file.getSkippedCount() + " corrupted task journal entries.");
+        }
+        if (skippedTaskEntryCount > 0) {
+            System.err.println("Skipped " + skippedTaskEntryCount + " task journal entries, as they refer to"
+                    + " corrupted task records that were skipped.");
+        }
+        int droppedCount = entries.size() - appliedCount;
+        if (droppedCount > skippedTaskEntryCount) {
+            System.err.println("Skipped the last " + (droppedCount - skippedTaskEntryCount)
+                    + " task journal entries, as they refer to tasks"
+                    + " whose ids moved when corrupted task records were skipped.");
+        }
+        return droppedCount;
+    }
+
+    /**
+     * Deletes the journal file, typically after its entries have been folded into a new snapshot.
+     * This must run on the writer thread, so that it is ordered with the appends queued before it.
+     *
+     * @throws IOException If the journal file exists but cannot be deleted.
+     */
+    public void clear() throws IOException {
+        assert writer.isWriterThread() : "Journal must be cleared on the writer thread";
+        file.delete();
+        entryCount.set(0);
+    }
+
+    /**
+     * Returns whether the entry changes an existing task, which it refers to by id.
+     */
+    private static boolean refersToTaskById(String entry) {
+        String type = entry.substring(0, Math.max(entry.indexOf(SEPARATOR), 0));
+        return type.equals(MARK) || type.equals(UNMARK) || type.equals(DELETE);
+    }
+
+    /**
+     * Returns whether the entry changes a task by an id that no task in the list has.
+     */
+    private static boolean refersToMissingTask(TaskList taskList, String entry) {
+        if (!refersToTaskById(entry)) {
+            return false;
+        }
+        try {
+            return taskList.indexOf(Long.parseLong(entry.substring(entry.indexOf(SEPARATOR) + 1))) < 0;
+        } catch (NumberFormatException e) {
+            // Malformed entries are reported when they are applied
+            return false;
+        }
+    }
+
+    private void apply(TaskList taskList, String entry) throws NiniException {
+        int separatorIndex = entry.indexOf(SEPARATOR);
+        if (separatorIndex < 0) {
+            throw new InvalidDataException("Malformed journal entry.");
+        }
+
+        String type = entry.substring(0, separatorIndex);
+        String payload = entry.substring(separatorIndex + 1);
+
+        try {
+            switch (type) {
+            case ADD:
+                taskList.addTask(Task.deserialize(payload));
+                break;
+            case MARK:
+                taskList.markTaskById(Long.parseLong(payload));
+                break;
+            case UNMARK:
+                taskList.unmarkTaskById(Long.parseLong(payload));
+                break;
+            case DELETE:
+                taskList.removeTasksById(Long.parseLong(payload));
+                break;
+            case SORT:
+                taskList.sortTasks();
+                break;
+            default:
+                throw new InvalidDataException("Unknown journal entry type.");
+            }
+        } catch (NumberFormatException | IndexOutOfBoundsException | NoSuchElementException e) {
+            throw new InvalidDataException("Journal entry refers to an invalid task.");
+        }
+    }
+}
@@ -2,20 +2,107 @@ package components;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
 import exceptions.NiniException;
+import tasks.EventTask;
 import tasks.Task;
 
 /**
  * Manages a list of tasks, providing methods to add, remove, mark, unmark,
  * retrieve, and sort tasks based on deadlines or event start times.
+ * Every task is given a stable id when it is added, and tasks can be looked up by id
+ * through a hash index that is kept in sync with their positions.
+ * Searches are answered from inverted indices over the task descriptions, date order from
+ * an index of the task dates, and overlapping events from an interval tree over event times.
+ * Each index is built the first time it is needed and then kept up to date as tasks are added and removed.
+ * A task list is safe to use from several threads. Changes take a write lock, while reads share a read
+ * lock and run in parallel. {@code getTasks} returns an immutable snapshot that is reused until the list
+ * changes, and a new snapshot shares every unchanged part of the previous one.
+ * Scans over every task, such as building an index, stop with a {@code CancellationException} once the
+ * thread running them is interrupted, leaving the list as it was.
  */
 public class TaskList {
 
+    /**
+     * Represents a backing list that knows the id of each task without deserializing it,
+     * and can remove many tasks at once.
+     * Ids reported by a backend are expected to be positive and unique.
+     */
+    public interface Backend {
+        /**
+         * Returns the id of the task at the given index.
+         *
+         * @param index The index of the task.
+         * @return The task id.
+         */
+        long getId(int index);
+
+        /**
+         * Removes the tasks at the given indices in a single pass.
+         *
+         * @param indices The indices of the tasks to remove.
+         */
+        void removeAll(BitSet indices);
+
+        /**
+         * Passes the fields the task list indexes of every task to the visitor, in list order,
+         * reading them from how the tasks are stored rather than building a task for each.
+         *
+         * @param visitor The visitor to pass the fields to.
+         */
+        void forEachIndexedFields(IndexedFieldsVisitor visitor);
+
+        /**
+         * Returns an immutable view of the tasks in the given range, which later changes to the backend
+         * do not affect.
+         *
+         * @param fromIndex The index of the first task in the range.
+         * @param toIndex   One past the index of the last task in the range.
+         * @return The tasks in the range, in list order.
+         */
+        List<Task> snapshotOf(int fromIndex, int toIndex);
+    }
+
+    /**
+     * Represents a receiver of the fields a task list indexes, given one task at a time.
+     */
+    @FunctionalInterface
+    public interface IndexedFieldsVisitor {
+        /**
+         * Receives the indexed fields of a task.
+         *
+         * @param id          The task id.
+         * @param description The task description.
+         * @param date        The deadline or start time of the task, or {@code null} if it has none.
+         * @param end         The end time of the task if it is an event, or {@code null} otherwise.
+         */
+        void visit(long id, String description, LocalDateTime date, LocalDateTime end);
+    }
+
     private static final String ERROR_INVALID_INDEX = "Error: Invalid task index.";
+    private static final String ERROR_INVALID_ID = "Error: No task has this id.";
     private final List<Task> tasks;
+    private final TaskIdIndex idIndex = new TaskIdIndex();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock readLock = lock.readLock();
+    private final Lock writeLock = lock.writeLock();
+    // Guards the lazily built indices and the snapshot, which readers may build while holding the read lock
+    private final Object lazyStateLock = new Object();
+    private final BitSet staleChunks = new BitSet();
+    private long nextId = 1;
+    private TaskSnapshot snapshot = TaskSnapshot.EMPTY;
+    private volatile TaskSearchIndex wordIndex;
+    private volatile TaskSearchIndex ngramIndex;
+    private volatile TaskDateIndex dateIndex;
+    private volatile EventIntervalTree eventIndex;
 
     /**
      * Constructs an empty {@code TaskList}.
@@ -26,21 +113,72 @@ public class TaskList {
 
     /**
      * Constructs a {@code TaskList} with an existing list of tasks.
+     * Tasks without an id, or whose id is already taken, are given new ids.
      *
      * @param tasks The list of tasks to initialize the task list with.
      */
     public TaskList(List<Task> tasks) {
         assert tasks != null : "Tasks list cannot be null";
         this.tasks = new ArrayList<>(tasks);
+        indexTasks();
+    }
+
+    /**
+     * Creates a {@code TaskList} that operates directly on the given list instead of copying it.
+     * This allows alternative list implementations, such as a lazily loaded one, to back the task list.
+     *
+     * @param tasks The list of tasks to operate on.
+     * @return A task list backed by the given list.
+     */
+    public static TaskList backedBy(List<Task> tasks) {
+        assert tasks != null : "Tasks list cannot be null";
+        return new TaskList(tasks, true);
+    }
+
+    private TaskList(List<Task> tasks, boolean isBacked) {
+        assert isBacked : "Backing list must be used directly";
+        this.tasks = tasks;
+        indexTasks();
+    }
+
+    /**
+     * Indexes the ids of the initial tasks, assigning new ids after the largest existing one where needed.
+     */
+    private void indexTasks() {
+        for (int i = 0; i < tasks.size(); i++) {
+            nextId = Math.max(nextId, idAt(i) + 1);
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            long id = idAt(i);
+            if (id == 0 || idIndex.contains(id)) {
+                assert !(tasks instanceof Backend) : "Backend ids must be positive and unique";
+                id = nextId++;
+                tasks.get(i).setId(id);
+            }
+            idIndex.put(id, i);
+        }
+        TaskSnapshot.markStale(staleChunks, 0, tasks.size());
     }
 
     /**
-     * Returns the list of tasks.
+     * Returns an immutable snapshot of the tasks.
+     * The same snapshot is returned until the list changes, and later changes to the list do not affect it.
      *
-     * @return The {@code ArrayList} containing all tasks.
+     * @return The tasks, in list order.
      */
     public List<Task> getTasks() {
-        return new ArrayList<>(tasks);
+        readLock.lock();
+        try {
+            synchronized (lazyStateLock) {
+                if (!staleChunks.isEmpty() || snapshot.size() != tasks.size()) {
+                    snapshot = TaskSnapshot.of(tasks, snapshot, staleChunks);
+                    staleChunks.clear();
+                }
+                return snapshot;
+            }
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**
@@ -50,7 +188,22 @@ public class TaskList {
      */
     public void addTask(Task task) {
         assert task != null : "Task to add cannot be null";
-        tasks.add(task);
+        writeLock.lock();
+        try {
+            long id = task.getId();
+            if (id == 0 || idIndex.contains(id)) {
+                id = nextId++;
+                task.setId(id);
+            } else {
+                nextId = Math.max(nextId, id + 1);
+            }
+            tasks.add(task);
+            idIndex.put(id, tasks.size() - 1);
+            updateIndicesOnAdd(task);
+            TaskSnapshot.markStale(staleChunks, tasks.size() - 1, tasks.size());
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
@@ -59,18 +212,89 @@ public class TaskList {
      * @return The total number of tasks.
      */
     public int size() {
-        return tasks.size();
+        readLock.lock();
+        try {
+            return tasks.size();
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**
      * Removes a task from the task list at the specified index.
+     * This takes time proportional to the number of tasks after the index, as each of them moves
+     * and has its position in the id index updated.
      *
      * @param index The index of the task to be removed.
      * @return The removed task.
      */
     public Task removeTask(int index) {
-        validateIndex(index);
-        return tasks.remove(index);
+        writeLock.lock();
+        try {
+            validateIndex(index);
+            TaskSnapshot.markStale(staleChunks, index, tasks.size());
+            Task removed = tasks.remove(index);
+            idIndex.remove(removed.getId());
+            updateIndicesOnRemove(removed);
+            reindexFrom(index);
+            return removed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the tasks with the given ids in a single pass over the task list.
+     * Every task after the first removed one moves, so this takes time proportional to the number of tasks
+     * after it, however few are removed. The positions of the moved tasks are rewritten in the id index once
+     * per call rather than once per removed task, so several tasks should be removed in a single call.
+     *
+     * @param ids The ids of the tasks to be removed.
+     * @return The removed tasks, in the order they appeared in the task list.
+     * @throws NoSuchElementException If no task has one of the given ids.
+     */
+    public List<Task> removeTasksById(long... ids) {
+        writeLock.lock();
+        try {
+            return removeTasksWithIds(ids);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private List<Task> removeTasksWithIds(long... ids) {
+        BitSet removedIndices = new BitSet(tasks.size());
+        for (long id : ids) {
+            removedIndices.set(indexOfExisting(id));
+        }
+
+        List<Task> removedTasks = new ArrayList<>(removedIndices.cardinality());
+        for (int i = removedIndices.nextSetBit(0); i >= 0; i = removedIndices.nextSetBit(i + 1)) {
+            Task removed = tasks.get(i);
+            removedTasks.add(removed);
+            idIndex.remove(idAt(i));
+            updateIndicesOnRemove(removed);
+        }
+        if (removedTasks.isEmpty()) {
+            return removedTasks;
+        }
+
+        int firstRemoved = removedIndices.nextSetBit(0);
+        TaskSnapshot.markStale(staleChunks, firstRemoved, tasks.size());
+        if (tasks instanceof Backend) {
+            ((Backend) tasks).removeAll(removedIndices);
+        } else {
+            int size = tasks.size();
+            int writeIndex = firstRemoved;
+            for (int readIndex = firstRemoved; readIndex < size; readIndex++) {
+                if (!removedIndices.get(readIndex)) {
+                    tasks.set(writeIndex++, tasks.get(readIndex));
+                }
+            }
+            tasks.subList(writeIndex, size).clear();
+        }
+        reindexFrom(firstRemoved);
+        return removedTasks;
     }
 
     /**
@@ -80,8 +304,87 @@ public class TaskList {
      * @return The task at the given index.
      */
     public Task getTask(int index) {
-        validateIndex(index);
-        return tasks.get(index);
+        readLock.lock();
+        try {
+            validateIndex(index);
+            return tasks.get(index);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Copies out up to {@code limit} tasks starting at the given index.
+     * Only the tasks on the page are read, so no snapshot of the whole list is taken.
+     *
+     * @param start The index of the first task on the page.
+     * @param limit The maximum number of tasks on the page.
+     * @return The page, which is empty if {@code start} is past the end of the list.
+     */
+    public TaskPage getPage(int start, int limit) {
+        readLock.lock();
+        try {
+            return copyPage(start, limit);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Copies out up to {@code limit} tasks starting right after the task with the given id.
+     * The task is looked up and the page copied under the same read lock, so the page cannot shift in between.
+     *
+     * @param afterId The id of the task just before the page.
+     * @param limit   The maximum number of tasks on the page.
+     * @return The page, or {@code null} if no task has the given id.
+     */
+    public TaskPage getPageAfter(long afterId, int limit) {
+        readLock.lock();
+        try {
+            int index = afterId <= 0 ? -1 : idIndex.get(afterId);
+            return index < 0 ? null : copyPage(index + 1, limit);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private TaskPage copyPage(int start, int limit) {
+        assert start >= 0 && limit > 0 : "Page must start at a valid index and have a positive limit";
+        int size = tasks.size();
+        int from = Math.min(start, size);
+        int to = (int) Math.min(size, (long) from + limit);
+        return new TaskPage(new ArrayList<>(tasks.subList(from, to)), from, size);
+    }
+
+    /**
+     * Retrieves the task with the given id.
+     *
+     * @param id The id of the task to retrieve.
+     * @return The task with the given id.
+     * @throws NoSuchElementException If no task has the given id.
+     */
+    public Task getTaskById(long id) {
+        readLock.lock();
+        try {
+            return tasks.get(indexOfExisting(id));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the current index of the task with the given id.
+     *
+     * @param id The id of the task.
+     * @return The zero-based index of the task, or {@code -1} if no task has the given id.
+     */
+    public int indexOf(long id) {
+        readLock.lock();
+        try {
+            return id <= 0 ? -1 : idIndex.get(id);
+        } finally {
+            readLock.unlock();
+        }
     }
 
     /**
@@ -90,8 +393,15 @@ public class TaskList {
      * @param index The index of the task to mark as done.
      */
     public void markTask(int index) throws NiniException {
-        validateIndex(index);
-        tasks.get(index).markAsDone();
+        writeLock.lock();
+        try {
+            validateIndex(index);
+            Task task = tasks.get(index);
+            task.markAsDone();
+            replaceTask(index, task);
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
@@ -100,10 +410,74 @@ public class TaskList {
      * @param index The index of the task to unmark.
      */
     public void unmarkTask(int index) throws NiniException {
-        validateIndex(index);
-        tasks.get(index).unmark();
+        writeLock.lock();
+        try {
+            validateIndex(index);
+            Task task = tasks.get(index);
+            task.unmark();
+            replaceTask(index, task);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void replaceTask(int index, Task task) {
+        tasks.set(index, task); // Lets the backing list keep track of the modified task
+        TaskSnapshot.markStale(staleChunks, index, index + 1);
+    }
+
+    /**
+     * Marks the task with the given id as done.
+     *
+     * @param id The id of the task to mark as done.
+     * @throws NoSuchElementException If no task has the given id.
+     */
+    public void markTaskById(long id) throws NiniException {
+        writeLock.lock();
+        try {
+            markTask(indexOfExisting(id));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Unmarks the task with the given id, setting it as not done.
+     *
+     * @param id The id of the task to unmark.
+     * @throws NoSuchElementException If no task has the given id.
+     */
+    public void unmarkTaskById(long id) throws NiniException {
+        writeLock.lock();
+        try {
+            unmarkTask(indexOfExisting(id));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private int indexOfExisting(long id) {
+        int index = indexOf(id);
+        if (index < 0) {
+            throw new NoSuchElementException(ERROR_INVALID_ID);
+        }
+        return index;
     }
 
+    private long idAt(int index) {
+        return tasks instanceof Backend ? ((Backend) tasks).getId(index) : tasks.get(index).getId();
+    }
+
+    /**
+     * Updates the indexed positions of every task from the given index onwards, after tasks have moved.
+     *
+     * @param start The index of the first task that may have moved.
+     */
+    private void reindexFrom(int start) {
+        for (int i = start; i < tasks.size(); i++) {
+            idIndex.put(idAt(i), i);
+        }
+    }
 
     /**
      * Checks if the provided index is within the valid range of the task list.
@@ -122,34 +496,163 @@ public class TaskList {
      * <ul>
      *     <li>{@code DeadlineTask} objects are sorted by their deadline.</li>
      *     <li>{@code EventTask} objects are sorted by their start time.</li>
-     *     <li>Other tasks remain in their original order.</li>
+     *     <li>Tasks with the same date are ordered by id, that is by when they were added.</li>
      * </ul>
-     * Tasks without dates (e.g., {@code ToDoTask}) are placed at the end.
+     * Tasks without dates (e.g., {@code ToDoTask}) are placed at the end, in their original order.
+     * The order is read from the date index, so sorting only rearranges the list.
      */
     public void sortTasks() {
-        tasks.sort((task1, task2) -> {
-            LocalDateTime date1 = task1.getRelevantDate();
-            LocalDateTime date2 = task2.getRelevantDate();
+        writeLock.lock();
+        try {
+            List<Task> sortedTasks = tasksWithIdsInOrder(dateIndex().idsInDateOrder());
+            for (int i = 0; i < sortedTasks.size(); i++) {
+                if (idAt(i) != sortedTasks.get(i).getId()) {
+                    tasks.set(i, sortedTasks.get(i));
+                    TaskSnapshot.markStale(staleChunks, i, i + 1);
+                }
+            }
+            reindexFrom(0);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the tasks in date order, as {@code sortTasks} would arrange them, without changing the task list.
+     *
+     * @return The tasks in date order.
+     */
+    public List<Task> getTasksByDate() {
+        readLock.lock();
+        try {
+            return tasksWithIdsInOrder(dateIndex().idsInDateOrder());
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the earliest dated tasks whose deadline or start time is on or after the given time.
+     * Only the returned tasks are visited, so this is cheap even for large task lists.
+     *
+     * @param from  The earliest date to include.
+     * @param count The maximum number of tasks to return.
+     * @return Up to {@code count} tasks in date order.
+     */
+    public List<Task> getUpcomingTasks(LocalDateTime from, int count) {
+        assert from != null : "Start date cannot be null";
+        assert count >= 0 : "Count cannot be negative";
+        readLock.lock();
+        try {
+            return tasksWithIdsInOrder(dateIndex().idsFrom(from, count));
+        } finally {
+            readLock.unlock();
+        }
+    }
 
-            if (date1 == null && date2 == null) {
-                return 0;
+    /**
+     * Returns the events that overlap the given period, ordered by start time.
+     * Events that end exactly when the period starts, or start exactly when it ends, do not overlap it.
+     *
+     * @param from The start of the period.
+     * @param to   The end of the period.
+     * @return The overlapping events.
+     */
+    public List<EventTask> getOverlappingEvents(LocalDateTime from, LocalDateTime to) {
+        assert from != null && to != null : "Period cannot be null";
+        readLock.lock();
+        try {
+            long[] ids = eventIndex().overlapping(from, to);
+            List<EventTask> events = new ArrayList<>(ids.length);
+            for (long id : ids) {
+                events.add((EventTask) tasks.get(idIndex.get(id)));
             }
-            if (date1 == null) {
-                return 1;
+            return events;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private EventIntervalTree eventIndex() {
+        EventIntervalTree index = eventIndex;
+        if (index != null) {
+            return index;
+        }
+        synchronized (lazyStateLock) {
+            if (eventIndex == null) {
+                EventIntervalTree builtIndex = new EventIntervalTree();
+                forEachIndexedFields((id, description, date, end) -> {
+                    if (end != null) {
+                        builtIndex.add(id, date, end);
+                    }
+                });
+                eventIndex = builtIndex;
             }
-            if (date2 == null) {
-                return -1;
+            return eventIndex;
+        }
+    }
+
+    private TaskDateIndex dateIndex() {
+        TaskDateIndex index = dateIndex;
+        if (index != null) {
+            return index;
+        }
+        synchronized (lazyStateLock) {
+            if (dateIndex == null) {
+                TaskDateIndex builtIndex = new TaskDateIndex();
+                forEachIndexedFields((id, description, date, end) -> builtIndex.add(id, date));
+                dateIndex = builtIndex;
             }
-            return date1.compareTo(date2);
-        });
+            return dateIndex;
+        }
+    }
+
+    /**
+     * Passes the indexed fields of every task to the visitor, without building the tasks of a backend.
+     * An index being built is only stored once every task has been visited, so stopping early leaves none behind.
+     */
+    private void forEachIndexedFields(IndexedFieldsVisitor visitor) {
+        if (tasks instanceof Backend) {
+            ((Backend) tasks).forEachIndexedFields((id, description, date, end) -> {
+                stopIfInterrupted();
+                visitor.visit(id, description, date, end);
+            });
+            return;
+        }
+        for (Task task : tasks) {
+            stopIfInterrupted();
+            LocalDateTime end = task instanceof EventTask ? ((EventTask) task).getEndDateTime() : null;
+            visitor.visit(task.getId(), task.getDescription(), task.getRelevantDate(), end);
+        }
+    }
+
+    /**
+     * Stops a scan over the tasks once the thread running it has been interrupted, such as when the command
+     * that started it is cancelled. The interrupt status is left set.
+     *
+     * @throws CancellationException If the current thread has been interrupted.
+     */
+    private static void stopIfInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("The task scan was interrupted.");
+        }
+    }
+
+    private List<Task> tasksWithIdsInOrder(long[] ids) {
+        List<Task> orderedTasks = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            orderedTasks.add(tasks.get(idIndex.get(id)));
+        }
+        return orderedTasks;
     }
 
     /**
      * Finds and returns a list of tasks whose descriptions contain the specified keyword.
-     * The search is case-insensitive.
+     * The search is case-insensitive. Candidates are found by intersecting the n-gram posting lists
+     * of the keyword, and only those candidates are checked against the keyword itself.
      *
      * @param keyword The keyword to search for in task descriptions.
-     * @return A list of tasks whose descriptions contain the specified keyword.
+     * @return A list of tasks whose descriptions contain the specified keyword, in list order.
      */
     public List<Task> findTasks(String keyword) {
         assert !keyword.isBlank() : "Search keyword cannot be null or empty";
@@ -157,8 +660,112 @@ public class TaskList {
         if (keyword.isBlank()) {
             throw new IllegalArgumentException("Search keyword cannot be null or empty");
         }
-        return this.tasks.stream()
-                .filter(task -> task.getDescription().toLowerCase().contains(keyword.toLowerCase()))
-                .collect(Collectors.toList());
+        String foldedKeyword = TaskSearchIndex.fold(keyword);
+        readLock.lock();
+        try {
+            if (foldedKeyword.length() < TaskSearchIndex.NGRAM_LENGTH) {
+                return this.tasks.stream()
+                        .filter(task -> {
+                            stopIfInterrupted();
+                            return TaskSearchIndex.fold(task.getDescription()).contains(foldedKeyword);
+                        })
+                        .collect(Collectors.toList());
+            }
+
+            List<Task> candidates = tasksWithIds(searchIndex(TaskSearchIndex.Mode.NGRAMS).search(keyword));
+            candidates.removeIf(task -> !TaskSearchIndex.fold(task.getDescription()).contains(foldedKeyword));
+            return candidates;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Finds and returns a list of tasks whose descriptions contain every word of the query as a whole word.
+     * The search is case-insensitive and is answered entirely from the word index.
+     *
+     * @param query The words to search for in task descriptions.
+     * @return A list of tasks whose descriptions contain every word of the query, in list order.
+     */
+    public List<Task> findTasksByWords(String query) {
+        assert query != null : "Search query cannot be null";
+        readLock.lock();
+        try {
+            TaskSearchIndex searchIndex = searchIndex(TaskSearchIndex.Mode.WORDS);
+            if (!searchIndex.canSearch(query)) {
+                throw new IllegalArgumentException("Search query must contain at least one word");
+            }
+            return tasksWithIds(searchIndex.search(query));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private TaskSearchIndex searchIndex(TaskSearchIndex.Mode mode) {
+        TaskSearchIndex index = mode == TaskSearchIndex.Mode.WORDS ? wordIndex : ngramIndex;
+        if (index != null) {
+            return index;
+        }
+        synchronized (lazyStateLock) {
+            index = mode == TaskSearchIndex.Mode.WORDS ? wordIndex : ngramIndex;
+            if (index == null) {
+                TaskSearchIndex builtIndex = new TaskSearchIndex(mode);
+                forEachIndexedFields((id, description, date, end) -> builtIndex.add(id, description));
+                index = builtIndex;
+                if (mode == TaskSearchIndex.Mode.WORDS) {
+                    wordIndex = index;
+                } else {
+                    ngramIndex = index;
+                }
+            }
+            return index;
+        }
+    }
+
+    private void updateIndicesOnAdd(Task task) {
+        if (wordIndex != null) {
+            wordIndex.add(task.getId(), task.getDescription());
+        }
+        if (ngramIndex != null) {
+            ngramIndex.add(task.getId(), task.getDescription());
+        }
+        if (dateIndex != null) {
+            dateIndex.add(task);
+        }
+        if (eventIndex != null && task instanceof EventTask) {
+            eventIndex.add((EventTask) task);
+        }
+    }
+
+    private void updateIndicesOnRemove(Task task) {
+        if (wordIndex != null) {
+            wordIndex.remove(task.getId(), task.getDescription());
+        }
+        if (ngramIndex != null) {
+            ngramIndex.remove(task.getId(), task.getDescription());
+        }
+        if (dateIndex != null) {
+            dateIndex.remove(task);
+        }
+        if (eventIndex != null && task instanceof EventTask) {
+            eventIndex.remove((EventTask) task);
+        }
+    }
+
+    /**
+     * Returns the tasks with the given ids, in the order they appear in the task list.
+     */
+    private List<Task> tasksWithIds(long[] ids) {
+        int[] indices = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            indices[i] = idIndex.get(ids[i]);
+        }
+        Arrays.sort(indices);
+
+        List<Task> matchingTasks = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            matchingTasks.add(tasks.get(index));
+        }
+        return matchingTasks;
     }
 }
@@ -0,0 +1,60 @@
+package components;
+
+import java.util.List;
+
+import tasks.Task;
+
+/**
+ * Represents a run of consecutive tasks copied out of a task list, together with where it starts
+ * in the list and how long the list was when it was copied.
+ */
+public class TaskPage {
+
+    private final List<Task> tasks;
+    private final int start;
+    private final int listSize;
+
+    TaskPage(List<Task> tasks, int start, int listSize) {
+        assert tasks != null : "Tasks cannot be null";
+        assert start >= 0 && start + tasks.size() <= listSize : "Page must lie within the list";
+        this.tasks = tasks;
+        this.start = start;
+        this.listSize = listSize;
+    }
+
+    /**
+     * Returns the tasks on the page.
+     *
+     * @return The tasks, in list order.
+     */
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Returns the index in the task list of the first task on the page.
+     *
+     * @return The start index of the page.
+     */
+    public int getStart() {
+        return start;
+    }
+
+    /**
+     * Returns the index in the task list just past the last task on the page.
+     *
+     * @return The end index of the page.
+     */
+    public int getEnd() {
+        return start + tasks.size();
+    }
+
+    /**
+     * Returns the number of tasks in the whole task list when the page was copied.
+     *
+     * @return The size of the task list.
+     */
+    public int getListSize() {
+        return listSize;
+    }
+}
@@ -0,0 +1,196 @@
+package components;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents an inverted index from the terms of task descriptions to the ids of the tasks containing them.
+ * Descriptions are case-folded and split into terms, either whole words or overlapping n-grams.
+ * Each term keeps a sorted posting list of task ids, and a query is answered by intersecting
+ * the posting lists of its terms, starting from the shortest.
+ */
+class TaskSearchIndex {
+
+    /**
+     * Represents how descriptions are split into terms.
+     */
+    enum Mode {
+        /** Terms are words, that is runs of letters and digits. */
+        WORDS,
+        /** Terms are every run of {@code NGRAM_LENGTH} characters, so that any longer substring can be found. */
+        NGRAMS
+    }
+
+    static final int NGRAM_LENGTH = 3;
+
+    private final Mode mode;
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    /**
+     * Constructs an empty {@code TaskSearchIndex}.
+     *
+     * @param mode How descriptions are split into terms.
+     */
+    TaskSearchIndex(Mode mode) {
+        assert mode != null : "Mode cannot be null";
+        this.mode = mode;
+    }
+
+    /**
+     * Adds a task to the posting lists of every term in its description.
+     *
+     * @param id          The id of the task.
+     * @param description The description of the task.
+     */
+    void add(long id, String description) {
+        for (String term : termsOf(description)) {
+            postings.computeIfAbsent(term, key -> new PostingList()).add(id);
+        }
+    }
+
+    /**
+     * Removes a task from the posting lists of every term in its description.
+     *
+     * @param id          The id of the task.
+     * @param description The description of the task.
+     */
+    void remove(long id, String description) {
+        for (String term : termsOf(description)) {
+            PostingList postingList = postings.get(term);
+            if (postingList != null && postingList.remove(id) && postingList.size == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    /**
+     * Returns the ids of the tasks whose descriptions contain every term of the query.
+     * In {@code NGRAMS} mode, the ids are candidates that still need to be checked against the query,
+     * since a description may contain every n-gram of the query without containing the query itself.
+     *
+     * @param query The search query, with at least one term.
+     * @return The matching ids in ascending order.
+     */
+    long[] search(String query) {
+        Set<String> terms = termsOf(query);
+        assert !terms.isEmpty() : "Query must contain at least one term";
+
+        PostingList[] lists = new PostingList[terms.size()];
+        int count = 0;
+        for (String term : terms) {
+            PostingList postingList = postings.get(term);
+            if (postingList == null) {
+                return new long[0];
+            }
+            lists[count++] = postingList;
+        }
+        Arrays.sort(lists, (first, second) -> Integer.compare(first.size, second.size));
+
+        long[] matches = Arrays.copyOf(lists[0].ids, lists[0].size);
+        int matchCount = matches.length;
+        for (int i = 1; i < lists.length && matchCount > 0; i++) {
+            int kept = 0;
+            for (int j = 0; j < matchCount; j++) {
+                if (lists[i].contains(matches[j])) {
+                    matches[kept++] = matches[j];
+                }
+            }
+            matchCount = kept;
+        }
+        return Arrays.copyOf(matches, matchCount);
+    }
+
+    /**
+     * Returns whether the query has any terms this index can search for.
+     * In {@code NGRAMS} mode, queries shorter than {@code NGRAM_LENGTH} have none.
+     *
+     * @param query The search query.
+     * @return {@code true} if the query can be answered from the index, {@code false} otherwise.
+     */
+    boolean canSearch(String query) {
+        return !termsOf(query).isEmpty();
+    }
+
+    /**
+     * Case-folds text the same way for descriptions and queries.
+     *
+     * @param text The text to fold.
+     * @return The case-folded text.
+     */
+    static String fold(String text) {
+        return text.toLowerCase(Locale.ROOT);
+    }
+
+    private Set<String> termsOf(String text) {
+        String folded = fold(text);
+        Set<String> terms = new LinkedHashSet<>();
+        if (mode == Mode.NGRAMS) {
+            for (int i = 0; i + NGRAM_LENGTH <= folded.length(); i++) {
+                terms.add(folded.substring(i, i + NGRAM_LENGTH));
+            }
+            return terms;
+        }
+
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean isWordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                terms.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Represents the sorted ids of the tasks containing a term.
+     * Ids are mostly added in increasing order, which appends to the end of the list.
+     */
+    private static class PostingList {
+        private static final int INITIAL_CAPACITY = 4;
+
+        private long[] ids = new long[INITIAL_CAPACITY];
+        private int size;
+
+        private void add(long id) {
+            if (size > 0 && ids[size - 1] >= id) {
+                int index = Arrays.binarySearch(ids, 0, size, id);
+                if (index >= 0) {
+                    return;
+                }
+                insertAt(-index - 1, id);
+                return;
+            }
+            insertAt(size, id);
+        }
+
+        private void insertAt(int index, long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            ids[index] = id;
+            size++;
+        }
+
+        private boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        private boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package components;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import tasks.Task;
+
+/**
+ * Represents an immutable snapshot of a task list, stored in fixed-size chunks.
+ * A new snapshot shares every chunk of the previous one that has not changed since, so taking
+ * a snapshot after a few changes only copies the chunks those changes touched.
+ * For a plain list, the snapshot holds the tasks themselves, so changes made to a task, such as marking
+ * it as done, are visible through every snapshot that contains it. For a {@code TaskList.Backend}, each
+ * chunk is a view the backend takes of its stored records, so a backend that builds tasks on demand
+ * only builds those that are read from the snapshot.
+ */
+class TaskSnapshot extends AbstractList<Task> implements RandomAccess {
+
+    static final TaskSnapshot EMPTY = new TaskSnapshot(List.of(), 0);
+
+    private static final int CHUNK_SHIFT = 10;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final List<List<Task>> chunks;
+    private final int size;
+
+    private TaskSnapshot(List<List<Task>> chunks, int size) {
+        this.chunks = chunks;
+        this.size = size;
+    }
+
+    /**
+     * Takes a snapshot of the given tasks, sharing the chunks of the previous snapshot that are not stale.
+     *
+     * @param tasks       The tasks to take a snapshot of.
+     * @param previous    The previous snapshot of the same list.
+     * @param staleChunks The chunks that may have changed since the previous snapshot was taken.
+     * @return The new snapshot.
+     */
+    static TaskSnapshot of(List<Task> tasks, TaskSnapshot previous, BitSet staleChunks) {
+        int size = tasks.size();
+        int chunkCount = (size + CHUNK_MASK) >>> CHUNK_SHIFT;
+        List<List<Task>> chunks = new ArrayList<>(chunkCount);
+        for (int chunk = 0; chunk < chunkCount; chunk++) {
+            int start = chunk << CHUNK_SHIFT;
+            int end = Math.min(start + CHUNK_SIZE, size);
+            boolean canShare = !staleChunks.get(chunk) && chunk < previous.chunks.size()
+                    && previous.chunks.get(chunk).size() == end - start;
+            if (canShare) {
+                chunks.add(previous.chunks.get(chunk));
+            } else if (tasks instanceof TaskList.Backend) {
+                chunks.add(((TaskList.Backend) tasks).snapshotOf(start, end));
+            } else {
+                chunks.add(List.copyOf(tasks.subList(start, end)));
+            }
+        }
+        return new TaskSnapshot(chunks, size);
+    }
+
+    /**
+     * Marks the chunks holding the given range of indices as stale.
+     *
+     * @param staleChunks The stale chunks to update.
+     * @param fromIndex   The first index that changed.
+     * @param toIndex     One past the last index that changed.
+     */
+    static void markStale(BitSet staleChunks, int fromIndex, int toIndex) {
+        if (fromIndex < toIndex) {
+            staleChunks.set(fromIndex >>> CHUNK_SHIFT, ((toIndex - 1) >>> CHUNK_SHIFT) + 1);
+        }
+    }
+
+    @Override
+    public Task get(int index) {
+        Objects.checkIndex(index, size);
+        return chunks.get(index >>> CHUNK_SHIFT).get(index & CHUNK_MASK);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+}
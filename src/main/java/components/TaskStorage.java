@@ -1,12 +1,16 @@
 package components;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import exceptions.NiniException;
 import tasks.Task;
@@ -16,28 +20,98 @@ import tasks.Task;
  * Handles file storage operations for saving and loading tasks.
  * This class manages reading and writing task data to a file, ensuring
  * persistence of task lists between program runs.
+ * <p>
+ * Changes are recorded as small entries in an append-only {@code TaskJournal} next to the
+ * snapshot file. Once the journal grows past the configured ratio of the snapshot size,
+ * it is folded back into a fresh snapshot in the background.
+ * All writes go through a {@code StorageWriter}, which performs them on a background thread
+ * in the order they were made; its durability mode decides whether callers wait for them.
+ * Snapshots are written atomically with a checksum per record; corrupted records are
+ * skipped on load rather than discarding the whole list.
+ * Snapshots can also be kept in a compact binary format, which is detected automatically on load.
  */
 public class TaskStorage {
+
+    /**
+     * Represents the file format used when writing task snapshots.
+     */
+    public enum Format {
+        TEXT,
+        BINARY
+    }
+
     private static final String DEFAULT_FILE_PATH = "./data/chat.txt";
     private static final String DATA_DIRECTORY = "./data";
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String CORRUPTED_COPY_SUFFIX = ".corrupted";
+    private static final double DEFAULT_COMPACTION_RATIO = 0.5;
+    private static final int MIN_COMPACTION_ENTRIES = 64;
 
     private final String fileName;
+    private final RecordFile snapshot;
+    private final BinaryTaskFile binarySnapshot;
+    private final TaskJournal journal;
+    private final double compactionRatio;
+    private final Format format;
+    private final StorageWriter writer;
+    private final AtomicBoolean isCompactionScheduled = new AtomicBoolean();
+    private volatile int snapshotSize;
+    // Written by compactions on the writer thread, and read by the thread that loaded the tasks
+    private volatile int skippedRecordCount;
+
+    /**
+     * Constructs a {@code Storage} object with the default file path {@code ./data/chat.txt},
+     * performing its writes through the given writer.
+     *
+     * @param writer The writer that performs storage writes.
+     */
+    public TaskStorage(StorageWriter writer) {
+        this(Format.TEXT, writer);
+    }
 
     /**
-     * Constructs a {@code Storage} object with the default file path {@code ./data/chat.txt}.
+     * Constructs a {@code Storage} object with the default file path {@code ./data/chat.txt},
+     * writing snapshots in the given format through the given writer.
+     *
+     * @param format The format in which snapshots are written.
+     * @param writer The writer that performs storage writes.
      */
-    public TaskStorage() {
-        this(DEFAULT_FILE_PATH);
+    public TaskStorage(Format format, StorageWriter writer) {
+        this(DEFAULT_FILE_PATH, DEFAULT_COMPACTION_RATIO, format, writer);
     }
 
     /**
-     * Constructs a {@code Storage} object with a specified file path.
+     * Constructs a {@code Storage} object with a specified file path and writer.
      *
      * @param fileName The path to the file where tasks will be stored.
+     * @param writer   The writer that performs storage writes.
      */
-    public TaskStorage(String fileName) {
+    public TaskStorage(String fileName, StorageWriter writer) {
+        this(fileName, DEFAULT_COMPACTION_RATIO, Format.TEXT, writer);
+    }
+
+    /**
+     * Constructs a {@code Storage} object with a specified file path, compaction ratio, snapshot format
+     * and writer. Existing snapshots in either format are still loaded; the format only affects what is written.
+     *
+     * @param fileName        The path to the file where tasks will be stored.
+     * @param compactionRatio The number of journal entries, relative to the snapshot size,
+     *                        after which the journal is compacted into a new snapshot.
+     * @param format          The format in which snapshots are written.
+     * @param writer          The writer that performs storage writes.
+     */
+    public TaskStorage(String fileName, double compactionRatio, Format format, StorageWriter writer) {
         assert fileName != null && !fileName.isBlank() : "File name cannot be null or empty";
+        assert compactionRatio > 0 : "Compaction ratio must be positive";
+        assert format != null : "Format cannot be null";
+        assert writer != null : "Writer cannot be null";
         this.fileName = fileName;
+        this.snapshot = new RecordFile(fileName);
+        this.binarySnapshot = new BinaryTaskFile(fileName);
+        this.journal = new TaskJournal(fileName + JOURNAL_SUFFIX, writer);
+        this.compactionRatio = compactionRatio;
+        this.format = format;
+        this.writer = writer;
     }
 
     /**
@@ -54,78 +128,321 @@ public class TaskStorage {
 
     /**
      * Loads tasks from the storage file.
-     * Reads the file line by line, deserializing each line into a {@code Task} object.
+     * Waits for pending writes, reads the snapshot file, deserializing each record into a {@code Task}
+     * object, then replays any journaled changes on top of it.
      * If the file does not exist, it returns an empty list.
      *
      * @return An {@code ArrayList} of tasks loaded from the file.
      */
     public List<Task> loadTasks() throws IOException, NiniException {
-        File file = new File(fileName);
+        writer.flush();
+        List<Task> tasks = readTasks();
+        rewriteIfRecordsSkipped();
+        return tasks;
+    }
+
+    /**
+     * Loads tasks from the storage file without deserializing them up front.
+     * Only the position of each record is read at first; tasks are deserialized when they are accessed.
+     * Intact records that do not describe a valid task are only found then, and are not counted by
+     * {@code getSkippedRecordCount}.
+     * Files in the old unchecksummed text format are loaded eagerly instead.
+     *
+     * @param cacheSize The maximum number of unmodified tasks kept deserialized at once.
+     * @return A list of tasks that deserializes its elements on demand.
+     */
+    public List<Task> loadTasksLazily(int cacheSize) throws IOException, NiniException {
+        writer.flush();
+        boolean isBinary = BinaryTaskFile.isBinaryFile(fileName);
+        if (!snapshot.exists() || !isBinary && snapshot.isLegacyFormat()) {
+            List<Task> tasks = readTasks();
+            rewriteIfRecordsSkipped();
+            return tasks;
+        }
+
+        LazyTaskList tasks = LazyTaskList.open(fileName, cacheSize);
+        skippedRecordCount = tasks.getSkippedCount();
+        replayOnto(tasks, tasks.getAssignedIdCount());
+        rewriteIfRecordsSkipped();
+        return tasks;
+    }
+
+    /**
+     * Loads tasks from the storage file straight into a columnar list.
+     * Records are read and deserialized one at a time and copied into the columns as they are read,
+     * so no list of task objects is built along the way. Journaled changes are then replayed on top of it.
+     *
+     * @return A columnar list of the stored tasks.
+     */
+    public ColumnarTaskList loadTasksColumnar() throws IOException, NiniException {
+        writer.flush();
+        ColumnarTaskList tasks = new ColumnarTaskList();
+        forEachSnapshotTask(tasks::add);
+        replayOnto(tasks, tasks.assignMissingIds());
+        rewriteIfRecordsSkipped();
+        return tasks;
+    }
 
-        if (!file.exists()) {
-            return new ArrayList<>();
+    /**
+     * Loads tasks from the storage file into an off-heap list.
+     * Binary snapshots are copied record by record into direct memory as they are read, while text snapshots
+     * are deserialized one record at a time and encoded into direct memory, so the snapshot is never held on
+     * the heap as a whole. Journaled changes are then replayed on top of the list.
+     *
+     * @return An off-heap list of the stored tasks.
+     */
+    public OffHeapTaskList loadTasksOffHeap() throws IOException, NiniException {
+        writer.flush();
+        OffHeapTaskList tasks;
+        if (BinaryTaskFile.isBinaryFile(fileName)) {
+            tasks = OffHeapTaskList.load(fileName);
+            skippedRecordCount = tasks.getSkippedCount();
+            replayOnto(tasks, tasks.getAssignedIdCount());
+        } else {
+            tasks = new OffHeapTaskList();
+            forEachSnapshotTask(tasks::add);
+            replayOnto(tasks, tasks.assignMissingIds());
         }
+        rewriteIfRecordsSkipped();
+        return tasks;
+    }
 
-        List<Task> tasks = new ArrayList<>();
-        try (Scanner scanner = new Scanner(file)) {
-            while (scanner.hasNextLine()) {
-                String line = scanner.nextLine();
-                assert line != null : "Read line should not be null";
-                tasks.add(Task.deserialize(line));
+    /**
+     * Reads the snapshot file and replays the journal on top of it, without waiting for pending writes.
+     *
+     * @return An {@code ArrayList} of tasks loaded from the file.
+     */
+    private List<Task> readTasks() throws IOException, NiniException {
+        List<Task> tasks = readSnapshot();
+        long[] ids = tasks.stream().mapToLong(Task::getId).toArray();
+        int assignedIdCount = TaskIdIndex.assignMissingIds(ids, ids.length);
+        replayOnto(tasks, assignedIdCount);
+        return tasks;
+    }
+
+    /**
+     * Replays the journal onto tasks just read from the snapshot, adding the entries left out to the number of
+     * records skipped while reading it.
+     *
+     * @param tasks           The tasks in the snapshot.
+     * @param assignedIdCount The number of tasks that were given an id when the snapshot was read.
+     */
+    private void replayOnto(List<Task> tasks, int assignedIdCount) throws IOException, NiniException {
+        // The journal is replayed onto the loaded list itself, so no copy of the tasks is taken
+        TaskList taskList = TaskList.backedBy(tasks);
+        snapshotSize = taskList.size();
+        int snapshotSkippedCount = skippedRecordCount;
+        skippedRecordCount = snapshotSkippedCount + journal.replay(taskList, snapshotSkippedCount, assignedIdCount);
+    }
+
+    /**
+     * Rewrites the snapshot from the loaded tasks if any records were skipped while loading them.
+     * Until then, the journal can only be replayed up to its first entry that refers to a task whose id moved,
+     * and entries appended from now on would refer to the tasks as they were loaded rather than as stored.
+     * The rewrite is queued before any such entry. The original file is copied aside first, as it still
+     * holds the skipped records; if it cannot be copied, it is left as it is.
+     */
+    private void rewriteIfRecordsSkipped() throws IOException {
+        if (skippedRecordCount == 0) {
+            return;
+        }
+        Path original = Path.of(fileName);
+        Path copy = Path.of(fileName + CORRUPTED_COPY_SUFFIX);
+        writer.run(() -> {
+            try {
+                Files.copy(original, copy, StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                writer.reportFailure(new IOException("Failed to copy the task file with skipped records: "
+                        + e.getMessage(), e));
+                return;
             }
+            System.err.println("Saved a copy of the task file with skipped records to " + copy + ".");
+            compact();
+        });
+    }
+
+    /**
+     * Reads the tasks stored in the snapshot file, without applying the journal.
+     * Records that are corrupted or cannot be deserialized are skipped.
+     *
+     * @return An {@code ArrayList} of tasks in the snapshot file.
+     */
+    private List<Task> readSnapshot() throws IOException {
+        if (BinaryTaskFile.isBinaryFile(fileName)) {
+            List<Task> tasks = binarySnapshot.read();
+            skippedRecordCount = binarySnapshot.getSkippedCount();
+            return tasks;
         }
+
+        // Large text snapshots are deserialized on every core
+        List<Task> tasks = snapshot.readInParallel(Task::deserialize, "task");
+        skippedRecordCount = snapshot.getSkippedCount();
         return tasks;
     }
 
     /**
-     * Saves a single task to the storage file by appending it to the existing file.
+     * Passes each task stored in the snapshot file to the consumer as soon as it is read, without applying
+     * the journal or keeping the tasks. Records that are corrupted or cannot be deserialized are skipped.
+     *
+     * @param consumer The consumer of the tasks.
+     */
+    private void forEachSnapshotTask(Consumer<Task> consumer) throws IOException {
+        if (BinaryTaskFile.isBinaryFile(fileName)) {
+            binarySnapshot.forEachTask(consumer);
+            skippedRecordCount = binarySnapshot.getSkippedCount();
+            return;
+        }
+
+        snapshot.forEachRecord(record -> consumer.accept(Task.deserialize(record)), "task");
+        skippedRecordCount = snapshot.getSkippedCount();
+    }
+
+    /**
+     * Returns the number of corrupted or invalid records skipped by the last {@code loadTasks}, together with
+     * the journal entries left out because they referred to those records or to tasks whose ids moved.
+     *
+     * @return The number of skipped task records.
+     */
+    public int getSkippedRecordCount() {
+        return skippedRecordCount;
+    }
+
+    /**
+     * Saves a single task by recording its addition in the journal.
      *
      * @param task The task to be saved.
+     * @return A future that completes once the change has been written.
      * @throws IOException If an error occurs while writing to the file.
      */
-    public void saveTask(Task task) throws IOException {
+    public CompletableFuture<Void> saveTask(Task task) throws IOException {
         assert task != null : "Task cannot be null";
-        appendToFile(task.serialize());
+        return appendToJournal(List.of(TaskJournal.addEntry(task)));
+    }
+
+    /**
+     * Records that the tasks with the given ids were marked as done.
+     *
+     * @param ids The ids of the marked tasks, in the order they were marked.
+     * @return A future that completes once the change has been written.
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    public CompletableFuture<Void> saveMarkedTasks(long... ids) throws IOException {
+        return appendToJournal(Arrays.stream(ids).mapToObj(TaskJournal::markEntry).toList());
+    }
+
+    /**
+     * Records that the tasks with the given ids were unmarked.
+     *
+     * @param ids The ids of the unmarked tasks, in the order they were unmarked.
+     * @return A future that completes once the change has been written.
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    public CompletableFuture<Void> saveUnmarkedTasks(long... ids) throws IOException {
+        return appendToJournal(Arrays.stream(ids).mapToObj(TaskJournal::unmarkEntry).toList());
+    }
+
+    /**
+     * Records that the tasks with the given ids were removed.
+     *
+     * @param ids The ids of the removed tasks.
+     * @return A future that completes once the change has been written.
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    public CompletableFuture<Void> saveDeletedTasks(long... ids) throws IOException {
+        return appendToJournal(Arrays.stream(ids).mapToObj(TaskJournal::deleteEntry).toList());
+    }
+
+    /**
+     * Records that the task list was sorted by date.
+     *
+     * @return A future that completes once the change has been written.
+     * @throws IOException If an error occurs while writing to the file.
+     */
+    public CompletableFuture<Void> saveSortedTasks() throws IOException {
+        return appendToJournal(List.of(TaskJournal.sortEntry()));
     }
 
     /**
      * Overwrites the storage file with the given list of tasks.
-     * This method removes all previous data in the file and writes the new tasks.
+     * This method removes all previous data in the file, writes the new tasks and clears the journal.
+     * The tasks are serialized before this method returns, so later changes to them are not included.
      *
      * @param tasks The list of tasks to be saved.
+     * @return A future that completes once the tasks have been written.
      * @throws IOException If an error occurs while writing to the file.
      */
-    public void overwriteTasks(List<Task> tasks) throws IOException {
+    public CompletableFuture<Void> overwriteTasks(List<Task> tasks) throws IOException {
         assert tasks != null : "Tasks list cannot be null";
-        writeToFile(tasks);
+        ensureFileDirectoryExists();
+        return writer.run(prepareSnapshot(tasks));
     }
 
     /**
-     * Appends a single serialized task to the storage file.
+     * Appends entries to the journal and schedules a compaction if the journal has grown too large.
      *
-     * @param taskData The serialized task string.
+     * @param entries The journal entries to append.
+     * @return A future that completes once the entries have been written.
      * @throws IOException If an error occurs while writing to the file.
      */
-    private void appendToFile(String taskData) throws IOException {
+    private CompletableFuture<Void> appendToJournal(List<String> entries) throws IOException {
         ensureFileDirectoryExists();
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName, true))) {
-            writer.write(taskData + System.lineSeparator());
+        CompletableFuture<Void> future = journal.append(entries);
+
+        boolean isJournalTooLarge = journal.size() > compactionRatio * Math.max(snapshotSize, MIN_COMPACTION_ENTRIES);
+        if (isJournalTooLarge && isCompactionScheduled.compareAndSet(false, true)) {
+            writer.run(this::compact);
+        }
+        return future;
+    }
+
+    /**
+     * Folds the journal into a new snapshot file and clears the journal.
+     * Runs on the writer thread, after every write queued before it. No caller waits for a compaction,
+     * so a failure is reported to the writer's failure listener.
+     */
+    private void compact() {
+        isCompactionScheduled.set(false);
+        try {
+            prepareSnapshot(readTasks()).run();
+        } catch (IOException | NiniException e) {
+            writer.reportFailure(new IOException("Failed to compact the task journal: " + e.getMessage(), e));
         }
     }
 
     /**
-     * Writes a list of serialized tasks to the storage file, overwriting existing content.
+     * Serializes a list of tasks and returns an action that writes them to the storage file,
+     * overwriting existing content and clearing the journal.
      *
      * @param tasks The list of tasks to be written.
-     * @throws IOException If an error occurs while writing to the file.
+     * @return The action that writes the serialized tasks.
      */
-    private void writeToFile(List<Task> tasks) throws IOException {
-        ensureFileDirectoryExists();
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName))) {
+    private StorageWriter.StorageAction prepareSnapshot(List<Task> tasks) {
+        int size = tasks.size();
+        if (format == Format.BINARY) {
+            List<byte[]> records = new ArrayList<>(size);
             for (Task task : tasks) {
                 assert task != null : "Task in list cannot be null";
-                writer.write(task.serialize() + System.lineSeparator());
+                records.add(BinaryTaskFile.encode(task));
             }
+            return () -> {
+                binarySnapshot.writeRecords(records);
+                finishSnapshot(size);
+            };
+        }
+
+        List<String> records = new ArrayList<>(size);
+        for (Task task : tasks) {
+            assert task != null : "Task in list cannot be null";
+            records.add(task.serialize());
         }
+        return () -> {
+            snapshot.write(records);
+            finishSnapshot(size);
+        };
+    }
+
+    private void finishSnapshot(int size) throws IOException {
+        journal.clear();
+        snapshotSize = size;
     }
 }
@@ -0,0 +1,91 @@
+package tasks;
+
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * Parses date-times in the {@code d/M/yyyy HHmm} format used for task input and storage.
+ * The common case, a valid date with a one or two digit day and month, a four digit year and a four digit
+ * time, is read straight from the characters. Anything else, including dates the formatter would adjust
+ * such as {@code 31/2/2025}, is handed to a {@code DateTimeFormatter}, so the results and errors are
+ * exactly the same as parsing with the formatter alone.
+ */
+public final class DateTimeParser {
+
+    /** The formatter for the input format, which also handles everything the fast path does not. */
+    public static final DateTimeFormatter INPUT_FORMATTER = DateTimeFormatter.ofPattern("d/M/yyyy HHmm",
+            Locale.ENGLISH);
+
+    private DateTimeParser() {
+    }
+
+    /**
+     * Parses a date-time in the {@code d/M/yyyy HHmm} format.
+     *
+     * @param text The text to parse, without surrounding whitespace.
+     * @return The parsed date-time.
+     * @throws DateTimeParseException If the text is not a valid date-time in the format.
+     */
+    public static LocalDateTime parse(CharSequence text) {
+        LocalDateTime dateTime = parseCommonCase(text);
+        return dateTime != null ? dateTime : LocalDateTime.parse(text, INPUT_FORMATTER);
+    }
+
+    /**
+     * Reads {@code d/M/yyyy HHmm} directly from the characters.
+     *
+     * @return The date-time, or {@code null} if the text is not a valid date-time in the common form.
+     */
+    private static LocalDateTime parseCommonCase(CharSequence text) {
+        int length = text.length();
+        int daySlash = indexOfSlash(text, 0);
+        int monthSlash = indexOfSlash(text, daySlash + 1);
+        // The year and the time always take up the last ten characters: "/yyyy HHmm"
+        if (daySlash < 0 || monthSlash < 0 || length - monthSlash != 10 || text.charAt(length - 5) != ' ') {
+            return null;
+        }
+
+        int day = digits(text, 0, daySlash);
+        int month = digits(text, daySlash + 1, monthSlash);
+        int year = digits(text, monthSlash + 1, length - 5);
+        int hour = digits(text, length - 4, length - 2);
+        int minute = digits(text, length - 2, length);
+        if (day < 1 || month < 1 || month > 12 || year < 1 || hour < 0 || hour > 23 || minute < 0 || minute > 59
+                || day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute);
+    }
+
+    /**
+     * Returns the index of the slash after a one or two digit field starting at {@code start}, or -1.
+     */
+    private static int indexOfSlash(CharSequence text, int start) {
+        for (int i = start + 1; i <= start + 2 && i < text.length(); i++) {
+            if (text.charAt(i) == '/') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the value of the ASCII digits between {@code start} and {@code end}, or -1 if any other
+     * character is found.
+     */
+    private static int digits(CharSequence text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+}
@@ -15,10 +15,12 @@ import exceptions.NiniException;
  */
 public class DeadlineTask extends Task {
 
-    private static final DateTimeFormatter INPUT_FORMATTER = DateTimeFormatter.ofPattern("d/M/yyyy HHmm",
-            Locale.ENGLISH);
     private static final DateTimeFormatter OUTPUT_FORMATTER = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mma",
             Locale.ENGLISH);
+    // The longest formatted date, used to size builders up front
+    private static final int DATE_LENGTH = 20;
+    // The length of the " (deadline: " and ")" around the date in the string form
+    private static final int LABEL_LENGTH = 13;
     private final LocalDateTime deadline;
 
     /**
@@ -48,9 +50,22 @@ public class DeadlineTask extends Task {
         this.deadline = parseDeadline(deadline);
     }
 
+    /**
+     * Constructs a new {@code DeadlineTask} with an already parsed deadline and completion status.
+     *
+     * @param description The description of the deadline task.
+     * @param deadline    The deadline of the task.
+     * @param isDone      The completion status of the task.
+     */
+    public DeadlineTask(String description, LocalDateTime deadline, boolean isDone) {
+        super(description, isDone);
+        assert deadline != null : "Deadline cannot be null";
+        this.deadline = deadline;
+    }
+
     private LocalDateTime parseDeadline(String deadline) throws InvalidFormatException {
         try {
-            return LocalDateTime.parse(deadline.trim(), INPUT_FORMATTER);
+            return DateTimeParser.parse(deadline.trim());
         } catch (DateTimeParseException e) {
             throw new InvalidFormatException("Invalid deadline format. Please use the format: "
                     + "d/M/yyyy HHmm (e.g., 25/12/2025 1800)");
@@ -67,29 +82,27 @@ public class DeadlineTask extends Task {
     }
 
     /**
-     * Serializes the deadline task into a formatted string representation.
-     * The format used is: {@code D|<status>|<description>|<deadline>}, where:
+     * Builds the serialized form of the deadline task.
+     * The format used is: {@code D|<status>|<description>|<deadline>|<id>}, where:
      * <ul>
      *     <li>{@code D} represents a deadline task.</li>
      *     <li>{@code <status>} is {@code 1} if the task is done, otherwise {@code 0}.</li>
      *     <li>{@code <description>} is the textual description of the task.</li>
      *     <li>{@code <deadline>} is the formatted deadline date and time.</li>
+     *     <li>{@code <id>} is the task id, omitted if the task has no id yet.</li>
      * </ul>
      *
      * @return A serialized string representation of the deadline task.
      */
     @Override
-    public String serialize() {
-        int isDoneValue = isDone ? 1 : 0;
-        return String.format("D|%d|%s|%s",
-                isDoneValue,
-                description,
-                deadline.format(INPUT_FORMATTER)
-        );
+    protected String buildSerialized() {
+        StringBuilder builder = startSerialized('D', DATE_LENGTH).append('|');
+        DateTimeParser.INPUT_FORMATTER.formatTo(deadline, builder);
+        return appendSerializedId(builder).toString();
     }
 
     /**
-     * Returns a string representation of the deadline task.
+     * Builds the string representation of the deadline task.
      * The format is {@code [D]<description> (deadline: <deadline time>)}, where:
      * <ul>
      *     <li>{@code [D]} signifies a deadline task.</li>
@@ -99,11 +112,12 @@ public class DeadlineTask extends Task {
      * @return A formatted string representing the deadline task.
      */
     @Override
-    public String toString() {
-        return String.format("[D]%s (deadline: %s)",
-                super.toString(),
-                deadline.format(OUTPUT_FORMATTER)
-        );
+    protected String buildString() {
+        StringBuilder builder = new StringBuilder(description.length() + PREFIX_LENGTH + LABEL_LENGTH + DATE_LENGTH)
+                .append("[D]");
+        appendStatusAndDescription(builder).append(" (deadline: ");
+        OUTPUT_FORMATTER.formatTo(deadline, builder);
+        return builder.append(')').toString();
     }
 
     @Override
@@ -15,10 +15,12 @@ import exceptions.NiniException;
  */
 public class EventTask extends Task {
 
-    private static final DateTimeFormatter INPUT_FORMATTER = DateTimeFormatter.ofPattern("d/M/yyyy HHmm",
-            Locale.ENGLISH);
     private static final DateTimeFormatter OUTPUT_FORMATTER = DateTimeFormatter.ofPattern("MMM dd yyyy, h:mma",
             Locale.ENGLISH);
+    // The longest formatted date, used to size builders up front
+    private static final int DATE_LENGTH = 20;
+    // The length of the " (from: ", " to: " and ")" around the dates in the string form
+    private static final int LABEL_LENGTH = 14;
     private final LocalDateTime from;
     private final LocalDateTime to;
 
@@ -51,8 +53,8 @@ public class EventTask extends Task {
     public EventTask(String description, String from, String to, boolean isDone) throws NiniException {
         super(description, isDone);
         try {
-            this.from = LocalDateTime.parse(from.trim(), INPUT_FORMATTER);
-            this.to = LocalDateTime.parse(to.trim(), INPUT_FORMATTER);
+            this.from = DateTimeParser.parse(from.trim());
+            this.to = DateTimeParser.parse(to.trim());
             if (this.from.isAfter(this.to)) {
                 throw new InvalidFormatException("The start time must be earlier than the end time.");
             }
@@ -62,9 +64,26 @@ public class EventTask extends Task {
         }
     }
 
+    /**
+     * Constructs a new {@code EventTask} with already parsed event times and completion status.
+     *
+     * @param description The description of the event.
+     * @param from        The start time of the event.
+     * @param to          The end time of the event.
+     * @param isDone      The completion status of the event.
+     * @throws NiniException If the start time is after the end time.
+     */
+    public EventTask(String description, LocalDateTime from, LocalDateTime to, boolean isDone) throws NiniException {
+        super(description, isDone);
+        assert from != null && to != null : "Event times cannot be null";
+        this.from = from;
+        this.to = to;
+        validateDateOrder();
+    }
+
     private LocalDateTime parseDateTime(String dateTime) throws InvalidFormatException {
         try {
-            return LocalDateTime.parse(dateTime.trim(), INPUT_FORMATTER);
+            return DateTimeParser.parse(dateTime.trim());
         } catch (DateTimeParseException e) {
             throw new InvalidFormatException("Invalid deadline format. Please use the format: "
                     + "d/M/yyyy HHmm (e.g., 25/12/2025 1800)");
@@ -96,32 +115,31 @@ public class EventTask extends Task {
     }
 
     /**
-     * Serializes the event task into a formatted string representation.
-     * The format used is: {@code E|<status>|<description>|<start time>|<end time>}, where:
+     * Builds the serialized form of the event task.
+     * The format used is: {@code E|<status>|<description>|<start time>|<end time>|<id>}, where:
      * <ul>
      *     <li>{@code E} represents an event task.</li>
      *     <li>{@code <status>} is {@code 1} if the task is done, otherwise {@code 0}.</li>
      *     <li>{@code <description>} is the textual description of the task.</li>
      *     <li>{@code <start time>} is the formatted start date and time of the event.</li>
      *     <li>{@code <end time>} is the formatted end date and time of the event.</li>
+     *     <li>{@code <id>} is the task id, omitted if the task has no id yet.</li>
      * </ul>
      *
      * @return A serialized string representation of the event task.
      */
 
     @Override
-    public String serialize() {
-        int isDoneValue = isDone ? 1 : 0;
-        return String.format("E|%d|%s|%s|%s",
-                isDoneValue,
-                description,
-                from.format(INPUT_FORMATTER),
-                to.format(INPUT_FORMATTER)
-        );
+    protected String buildSerialized() {
+        StringBuilder builder = startSerialized('E', DATE_LENGTH * 2).append('|');
+        DateTimeParser.INPUT_FORMATTER.formatTo(from, builder);
+        builder.append('|');
+        DateTimeParser.INPUT_FORMATTER.formatTo(to, builder);
+        return appendSerializedId(builder).toString();
     }
 
     /**
-     * Returns a string representation of the event task.
+     * Builds the string representation of the event task.
      * The format is {@code [E]<description> (from: <start time> to: <end time>)}, where:
      * <ul>
      *     <li>{@code [E]} signifies an event task.</li>
@@ -131,12 +149,14 @@ public class EventTask extends Task {
      * @return A formatted string representing the event task.
      */
     @Override
-    public String toString() {
-        return String.format("[E]%s (from: %s to: %s)",
-                super.toString(),
-                from.format(OUTPUT_FORMATTER),
-                to.format(OUTPUT_FORMATTER)
-        );
+    protected String buildString() {
+        StringBuilder builder = new StringBuilder(
+                description.length() + PREFIX_LENGTH + LABEL_LENGTH + DATE_LENGTH * 2).append("[E]");
+        appendStatusAndDescription(builder).append(" (from: ");
+        OUTPUT_FORMATTER.formatTo(from, builder);
+        builder.append(" to: ");
+        OUTPUT_FORMATTER.formatTo(to, builder);
+        return builder.append(')').toString();
     }
 
     @Override
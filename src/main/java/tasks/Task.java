@@ -10,14 +10,25 @@ import exceptions.NiniException;
  * Represents a generic task with a description and completion status.
  * This class serves as a base class for different types of tasks such as
  * ToDoTask, DeadlineTask, and EventTask.
+ * The string and serialized forms of a task are built on first use and kept until its status or id
+ * changes, as nothing else about a task can change, so listing or saving many tasks mostly copies them.
  */
 public abstract class Task {
 
     private static final int TYPE_INDEX = 0;
     private static final int DONE_INDEX = 1;
     private static final int DESCRIPTION_INDEX = 2;
+    private static final String SEPARATOR = "|";
+    // The longest type, status and id fields of the serialized form, with their separators
+    private static final int SERIALIZED_FIELDS_LENGTH = 24;
+    /** The length of the type and status prefix of the string form, such as {@code "[T][X] "}. */
+    protected static final int PREFIX_LENGTH = 7;
     protected String description;
     protected boolean isDone;
+    private long id;
+    // Cleared whenever the status or id changes. A race only builds the same string twice, as strings are immutable
+    private String cachedString;
+    private String cachedSerialized;
 
     /**
      * Constructs a new {@code Task} with the given description.
@@ -53,6 +64,26 @@ public abstract class Task {
         return description;
     }
 
+    /**
+     * Returns the id of the task, which stays the same for as long as the task exists.
+     *
+     * @return The task id, or {@code 0} if no id has been assigned yet.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Assigns an id to the task. Ids are assigned by the task list the task is added to.
+     *
+     * @param id The positive task id.
+     */
+    public void setId(long id) {
+        assert id > 0 : "Task id must be positive.";
+        this.id = id;
+        cachedSerialized = null;
+    }
+
     /**
      * Returns the completion status of the task.
      *
@@ -72,6 +103,7 @@ public abstract class Task {
             throw new InvalidTaskNumberException("Task is already marked as done");
         } else {
             isDone = true;
+            clearCachedForms();
         }
     }
 
@@ -86,20 +118,64 @@ public abstract class Task {
             throw new InvalidTaskNumberException("Task is already unmarked.");
         } else {
             isDone = false;
+            clearCachedForms();
         }
     }
 
+    private void clearCachedForms() {
+        cachedString = null;
+        cachedSerialized = null;
+    }
+
     /**
      * Serializes the task into a string format.
+     * The serialized form is built by {@code buildSerialized} the first time it is needed.
+     *
+     * @return A serialized string representation of the task.
+     */
+    public final String serialize() {
+        String serialized = cachedSerialized;
+        if (serialized == null) {
+            serialized = buildSerialized();
+            cachedSerialized = serialized;
+        }
+        return serialized;
+    }
+
+    /**
+     * Builds the serialized form of the task.
      * This method is intended to be overridden by subclasses.
      *
      * @return A serialized string representation of the task.
      */
-    public abstract String serialize();
+    protected abstract String buildSerialized();
+
+    /**
+     * Starts the serialized form of the task with the fields every task has.
+     *
+     * @param type The letter that marks the type of the task.
+     * @param extraLength The expected length of the fields the subclass adds, to size the builder.
+     * @return A builder holding {@code <type>|<status>|<description>}.
+     */
+    protected StringBuilder startSerialized(char type, int extraLength) {
+        return new StringBuilder(description.length() + extraLength + SERIALIZED_FIELDS_LENGTH)
+                .append(type).append(SEPARATOR).append(isDone ? '1' : '0').append(SEPARATOR).append(description);
+    }
+
+    /**
+     * Appends the optional trailing id field of the serialized task.
+     *
+     * @param builder The serialized fields before the id.
+     * @return The builder, ending with {@code |<id>} if the task has an id.
+     */
+    protected StringBuilder appendSerializedId(StringBuilder builder) {
+        return id == 0 ? builder : builder.append(SEPARATOR).append(id);
+    }
 
     /**
      * Deserializes a given string into a {@code Task} object.
      * The string format should follow the pattern used in the {@code serialize} method.
+     * Data written before task ids were introduced has no trailing id field and is still accepted.
      *
      * @param data The serialized string representation of a task.
      * @return A {@code Task} object reconstructed from the serialized data.
@@ -126,16 +202,22 @@ public abstract class Task {
         assert !type.isBlank() : "Task type should not be null or empty.";
         assert !description.isBlank() : "Task description should not be null or empty.";
 
+        Task task;
+        int fieldCount;
         switch (type) {
         case "T":
-            return new ToDoTask(description, isDone);
+            task = new ToDoTask(description, isDone);
+            fieldCount = 3;
+            break;
         case "D":
             if (parts.length < 4) {
                 throw new InvalidDataException("Missing deadline information.");
             }
             String deadlineStr = parts[3].trim();
             assert !deadlineStr.isBlank() : "Deadline should not be null or empty.";
-            return new DeadlineTask(description, deadlineStr, isDone);
+            task = new DeadlineTask(description, deadlineStr, isDone);
+            fieldCount = 4;
+            break;
         case "E":
             if (parts.length < 5) {
                 throw new InvalidDataException("Missing event start or end time.");
@@ -144,26 +226,69 @@ public abstract class Task {
             String toStr = parts[4].trim();
             assert !fromStr.isBlank() : "Event start time should not be null or empty.";
             assert !toStr.isBlank() : "Event end time should not be null or empty.";
-            return new EventTask(description, fromStr, toStr, isDone);
+            task = new EventTask(description, fromStr, toStr, isDone);
+            fieldCount = 5;
+            break;
         default:
             throw new InvalidDataException("Unknown task type.");
         }
+
+        if (parts.length > fieldCount) {
+            task.setId(parseId(parts[fieldCount]));
+        }
+        return task;
+    }
+
+    private static long parseId(String data) throws InvalidDataException {
+        try {
+            long id = Long.parseLong(data.trim());
+            if (id <= 0) {
+                throw new InvalidDataException("Data has an invalid task id.");
+            }
+            return id;
+        } catch (NumberFormatException e) {
+            throw new InvalidDataException("Data has an invalid task id.");
+        }
     }
 
     /**
      * Returns a string representation of the task.
+     * The string is built by {@code buildString} the first time it is needed.
+     *
+     * @return A formatted string representing the task.
+     */
+    @Override
+    public final String toString() {
+        String string = cachedString;
+        if (string == null) {
+            string = buildString();
+            cachedString = string;
+        }
+        return string;
+    }
+
+    /**
+     * Builds the string representation of the task.
+     * This method is intended to be overridden by subclasses.
+     *
+     * @return A formatted string representing the task.
+     */
+    protected abstract String buildString();
+
+    /**
+     * Appends the status and description of the task, which every string representation contains.
      * The format is {@code [<status>] <description>}, where:
      * <ul>
      *     <li>{@code X} indicates the task is completed.</li>
      *     <li>{@code " "} (space) indicates the task is not completed.</li>
      * </ul>
      *
-     * @return A formatted string representing the task.
+     * @param builder The builder to append to.
+     * @return The builder.
      */
-    @Override
-    public String toString() {
+    protected StringBuilder appendStatusAndDescription(StringBuilder builder) {
         assert description != null : "Task description should not be null when calling toString.";
-        return String.format("[%s] %s", isDone ? "X" : " ", description);
+        return builder.append(isDone ? "[X] " : "[ ] ").append(description);
     }
 
     public abstract LocalDateTime getRelevantDate();
@@ -33,32 +33,34 @@ public class ToDoTask extends Task {
     }
 
     /**
-     * Serializes the to-do task into a formatted string representation.
-     * The format used is: {@code T|<status>|<description>}, where:
+     * Builds the serialized form of the to-do task.
+     * The format used is: {@code T|<status>|<description>|<id>}, where:
      * <ul>
      *     <li>{@code T} represents a to-do task.</li>
      *     <li>{@code <status>} is {@code 1} if the task is done, otherwise {@code 0}.</li>
      *     <li>{@code <description>} is the textual description of the task.</li>
+     *     <li>{@code <id>} is the task id, omitted if the task has no id yet.</li>
      * </ul>
      *
      * @return A serialized string representation of the to-do task.
      */
     @Override
-    public String serialize() {
+    protected String buildSerialized() {
         assert description != null : "Description must not be null";
-        return String.format("T|%d|%s", isDone ? 1 : 0, description);
+        return appendSerializedId(startSerialized('T', 0)).toString();
     }
 
     /**
-     * Returns a string representation of the to-do task.
+     * Builds the string representation of the to-do task.
      * The format is {@code [T]<description>}, where {@code [T]} signifies a to-do task.
      *
      * @return A formatted string representing the to-do task.
      */
     @Override
-    public String toString() {
+    protected String buildString() {
         assert description != null : "Description should not be null when generating string representation.";
-        return "[T]" + super.toString();
+        StringBuilder builder = new StringBuilder(description.length() + PREFIX_LENGTH).append("[T]");
+        return appendStatusAndDescription(builder).toString();
     }
 
     @Override
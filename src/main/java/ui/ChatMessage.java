@@ -0,0 +1,76 @@
+package ui;
+
+import commands.Command;
+
+/**
+ * Represents a single message in the chat transcript.
+ * Messages only hold their text and sender, so the transcript can keep a long history
+ * while dialog boxes are only created for the rows on screen.
+ */
+public class ChatMessage {
+
+    /**
+     * Represents who a message comes from, which decides how it is displayed.
+     */
+    public enum Sender {
+        USER,
+        BOT,
+        ERROR
+    }
+
+    private final String text;
+    private final Sender sender;
+    private final Command nextPageCommand;
+
+    /**
+     * Constructs a new {@code ChatMessage}.
+     *
+     * @param text   The text of the message.
+     * @param sender Who the message comes from.
+     */
+    public ChatMessage(String text, Sender sender) {
+        this(text, sender, null);
+    }
+
+    /**
+     * Constructs a new {@code ChatMessage} showing one page of a longer list.
+     *
+     * @param text            The text of the message.
+     * @param sender          Who the message comes from.
+     * @param nextPageCommand The command that fetches the next page, or {@code null} if this is the last page.
+     */
+    public ChatMessage(String text, Sender sender, Command nextPageCommand) {
+        assert text != null && !text.isBlank() : "Message cannot be null or empty";
+        assert sender != null : "Sender cannot be null";
+        this.text = text;
+        this.sender = sender;
+        this.nextPageCommand = nextPageCommand;
+    }
+
+    /**
+     * Returns the text of the message.
+     *
+     * @return The message text.
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Returns who the message comes from.
+     *
+     * @return The sender.
+     */
+    public Sender getSender() {
+        return sender;
+    }
+
+    /**
+     * Returns the command that fetches the page after this one.
+     *
+     * @return The command for the next page, or {@code null} if there is none.
+     */
+    public Command getNextPageCommand() {
+        return nextPageCommand;
+    }
+}
@@ -1,51 +1,60 @@
 package ui;
 
-import java.io.IOException;
 import java.util.Collections;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 
 /**
  * Represents a chat bubble for user and bot responses.
+ * The bubble is built in code rather than loaded from FXML, so creating one does not parse
+ * any markup or reflect on a controller.
  */
 public class DialogBox extends HBox {
 
-    @FXML
-    private Label text;
-    @FXML
-    private ImageView displayPicture;
+    private static final String USER_STYLE = "user-dialog";
+    private static final String BOT_STYLE = "bot-dialog";
+    private static final String ERROR_STYLE = "error-dialog";
+    private static final String LABEL_STYLE = "dialog-label";
+    private static final double PADDING = 10.0;
+
+    /** The width and height at which profile images are displayed. */
+    static final double PICTURE_SIZE = 50.0;
+
+    private final Label text = new Label();
+    private final ImageView displayPicture = new ImageView();
+    private boolean isFlipped;
 
     private DialogBox(String message, Image img) {
         assert message != null && !message.isBlank() : "Message cannot be null or empty";
         assert img != null : "Image cannot be null";
 
-        try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/view/DialogBox.fxml"));
-            loader.setController(this);
-            loader.setRoot(this);
-            loader.load();
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load ui.DialogBox.fxml", e);
-        }
-
-        assert text != null : "FXML 'text' label is not loaded";
-        assert displayPicture != null : "FXML 'displayPicture' ImageView is not loaded";
+        text.setWrapText(true);
+        text.setMinHeight(Region.USE_PREF_SIZE);
+        text.getStyleClass().add(LABEL_STYLE);
+        displayPicture.setFitHeight(PICTURE_SIZE);
+        displayPicture.setFitWidth(PICTURE_SIZE);
+        displayPicture.setPickOnBounds(true);
+        displayPicture.setPreserveRatio(true);
+        getChildren().addAll(text, displayPicture);
+        setAlignment(Pos.TOP_RIGHT);
+        setPadding(new Insets(PADDING));
 
         text.setText(message);
         displayPicture.setImage(img);
     }
 
     /**
-     * Flips the dialog box such that the ImageView is on the left and text on the right.
+     * Flips the dialog box such that the ImageView moves to the other side of the text.
+     * A box starts with the ImageView on the right, so the first flip puts it on the left.
      */
     private void flip() {
         ObservableList<Node> tmp = FXCollections.observableArrayList(this.getChildren());
@@ -53,42 +62,54 @@ public class DialogBox extends HBox {
 
         Collections.reverse(tmp);
         getChildren().setAll(tmp);
-        setAlignment(Pos.TOP_LEFT);
+        isFlipped = !isFlipped;
+        setAlignment(isFlipped ? Pos.TOP_LEFT : Pos.TOP_RIGHT);
     }
 
-    public static DialogBox getUserDialog(String message, Image img) {
-        assert message != null && !message.isBlank() : "User message cannot be null or empty";
-        assert img != null : "User image cannot be null";
-
-        DialogBox db = new DialogBox(message, img);
-        db.getStyleClass().add("user-dialog");
-        return db;
-    }
-
-    public static DialogBox getBotDialog(String message, Image img) {
-        assert message != null && !message.isBlank() : "Bot message cannot be null or empty";
-        assert img != null : "Bot image cannot be null";
+    /**
+     * Creates a dialog box showing the given message.
+     *
+     * @param message The message to show.
+     * @param img The profile image of the sender.
+     * @return A styled DialogBox for the message.
+     */
+    public static DialogBox of(ChatMessage message, Image img) {
+        assert message != null : "Message cannot be null";
 
-        DialogBox db = new DialogBox(message, img);
-        db.flip();
-        db.getStyleClass().add("bot-dialog");
+        DialogBox db = new DialogBox(message.getText(), img);
+        db.setMessage(message, img);
         return db;
     }
 
     /**
-     * Creates an error message dialog box.
+     * Shows another message in this dialog box, so that a single box can be reused for many messages.
+     * User messages have the image on the right, while bot and error messages have it on the left.
      *
-     * @param message The error message text.
-     * @param img The bot's profile image.
-     * @return A styled DialogBox for errors.
+     * @param message The message to show.
+     * @param img The profile image of the sender.
      */
-    public static DialogBox getErrorDialog(String message, Image img) {
-        assert message != null && !message.isBlank() : "Error message cannot be null or empty";
-        assert img != null : "Bot image for error messages cannot be null";
+    public void setMessage(ChatMessage message, Image img) {
+        assert message != null : "Message cannot be null";
+        assert img != null : "Image cannot be null";
 
-        DialogBox db = new DialogBox(message, img);
-        db.flip();
-        db.getStyleClass().add("error-dialog");
-        return db;
+        text.setText(message.getText());
+        displayPicture.setImage(img);
+        boolean isUser = message.getSender() == ChatMessage.Sender.USER;
+        if (isUser == isFlipped) {
+            flip();
+        }
+        getStyleClass().removeAll(USER_STYLE, BOT_STYLE, ERROR_STYLE);
+        getStyleClass().add(styleOf(message.getSender()));
+    }
+
+    private static String styleOf(ChatMessage.Sender sender) {
+        switch (sender) {
+        case USER:
+            return USER_STYLE;
+        case ERROR:
+            return ERROR_STYLE;
+        default:
+            return BOT_STYLE;
+        }
     }
 }
@@ -0,0 +1,56 @@
+package ui;
+
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.image.Image;
+
+/**
+ * Represents a row of the chat transcript.
+ * The list view only creates enough cells to fill the screen and reuses them while scrolling,
+ * so each cell keeps a single dialog box and shows whichever message it is given.
+ */
+class DialogCell extends ListCell<ChatMessage> {
+
+    // Leaves room for the vertical scroll bar, so wrapped text never needs a horizontal one
+    private static final double SCROLL_BAR_ALLOWANCE = 20.0;
+
+    private final ListView<ChatMessage> listView;
+    private final Image userImage;
+    private final Image botImage;
+    private DialogBox dialogBox;
+
+    /**
+     * Constructs a new {@code DialogCell}.
+     *
+     * @param listView  The list view the cell belongs to, whose width the dialog box follows.
+     * @param userImage The profile image shown with user messages.
+     * @param botImage  The profile image shown with bot and error messages.
+     */
+    DialogCell(ListView<ChatMessage> listView, Image userImage, Image botImage) {
+        assert listView != null : "List view cannot be null";
+        assert userImage != null && botImage != null : "Images cannot be null";
+        this.listView = listView;
+        this.userImage = userImage;
+        this.botImage = botImage;
+        setText(null);
+    }
+
+    @Override
+    protected void updateItem(ChatMessage message, boolean isEmpty) {
+        super.updateItem(message, isEmpty);
+        if (isEmpty || message == null) {
+            setGraphic(null);
+            return;
+        }
+
+        Image image = message.getSender() == ChatMessage.Sender.USER ? userImage : botImage;
+        if (dialogBox == null) {
+            dialogBox = DialogBox.of(message, image);
+            dialogBox.prefWidthProperty().bind(listView.widthProperty().subtract(SCROLL_BAR_ALLOWANCE));
+            dialogBox.maxWidthProperty().bind(dialogBox.prefWidthProperty());
+        } else {
+            dialogBox.setMessage(message, image);
+        }
+        setGraphic(dialogBox);
+    }
+}
@@ -1,47 +1,74 @@
 package ui;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashSet;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import commands.Command;
-import components.Contact;
 import components.ContactList;
 import components.ContactStorage;
 import components.Parser;
+import components.Session;
+import components.StorageWriter;
 import components.TaskList;
 import components.TaskStorage;
 import exceptions.NiniException;
 import javafx.animation.PauseTransition;
 import javafx.application.Platform;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
+import javafx.scene.Scene;
 import javafx.scene.control.Button;
-import javafx.scene.control.ScrollPane;
+import javafx.scene.control.IndexedCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.control.TextField;
+import javafx.scene.control.skin.VirtualFlow;
 import javafx.scene.image.Image;
+import javafx.scene.input.KeyCode;
 import javafx.scene.layout.AnchorPane;
-import javafx.scene.layout.VBox;
 import javafx.util.Duration;
-import tasks.Task;
 
 /**
  * Controller for the main window of the application.
  * Handles user input, manages UI elements, and interacts with core application logic.
+ * Commands are parsed on the JavaFX thread but executed one at a time on a separate thread, so large
+ * task lists never freeze input or repaints. Results are shown in the order the commands were entered.
+ * Lists are fetched {@code PAGE_SIZE} items at a time; the next page is fetched once the end of a page
+ * scrolls into view, and shown right after it. Which rows are on screen is read from the transcript after
+ * each layout pass, since cells are also laid out for rows that are never shown.
  */
 public class MainWindow extends AnchorPane {
 
     private static final String GREETING_MESSAGE = "Hello! I'm NiniNana\nWhat can I do for you?";
+    private static final String WRITER_SHUTDOWN_THREAD = "storage-writer-shutdown";
+    private static final String COMMAND_THREAD = "command-executor";
+    private static final String CANCELLED_MESSAGE = "Cancelled %d command(s).";
+    private static final String SAVE_FAILED_MESSAGE = "Failed to save changes: ";
+    private static final String ERROR_COMMAND_FAILED = "Error: The command failed unexpectedly.";
+    // The oldest messages are dropped beyond this, so a long session cannot grow the transcript forever
+    private static final int TRANSCRIPT_LIMIT = 5_000;
+    private static final double IMAGE_SCALE = 2.0;
+    // Lists without an explicit --limit are shown this many items at a time
+    private static final int PAGE_SIZE = 50;
 
     @FXML
-    private ScrollPane scrollPane;
-    @FXML
-    private VBox dialogContainer;
+    private ListView<ChatMessage> transcript;
     @FXML
     private TextField userInput;
     @FXML
     private Button sendButton;
+    @FXML
+    private ProgressIndicator busyIndicator;
 
+    private Session session;
     private TaskStorage taskStorage;
     private Parser parser;
     private TaskList taskList;
@@ -51,32 +78,61 @@ public class MainWindow extends AnchorPane {
     private Image userImage;
     private Image botImage;
 
+    // A single thread keeps commands in order; it never keeps the application alive on its own
+    private final ExecutorService commandExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, COMMAND_THREAD);
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Only accessed on the JavaFX thread
+    private final Set<PendingCommand> pendingCommands = new LinkedHashSet<>();
+    // Only accessed on the JavaFX thread
+    private final NextPageTrigger nextPageTrigger = new NextPageTrigger(this::loadNextPage);
+    private final Runnable visibleRowsCheck = this::checkVisibleRows;
+    private VirtualFlow<?> transcriptFlow;
+
     /**
      * Initializes the main window.
      * Sets up UI bindings and initializes components.
      */
     @FXML
     public void initialize() {
-        assert scrollPane != null : "ScrollPane should be properly initialized";
-        assert dialogContainer != null : "DialogContainer should be properly initialized";
+        assert transcript != null : "Transcript should be properly initialized";
         assert userInput != null : "UserInput should be properly initialized";
         assert sendButton != null : "SendButton should be properly initialized";
-        scrollPane.vvalueProperty().bind(dialogContainer.heightProperty());
-        dialogContainer.prefWidthProperty().bind(scrollPane.widthProperty());
+        assert busyIndicator != null : "BusyIndicator should be properly initialized";
+        userInput.setOnKeyPressed(event -> {
+            if (event.getCode() == KeyCode.ESCAPE) {
+                cancelCommands();
+            }
+        });
 
-        taskStorage = new TaskStorage();
-        contactStorage = new ContactStorage();
+        // Writes are flushed in the background so that slow disks never block the UI thread
+        session = Session.open(StorageWriter.Durability.ASYNC);
+        Runtime.getRuntime().addShutdownHook(new Thread(session::close, WRITER_SHUTDOWN_THREAD));
+        // Failed background writes are shown in the chat, since the command that queued them has already replied
+        session.getWriter().setFailureListener(e ->
+                Platform.runLater(() -> showErrorUI(SAVE_FAILED_MESSAGE + e.getMessage())));
+        taskStorage = session.getTaskStorage();
+        contactStorage = session.getContactStorage();
         parser = new Parser();
 
         userImage = loadImage("/images/user_image.jpg", "User image");
         botImage = loadImage("/images/bot_image.jpg", "Bot image");
 
+        // Only the visible rows get cells, which are reused as the transcript scrolls
+        transcript.setCellFactory(listView -> new DialogCell(listView, userImage, botImage));
+        transcript.setFocusTraversable(false);
+        sceneProperty().addListener((observable, oldScene, newScene) -> watchVisibleRows(oldScene, newScene));
+
         setupTaskList();
         setupContactList();
     }
 
     /**
      * Safely loads an image resource.
+     * Images are decoded once, at twice the size they are displayed at so they stay sharp on high-density
+     * screens, and the same image is shared by every dialog box.
      *
      * @param path The path to the image resource.
      * @param description The description for logging purposes.
@@ -84,29 +140,34 @@ public class MainWindow extends AnchorPane {
      */
     private Image loadImage(String path, String description) {
         try {
-            return new Image(Objects.requireNonNull(this.getClass().getResourceAsStream(path)));
+            return decodeImage(Objects.requireNonNull(this.getClass().getResourceAsStream(path)));
         } catch (NullPointerException e) {
             System.err.println("Error: " + description + " not found at " + path);
-            return new Image(Objects.requireNonNull(this.getClass().getResourceAsStream("/images/default.png")));
+            return decodeImage(Objects.requireNonNull(this.getClass().getResourceAsStream("/images/default.png")));
         }
     }
 
+    private static Image decodeImage(InputStream stream) {
+        double size = DialogBox.PICTURE_SIZE * IMAGE_SCALE;
+        return new Image(stream, size, size, true, true);
+    }
+
     /**
      * Loads tasks from taskStorage and initializes the task list.
+     * Tasks are only deserialized once they are accessed, so large task files open quickly.
      * If loading fails, an empty task list is created instead.
      */
     private void setupTaskList() {
-        List<Task> tasks;
         try {
-            tasks = taskStorage.loadTasks();
+            taskList = session.loadTaskList();
+            warnIfRecordsSkipped(taskStorage.getSkippedRecordCount(), "task");
         } catch (IOException | NiniException e) {
             System.err.println("Error loading tasks: " + e.getMessage());
-            tasks = new ArrayList<>(); // Provide an empty list if loading fails
+            taskList = new TaskList(); // Provide an empty list if loading fails
             Platform.runLater(() -> showErrorUI("Failed to load tasks. Starting with an empty list."));
         }
 
-        assert tasks != null : "Tasks should be properly initialized";
-        this.taskList = new TaskList(tasks);
+        assert taskList != null : "Task list should be properly initialized";
     }
 
     /**
@@ -114,19 +175,31 @@ public class MainWindow extends AnchorPane {
      * If loading fails, an empty contact list is created instead.
      */
     private void setupContactList() {
-        List<Contact> contacts;
         try {
-            contacts = contactStorage.loadContacts();
+            contactList = session.loadContactList();
+            warnIfRecordsSkipped(contactStorage.getSkippedRecordCount(), "contact");
         } catch (IOException | NiniException e) {
             System.err.println("Error loading tasks: " + e.getMessage());
-            contacts = new ArrayList<>(); // Provide an empty list if loading fails
+            contactList = new ContactList(); // Provide an empty list if loading fails
             Platform.runLater(() -> showErrorUI("Failed to load contacts. Starting with an empty list."));
         }
 
-        assert contacts != null : "Contacts should be properly initialized";
-        this.contactList = new ContactList(contacts);
+        assert contactList != null : "Contact list should be properly initialized";
     }
 
+    /**
+     * Warns the user when corrupted records had to be skipped while loading from storage.
+     *
+     * @param skippedCount The number of records skipped.
+     * @param recordType The kind of record that was skipped, for the warning message.
+     */
+    private void warnIfRecordsSkipped(int skippedCount, String recordType) {
+        if (skippedCount > 0) {
+            String message = String.format("Skipped %d corrupted %s record(s) while loading.",
+                    skippedCount, recordType);
+            Platform.runLater(() -> showErrorUI(message));
+        }
+    }
 
     /**
      * Displays an error message in the UI.
@@ -134,9 +207,7 @@ public class MainWindow extends AnchorPane {
      * @param message The error message to display.
      */
     private void showErrorUI(String message) {
-        Platform.runLater(() -> dialogContainer.getChildren().add(
-                DialogBox.getErrorDialog(message, botImage)
-        ));
+        Platform.runLater(() -> addMessages(new ChatMessage(message, ChatMessage.Sender.ERROR)));
 
         animateErrorInput();
     }
@@ -145,12 +216,13 @@ public class MainWindow extends AnchorPane {
      * Displays the greeting message in the UI when the application starts.
      */
     public void showGreetingUI() {
-        dialogContainer.getChildren().add(DialogBox.getBotDialog(GREETING_MESSAGE, botImage));
+        addMessages(new ChatMessage(GREETING_MESSAGE, ChatMessage.Sender.BOT));
     }
 
     /**
      * Handles user input when the send button is pressed.
-     * Parses the input, executes the command, and updates the UI with responses.
+     * Parses the input and queues the command for execution. Input that cannot be parsed stays in the
+     * input field, so it can be corrected.
      */
     @FXML
     private void handleUserInput() {
@@ -162,27 +234,147 @@ public class MainWindow extends AnchorPane {
             return;
         }
 
-        String responseText;
+        Command command;
         try {
-            Command command = parser.parseCommand(userText);
+            command = parser.parseCommand(userText);
             assert command != null : "Command should be properly initialized";
+            // Further pages are fetched by scrolling, so the command for the next page is not shown
+            command = command.withDefaultLimit(PAGE_SIZE).withoutNextPageHint();
+        } catch (NiniException e) {
+            assert e.getMessage() != null : "Exception message should not be null";
+            showErrorUI(e.getMessage());
+            return;
+        }
 
-            responseText = command.execute(taskList, contactList, taskStorage, contactStorage);
-            assert responseText != null : "Response text should be properly initialized";
+        userInput.clear();
+        addMessages(new ChatMessage(userText, ChatMessage.Sender.USER));
+        submitCommand(command, null);
+    }
 
-            if (command.isExit()) {
-                System.exit(0);
-                return;
+    /**
+     * Checks the rows on screen after every layout pass of the given scene, instead of the previous one.
+     *
+     * @param oldScene The scene the window was in, or {@code null}.
+     * @param newScene The scene the window is now in, or {@code null}.
+     */
+    private void watchVisibleRows(Scene oldScene, Scene newScene) {
+        if (oldScene != null) {
+            oldScene.removePostLayoutPulseListener(visibleRowsCheck);
+        }
+        if (newScene != null) {
+            newScene.addPostLayoutPulseListener(visibleRowsCheck);
+        }
+    }
+
+    /**
+     * Fetches the next page of each page in the transcript whose end is on screen.
+     */
+    private void checkVisibleRows() {
+        if (transcriptFlow == null) {
+            transcriptFlow = (VirtualFlow<?>) transcript.lookup(".virtual-flow");
+            if (transcriptFlow == null) {
+                return; // Not shown yet
             }
-        } catch (NiniException e) {
-            responseText = e.getMessage();
-            assert responseText != null : "Exception message should not be null";
+        }
+        IndexedCell<?> firstCell = transcriptFlow.getFirstVisibleCell();
+        IndexedCell<?> lastCell = transcriptFlow.getLastVisibleCell();
+        if (firstCell == null || lastCell == null) {
+            return;
+        }
+        double lastCellBottom = lastCell.localToScene(lastCell.getBoundsInLocal()).getMaxY();
+        double flowBottom = transcriptFlow.localToScene(transcriptFlow.getBoundsInLocal()).getMaxY();
+        nextPageTrigger.update(transcript.getItems(), firstCell.getIndex(), lastCell.getIndex(),
+                lastCellBottom <= flowBottom);
+    }
+
+    /**
+     * Fetches the page after the given one.
+     * Called once the end of a page with more items after it is on screen.
+     *
+     * @param page The message showing the page.
+     */
+    private void loadNextPage(ChatMessage page) {
+        assert page.getNextPageCommand() != null : "Page should have a next page";
+        submitCommand(page.getNextPageCommand(), page);
+    }
+
+    /**
+     * Queues a command for execution on the command thread.
+     *
+     * @param command The command to execute.
+     * @param continuedPage The page whose next page the command fetches, or {@code null}.
+     */
+    private void submitCommand(Command command, ChatMessage continuedPage) {
+        PendingCommand pendingCommand = new PendingCommand(command, continuedPage);
+        pendingCommands.add(pendingCommand);
+        pendingCommand.future = commandExecutor.submit(pendingCommand);
+        updateBusyIndicator();
+    }
+
+    /**
+     * Cancels every command that has not finished yet.
+     * Queued commands are dropped without running. A running query is interrupted, which stops its scan of
+     * the tasks or its rendering at the next row, and its result is discarded. A running change is never
+     * interrupted, as that could stop it halfway, so it is allowed to finish and still shows its result.
+     */
+    @FXML
+    private void cancelCommands() {
+        int cancelledCount = 0;
+        for (PendingCommand pendingCommand : new ArrayList<>(pendingCommands)) {
+            if (pendingCommand.future.cancel(false)) {
+                pendingCommands.remove(pendingCommand);
+                cancelledCount++;
+            } else if (pendingCommand.command.isReadOnly()) {
+                pendingCommand.isCancelled = true;
+                pendingCommand.future.cancel(true);
+                cancelledCount++;
+            } else {
+                continue;
+            }
+            if (pendingCommand.continuedPage != null) {
+                nextPageTrigger.forget(pendingCommand.continuedPage); // Fetched again when it is next shown
+            }
+        }
+        updateBusyIndicator();
+        if (cancelledCount > 0) {
+            addMessages(new ChatMessage(String.format(CANCELLED_MESSAGE, cancelledCount), ChatMessage.Sender.BOT));
+        }
+    }
+
+    /**
+     * Shows the result of a command once it has finished, unless it was cancelled.
+     * The next page of a list is shown right after the page before it, without scrolling the transcript.
+     *
+     * @param pendingCommand The finished command.
+     * @param responseText The response of the command, or its error message.
+     * @param isError Whether the command failed.
+     * @param nextPageCommand The command that fetches the page after this result, or {@code null}.
+     */
+    private void completeCommand(PendingCommand pendingCommand, String responseText, boolean isError,
+            Command nextPageCommand) {
+        if (!pendingCommands.remove(pendingCommand)) {
+            return; // Dropped before it could run
+        }
+        updateBusyIndicator();
+        if (pendingCommand.isCancelled) {
+            return;
+        }
+        if (isError) {
             showErrorUI(responseText);
             return;
         }
+        ChatMessage message = new ChatMessage(responseText, ChatMessage.Sender.BOT, nextPageCommand);
+        ObservableList<ChatMessage> items = transcript.getItems();
+        int pageIndex = pendingCommand.continuedPage == null ? -1 : items.indexOf(pendingCommand.continuedPage);
+        if (pageIndex < 0) {
+            addMessages(message);
+        } else {
+            items.add(pageIndex + 1, message);
+        }
+    }
 
-        updateUI(userText, responseText);
-        userInput.clear();
+    private void updateBusyIndicator() {
+        busyIndicator.setVisible(!pendingCommands.isEmpty());
     }
 
     /**
@@ -196,16 +388,67 @@ public class MainWindow extends AnchorPane {
         pause.play();
     }
 
+
     /**
-     * Updates the UI with the user input and the bot's response.
+     * Appends messages to the transcript and scrolls to the latest one.
+     * Once the transcript holds more than {@code TRANSCRIPT_LIMIT} messages, the oldest ones are dropped.
      *
-     * @param userText The user's input text.
-     * @param responseText The bot's response text.
-     */
-    private void updateUI(String userText, String responseText) {
-        Platform.runLater(() -> dialogContainer.getChildren().addAll(
-                DialogBox.getUserDialog(userText, userImage),
-                DialogBox.getBotDialog(responseText, botImage)
-        ));
+     * @param messages The messages to append.
+     */
+    private void addMessages(ChatMessage... messages) {
+        ObservableList<ChatMessage> items = transcript.getItems();
+        items.addAll(messages);
+        if (items.size() > TRANSCRIPT_LIMIT) {
+            items.remove(0, items.size() - TRANSCRIPT_LIMIT);
+        }
+        transcript.scrollTo(items.size() - 1);
+    }
+
+    /**
+     * Represents a command that is queued or running on the command thread.
+     */
+    private class PendingCommand implements Runnable {
+        private final Command command;
+        private final ChatMessage continuedPage;
+        private Future<?> future;
+        private volatile boolean isCancelled;
+
+        private PendingCommand(Command command, ChatMessage continuedPage) {
+            this.command = command;
+            this.continuedPage = continuedPage;
+        }
+
+        /**
+         * Executes the command on the command thread and hands its result back to the JavaFX thread.
+         */
+        @Override
+        public void run() {
+            String responseText;
+            boolean isError = false;
+            try {
+                responseText = command.execute(taskList, contactList, taskStorage, contactStorage);
+                assert responseText != null : "Response text should be properly initialized";
+            } catch (NiniException e) {
+                responseText = e.getMessage();
+                isError = true;
+            } catch (CancellationException e) {
+                // Only cancelled queries are interrupted, and their result is discarded
+                responseText = e.getMessage();
+                isError = true;
+            } catch (RuntimeException e) {
+                System.err.println(ERROR_COMMAND_FAILED + " " + e);
+                responseText = ERROR_COMMAND_FAILED;
+                isError = true;
+            }
+
+            if (command.isExit() && !isError && !isCancelled) {
+                System.exit(0);
+                return;
+            }
+            String result = responseText;
+            boolean hasFailed = isError;
+            Command nextPageCommand = isError ? null : command.getNextPageCommand();
+            Platform.runLater(() -> completeCommand(this, result, hasFailed, nextPageCommand));
+        }
     }
 }
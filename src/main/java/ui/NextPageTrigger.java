@@ -0,0 +1,58 @@
+package ui;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Decides when to fetch the next page of a list shown in the transcript, from the rows on screen.
+ * The next page of a message is fetched once the end of the message is on screen, which is the case when
+ * a row after it is visible, or when it is the last visible row and fits entirely on screen.
+ * Each page is continued at most once, and rows that are laid out but never shown fetch nothing.
+ */
+class NextPageTrigger {
+
+    // Pages whose next page was already fetched; pages dropped from the transcript drop out of the set too
+    private final Set<ChatMessage> continuedPages = Collections.newSetFromMap(new WeakHashMap<>());
+    private final Consumer<ChatMessage> onNextPageShown;
+
+    /**
+     * Constructs a new {@code NextPageTrigger}.
+     *
+     * @param onNextPageShown Called with each message that has a next page, once its end is on screen.
+     */
+    NextPageTrigger(Consumer<ChatMessage> onNextPageShown) {
+        assert onNextPageShown != null : "Callback cannot be null";
+        this.onNextPageShown = onNextPageShown;
+    }
+
+    /**
+     * Fetches the next page of every visible message whose end is on screen, unless it was already fetched.
+     *
+     * @param items             The messages in the transcript.
+     * @param firstVisibleIndex The index of the first row at least partly on screen.
+     * @param lastVisibleIndex  The index of the last row at least partly on screen.
+     * @param isLastFullyShown  Whether the last visible row fits entirely on screen.
+     */
+    void update(List<ChatMessage> items, int firstVisibleIndex, int lastVisibleIndex, boolean isLastFullyShown) {
+        assert items != null : "Items cannot be null";
+        int lastShownEnd = isLastFullyShown ? lastVisibleIndex : lastVisibleIndex - 1;
+        for (int i = Math.max(0, firstVisibleIndex); i <= Math.min(lastShownEnd, items.size() - 1); i++) {
+            ChatMessage message = items.get(i);
+            if (message.getNextPageCommand() != null && continuedPages.add(message)) {
+                onNextPageShown.accept(message);
+            }
+        }
+    }
+
+    /**
+     * Allows the next page of the given message to be fetched again, such as after fetching it was cancelled.
+     *
+     * @param page The message showing the page.
+     */
+    void forget(ChatMessage page) {
+        continuedPages.remove(page);
+    }
+}
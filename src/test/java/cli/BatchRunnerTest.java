@@ -0,0 +1,58 @@
+package cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import components.ContactStorage;
+import components.Session;
+import components.StorageWriter;
+import components.TaskStorage;
+import exceptions.NiniException;
+import tasks.Task;
+
+class BatchRunnerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRun_reportsFailedLinesAndPersistsChanges() throws IOException, NiniException {
+        String script = "# Groceries\ntodo Buy milk\n\ntodo Buy bread\nmarktasks 5\nmarktasks 1\nunknown\nbye\n"
+                + "todo Skipped";
+        BatchRunner.Report report;
+        StorageWriter writer = new StorageWriter(StorageWriter.Durability.DEFERRED);
+        try (Session session = new Session(writer, createTaskStorage(writer), createContactStorage(writer))) {
+            report = new BatchRunner(session).run(new BufferedReader(new StringReader(script)), null);
+        }
+
+        assertEquals(6, report.getCommandCount());
+        assertEquals(2, report.getErrors().size());
+        assertTrue(report.getErrors().get(0).startsWith("Line 5: "));
+        assertTrue(report.getErrors().get(1).startsWith("Line 7: "));
+
+        List<Task> tasks;
+        try (StorageWriter reader = new StorageWriter()) {
+            tasks = createTaskStorage(reader).loadTasks();
+        }
+        assertEquals(2, tasks.size());
+        assertTrue(tasks.get(0).isDone());
+        assertEquals("Buy bread", tasks.get(1).getDescription());
+    }
+
+    private TaskStorage createTaskStorage(StorageWriter writer) {
+        return new TaskStorage(tempDir.resolve("tasks.txt").toString(), 0.5, TaskStorage.Format.TEXT, writer);
+    }
+
+    private ContactStorage createContactStorage(StorageWriter writer) {
+        return new ContactStorage(tempDir.resolve("contacts.txt").toString(), writer);
+    }
+}
@@ -0,0 +1,105 @@
+package cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import components.ContactList;
+import components.ContactStorage;
+import components.StorageWriter;
+import components.TaskList;
+import components.TaskStorage;
+import exceptions.InvalidFormatException;
+
+class CommandServerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private StorageWriter writer;
+    private TaskList taskList;
+    private CommandServer server;
+    private SocketAddress address;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        writer = new StorageWriter(StorageWriter.Durability.ASYNC);
+        taskList = new TaskList();
+        server = new CommandServer(taskList, new ContactList(),
+                new TaskStorage(tempDir.resolve("tasks.txt").toString(), 0.5, TaskStorage.Format.TEXT, writer),
+                new ContactStorage(tempDir.resolve("contacts.txt").toString(), writer));
+        address = server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+        writer.close();
+    }
+
+    @Test
+    void testSend_framesMultiLineResponsesAndErrors() throws IOException {
+        try (CommandClient client = new CommandClient(address)) {
+            assertTrue(client.send("todo Read book").isOk());
+
+            CommandClient.Response list = client.send("listtasks");
+            assertTrue(list.isOk());
+            assertTrue(list.getText().contains("\n1. [T][ ] Read book"));
+
+            CommandClient.Response error = client.send("marktasks 9");
+            assertFalse(error.isOk());
+            assertTrue(client.send("bye").isOk());
+        }
+    }
+
+    @Test
+    void testSend_concurrentConnectionsShareTaskList() throws Exception {
+        int connections = 4;
+        int tasksPerConnection = 50;
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            int connection = i;
+            Thread thread = new Thread(() -> {
+                try (CommandClient client = new CommandClient(address)) {
+                    for (int j = 0; j < tasksPerConnection; j++) {
+                        assertTrue(client.send("todo Task " + connection + "-" + j).isOk());
+                    }
+                } catch (IOException | RuntimeException | Error e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertTrue(failures.isEmpty());
+        assertEquals(connections * tasksPerConnection, taskList.size());
+    }
+
+    @Test
+    void testToSocketAddress_portOutOfRangeThrows() throws InvalidFormatException {
+        assertEquals(65_535, ((InetSocketAddress) CommandServer.toSocketAddress("65535")).getPort());
+        assertThrows(InvalidFormatException.class, () -> CommandServer.toSocketAddress("65536"));
+        assertThrows(InvalidFormatException.class, () -> CommandServer.toSocketAddress("99999999999"));
+    }
+}
@@ -0,0 +1,75 @@
+package cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import components.ContactStorage;
+import components.RecordFile;
+import components.Session;
+import components.StorageWriter;
+import components.TaskStorage;
+import exceptions.NiniException;
+
+class ReplTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testRun_printsResponsesAndErrorsUntilBye() throws IOException, NiniException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ByteArrayOutputStream error = new ByteArrayOutputStream();
+        String commands = "todo Read book\n\nunknown\nlisttasks\nbye\ntodo Skipped\n";
+        try (Session session = createSession()) {
+            new Repl(session).run(new BufferedReader(new StringReader(commands)),
+                    new PrintStream(output, true, StandardCharsets.UTF_8),
+                    new PrintStream(error, true, StandardCharsets.UTF_8), false);
+        }
+
+        String printed = output.toString(StandardCharsets.UTF_8);
+        assertTrue(printed.contains("1. [T][ ] Read book"));
+        assertFalse(printed.contains("Skipped"));
+        assertEquals(1, error.toString(StandardCharsets.UTF_8).lines().count());
+    }
+
+    @Test
+    void testRunTerminal_invalidCommandReturnsOne() {
+        try (Session session = createSession()) {
+            assertEquals(1, runTerminal(session, "unknown"));
+        }
+    }
+
+    @Test
+    void testRunTerminal_unreadableStorageReturnsTwo() throws IOException {
+        new RecordFile(tempDir.resolve("tasks.txt.journal").toString()).append(List.of("Q|unknown entry"));
+
+        try (Session session = createSession()) {
+            assertEquals(2, runTerminal(session, "listtasks"));
+        }
+    }
+
+    private int runTerminal(Session session, String command) {
+        PrintStream discarded = new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8);
+        return Repl.runTerminal(session, command, new BufferedReader(new StringReader("")), discarded, discarded,
+                false);
+    }
+
+    private Session createSession() {
+        StorageWriter writer = new StorageWriter();
+        return new Session(writer, new TaskStorage(tempDir.resolve("tasks.txt").toString(), writer),
+                new ContactStorage(tempDir.resolve("contacts.txt").toString(), writer));
+    }
+}
@@ -0,0 +1,55 @@
+package commands;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import org.junit.jupiter.api.Test;
+
+class ListRendererTest {
+
+    private static final String HEADER = "Here are the items:";
+
+    @Test
+    void testRender_wholeListHasNoFooter() {
+        assertEquals("Here are the items:\n1. a\n2. b\n3. c", ListRenderer.render(HEADER, List.of("a", "b", "c"),
+                Page.ALL));
+    }
+
+    @Test
+    void testRender_pageKeepsNumbersFromFullList() {
+        assertEquals("Here are the items:\n3. c\n4. d\nShowing 3-4 of 5.",
+                ListRenderer.render(HEADER, List.of("a", "b", "c", "d", "e"), new Page(2, 2)));
+        assertEquals("There is nothing to show past item 5.",
+                ListRenderer.render(HEADER, List.of("a", "b", "c", "d", "e"), new Page(5, 2)));
+    }
+
+    @Test
+    void testRender_rowsOfPageOnly() {
+        assertEquals("Here are the items:\n3. c\n4. d\nShowing 3-4 of 5.",
+                ListRenderer.render(HEADER, List.of("c", "d"), 2, 5));
+        assertEquals("There is nothing to show past item 5.", ListRenderer.render(HEADER, List.of(), 5, 5));
+    }
+
+    @Test
+    void testRender_streamsToSink() throws IOException {
+        StringBuilder sink = new StringBuilder("> ");
+        ListRenderer.render(HEADER, List.of("a", "b"), new Page(0, 1), sink);
+
+        assertEquals("> Here are the items:\n1. a\nShowing 1-1 of 2.", sink.toString());
+    }
+
+    @Test
+    void testRender_stopsWhenInterrupted() {
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> ListRenderer.render("Here:", List.of("a", "b"),
+                    0, 2));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
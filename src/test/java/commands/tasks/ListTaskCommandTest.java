@@ -0,0 +1,48 @@
+package commands.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import commands.Command;
+import commands.Page;
+import components.TaskList;
+import exceptions.NiniException;
+import tasks.ToDoTask;
+
+class ListTaskCommandTest {
+
+    private TaskList taskList;
+
+    @BeforeEach
+    void setUp() {
+        taskList = new TaskList();
+        for (int i = 1; i <= 3; i++) {
+            taskList.addTask(new ToDoTask("Task " + i));
+        }
+    }
+
+    @Test
+    void testExecute_pageEndsWithNextPageHint() throws NiniException {
+        Command command = new ListTaskCommand(new Page(0, 2));
+
+        assertEquals("Here are the tasks in your list:\n1. [T][ ] Task 1\n2. [T][ ] Task 2\nShowing 1-2 of 3."
+                + "\nNext page: listtasks --after 2 --limit 2", command.execute(taskList, null, null, null));
+    }
+
+    @Test
+    void testExecute_withoutNextPageHintStillContinues() throws NiniException {
+        Command command = new ListTaskCommand(new Page(0, 2)).withoutNextPageHint();
+
+        assertEquals("Here are the tasks in your list:\n1. [T][ ] Task 1\n2. [T][ ] Task 2\nShowing 1-2 of 3.",
+                command.execute(taskList, null, null, null));
+        Command nextPage = command.getNextPageCommand();
+        assertNotNull(nextPage);
+        assertEquals("Here are the tasks in your list:\n3. [T][ ] Task 3\nShowing 3-3 of 3.",
+                nextPage.execute(taskList, null, null, null));
+        assertNull(nextPage.getNextPageCommand());
+    }
+}
@@ -0,0 +1,62 @@
+package commands.tasks;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import components.StorageWriter;
+import components.TaskList;
+import components.TaskStorage;
+import exceptions.InvalidTaskNumberException;
+import exceptions.NiniException;
+import tasks.ToDoTask;
+
+class MarkTaskCommandTest {
+
+    @TempDir
+    Path tempDir;
+
+    private StorageWriter writer;
+    private TaskStorage taskStorage;
+    private TaskList taskList;
+
+    @BeforeEach
+    void setUp() {
+        writer = new StorageWriter();
+        taskStorage = new TaskStorage(tempDir.resolve("tasks.txt").toString(), writer);
+        taskList = new TaskList();
+        taskList.addTask(new ToDoTask("First"));
+        taskList.addTask(new ToDoTask("Second", true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.close();
+    }
+
+    @Test
+    void testExecute_alreadyMarkedTaskChangesNothing() throws IOException, NiniException {
+        MarkTaskCommand command = new MarkTaskCommand(0, 1);
+
+        assertThrows(InvalidTaskNumberException.class, () -> command.execute(taskList, null, taskStorage, null));
+        assertFalse(taskList.getTask(0).isDone());
+        assertTrue(taskStorage.loadTasks().isEmpty());
+    }
+
+    @Test
+    void testExecute_alreadyUnmarkedTaskChangesNothing() throws IOException, NiniException {
+        UnmarkTaskCommand command = new UnmarkTaskCommand(1, 0);
+
+        assertThrows(InvalidTaskNumberException.class, () -> command.execute(taskList, null, taskStorage, null));
+        assertTrue(taskList.getTask(1).isDone());
+        assertTrue(taskStorage.loadTasks().isEmpty());
+    }
+}
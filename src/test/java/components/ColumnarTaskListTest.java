@@ -0,0 +1,27 @@
+package components;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import tasks.Task;
+import tasks.ToDoTask;
+
+class ColumnarTaskListTest extends TaskListBackendTest<ColumnarTaskList> {
+
+    @Override
+    ColumnarTaskList copyOf(List<Task> tasks) {
+        return ColumnarTaskList.copyOf(tasks);
+    }
+
+    @Test
+    void testIsDone_readsDoneColumn() {
+        ColumnarTaskList tasks = copyOf(List.of(new ToDoTask("First", true), new ToDoTask("Second")));
+
+        assertTrue(tasks.isDone(0));
+        assertFalse(tasks.isDone(1));
+    }
+}
@@ -0,0 +1,189 @@
+package components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import exceptions.NiniException;
+import tasks.DeadlineTask;
+import tasks.Task;
+import tasks.ToDoTask;
+
+class LazyTaskListTest {
+
+    @TempDir
+    Path tempDir;
+
+    private String fileName;
+
+    @BeforeEach
+    void setUp() throws IOException, NiniException {
+        fileName = tempDir.resolve("tasks.txt").toString();
+        try (StorageWriter writer = new StorageWriter()) {
+            new TaskStorage(fileName, writer).overwriteTasks(List.of(new ToDoTask("First"),
+                    new DeadlineTask("Second", "25/12/2025 1800"), new ToDoTask("Third")));
+        }
+    }
+
+    @Test
+    void testGet_hydratesRecordsOnDemand() throws IOException {
+        try (LazyTaskList tasks = LazyTaskList.open(fileName)) {
+            assertEquals(3, tasks.size());
+            assertEquals("D|0|Second|25/12/2025 1800|2", tasks.get(1).serialize());
+        }
+    }
+
+    @Test
+    void testMarkTask_survivesCacheEviction() throws IOException, NiniException {
+        try (LazyTaskList tasks = LazyTaskList.open(fileName, 1)) {
+            TaskList taskList = TaskList.backedBy(tasks);
+
+            taskList.markTask(0);
+            taskList.getTask(1);
+            taskList.getTask(2);
+
+            assertTrue(taskList.getTask(0).isDone());
+        }
+    }
+
+    @Test
+    void testAddAndRemove_shiftRecords() throws IOException {
+        try (LazyTaskList tasks = LazyTaskList.open(fileName)) {
+            tasks.add(new ToDoTask("Fourth"));
+            Task removed = tasks.remove(0);
+
+            assertEquals("First", removed.getDescription());
+            assertEquals(3, tasks.size());
+            assertEquals("Second", tasks.get(0).getDescription());
+            assertEquals("Fourth", tasks.get(2).getDescription());
+        }
+    }
+
+    @Test
+    void testRemoveAll_keepsIdsOfRemainingTasks() throws IOException {
+        try (LazyTaskList tasks = LazyTaskList.open(fileName)) {
+            TaskList taskList = TaskList.backedBy(tasks);
+
+            List<Task> removed = taskList.removeTasksById(1, 3);
+
+            assertEquals(2, removed.size());
+            assertEquals(1, taskList.size());
+            assertEquals(2, tasks.getId(0));
+            assertEquals("Second", taskList.getTaskById(2).getDescription());
+        }
+    }
+
+    @Test
+    void testOpen_skipsCorruptedRecords() throws IOException {
+        Path path = Path.of(fileName);
+        Files.writeString(path, Files.readString(path).replace("Third", "Thirb"));
+
+        try (LazyTaskList tasks = LazyTaskList.open(fileName)) {
+            assertEquals(2, tasks.size());
+            assertEquals(1, tasks.getSkippedCount());
+        }
+    }
+
+    @Test
+    void testGet_skipsIntactRecordsThatAreInvalid() throws IOException {
+        new RecordFile(fileName).write(List.of("T|0|Valid|1", "D|0|Invalid|not a date|2"));
+
+        try (LazyTaskList tasks = LazyTaskList.open(fileName)) {
+            assertEquals(2, tasks.size());
+            assertEquals(0, tasks.getSkippedCount());
+
+            Task invalid = tasks.get(1);
+
+            assertEquals(1, tasks.getSkippedCount());
+            assertEquals(LazyTaskList.UNREADABLE_TASK, invalid.getDescription());
+            assertEquals(2, invalid.getId());
+            assertEquals("Valid", tasks.get(0).getDescription());
+        }
+    }
+
+    @Test
+    void testForEachIndexedFields_leavesInvalidRecordsUncounted() throws IOException {
+        new RecordFile(fileName).write(List.of("T|0|Valid|1", "D|0|Invalid|not a date|2",
+                "E|0|Event|1/1/2026 0900|1/1/2026 1100|3"));
+        List<String> descriptions = new ArrayList<>();
+
+        try (LazyTaskList tasks = LazyTaskList.open(fileName)) {
+            tasks.forEachIndexedFields((id, description, date, end) -> descriptions.add(id + " " + description));
+
+            assertEquals(List.of("1 Valid", "2 " + LazyTaskList.UNREADABLE_TASK, "3 Event"), descriptions);
+            assertEquals(0, tasks.getSkippedCount());
+        }
+    }
+
+    @Test
+    void testGetTasks_snapshotHydratesOnlyTasksThatAreRead() throws IOException {
+        new RecordFile(fileName).write(List.of("T|0|Valid|1", "D|0|Invalid|not a date|2", "T|0|Last|3"));
+
+        try (LazyTaskList tasks = LazyTaskList.open(fileName)) {
+            TaskList taskList = TaskList.backedBy(tasks);
+            List<Task> snapshot = taskList.getTasks();
+            taskList.removeTasksById(1);
+
+            assertEquals(0, tasks.getSkippedCount());
+            assertEquals(3, snapshot.size());
+            assertEquals("Valid", snapshot.get(0).getDescription());
+            assertEquals("Last", snapshot.get(2).getDescription());
+            assertEquals(0, tasks.getSkippedCount());
+        }
+    }
+
+    @Test
+    void testOpen_indexesRecordsBeyondFirstWindow() throws IOException {
+        List<String> records = new ArrayList<>();
+        for (int i = 1; i <= 40_000; i++) {
+            records.add("T|0|Task number " + i + "|" + i);
+        }
+        new RecordFile(fileName).write(records);
+
+        try (LazyTaskList tasks = LazyTaskList.open(fileName, 1)) {
+            assertEquals(40_000, tasks.size());
+            assertEquals(0, tasks.getSkippedCount());
+            assertEquals(40_000, tasks.getId(39_999));
+            assertEquals("Task number 30000", tasks.get(29_999).getDescription());
+            assertEquals("Task number 40000", tasks.get(39_999).getDescription());
+        }
+    }
+
+    @Test
+    void testGet_hydratesAfterFileIsDeleted() throws IOException {
+        try (LazyTaskList tasks = LazyTaskList.open(fileName)) {
+            Files.delete(Path.of(fileName));
+
+            assertEquals("Third", tasks.get(2).getDescription());
+        }
+    }
+
+    @Test
+    void testOpen_binaryFile() throws IOException {
+        try (StorageWriter writer = new StorageWriter()) {
+            new TaskStorage(fileName, 0.5, TaskStorage.Format.BINARY, writer)
+                    .overwriteTasks(List.of(new ToDoTask("Binary")));
+        }
+
+        try (LazyTaskList tasks = LazyTaskList.open(fileName)) {
+            assertEquals("Binary", tasks.get(0).getDescription());
+        }
+    }
+
+    @Test
+    void testOpen_legacyFileRejected() throws IOException {
+        Files.writeString(Path.of(fileName), "T|0|Legacy\n");
+
+        assertThrows(IOException.class, () -> LazyTaskList.open(fileName));
+    }
+}
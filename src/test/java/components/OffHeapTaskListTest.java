@@ -0,0 +1,106 @@
+package components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import exceptions.NiniException;
+import tasks.DeadlineTask;
+import tasks.EventTask;
+import tasks.Task;
+import tasks.ToDoTask;
+
+class OffHeapTaskListTest extends TaskListBackendTest<OffHeapTaskList> {
+
+    @TempDir
+    Path tempDir;
+
+    @Override
+    OffHeapTaskList copyOf(List<Task> tasks) {
+        return OffHeapTaskList.copyOf(tasks);
+    }
+
+    @Test
+    void testLoad_copiesBinaryRecords() throws IOException, NiniException {
+        String fileName = tempDir.resolve("tasks.bin").toString();
+        try (StorageWriter writer = new StorageWriter()) {
+            new TaskStorage(fileName, 0.5, TaskStorage.Format.BINARY, writer).overwriteTasks(List.of(
+                    new ToDoTask("First"), new DeadlineTask("Second", "25/12/2025 1800"),
+                    new EventTask("Third", "1/1/2026 0900", "1/1/2026 1100")));
+        }
+
+        OffHeapTaskList tasks = OffHeapTaskList.load(fileName);
+
+        assertEquals(3, tasks.size());
+        assertEquals(0, tasks.getSkippedCount());
+        assertEquals("D|0|Second|25/12/2025 1800|2", tasks.get(1).serialize());
+        assertEquals("E|0|Third|1/1/2026 0900|1/1/2026 1100|3", tasks.get(2).serialize());
+    }
+
+    @Test
+    void testLoad_copiesRecordsBeyondFirstWindow() throws IOException {
+        String fileName = tempDir.resolve("tasks.bin").toString();
+        List<Task> added = new ArrayList<>();
+        for (int i = 0; i < 40_000; i++) {
+            added.add(new ToDoTask("Task number " + i));
+        }
+        try (StorageWriter writer = new StorageWriter()) {
+            new TaskStorage(fileName, 0.5, TaskStorage.Format.BINARY, writer).overwriteTasks(added);
+        }
+
+        OffHeapTaskList tasks = OffHeapTaskList.load(fileName);
+
+        assertEquals(40_000, tasks.size());
+        assertEquals(0, tasks.getSkippedCount());
+        assertEquals("Task number 39999", tasks.get(39_999).getDescription());
+        assertEquals(40_000, tasks.getId(39_999));
+    }
+
+    @Test
+    void testLoad_textFileThrows() throws IOException {
+        String fileName = tempDir.resolve("tasks.txt").toString();
+        try (StorageWriter writer = new StorageWriter()) {
+            new TaskStorage(fileName, writer).overwriteTasks(List.of(new ToDoTask("First")));
+        }
+
+        assertThrows(IOException.class, () -> OffHeapTaskList.load(fileName));
+    }
+
+    @Test
+    void testMarkTask_overwritesRecordInPlace() throws NiniException {
+        OffHeapTaskList tasks = OffHeapTaskList.copyOf(List.of(new ToDoTask("First"), new ToDoTask("Second")));
+        TaskList taskList = TaskList.backedBy(tasks);
+        long storedBytes = tasks.getStoredBytes();
+
+        taskList.markTask(1);
+
+        assertTrue(taskList.getTask(1).isDone());
+        assertEquals(storedBytes, tasks.getStoredBytes());
+    }
+
+    @Test
+    void testRemoveAll_reclaimsRemovedRecords() {
+        List<Task> added = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            added.add(new ToDoTask("Task number " + i));
+        }
+        OffHeapTaskList tasks = OffHeapTaskList.copyOf(added);
+        long storedBytes = tasks.getStoredBytes();
+
+        BitSet removed = new BitSet();
+        removed.set(0, 4900);
+        tasks.removeAll(removed);
+        tasks.set(0, new ToDoTask("Replacement"));
+
+        assertTrue(tasks.getStoredBytes() < storedBytes / 2);
+    }
+}
@@ -2,20 +2,28 @@ package components;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.List;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import commands.Command;
 import commands.ExitCommand;
+import commands.contacts.AddContactCommand;
 import commands.tasks.AddTaskCommand;
 import commands.tasks.DeleteTaskCommand;
+import commands.tasks.FindTaskCommand;
+import commands.tasks.FreeBusyCommand;
 import commands.tasks.ListTaskCommand;
 import commands.tasks.MarkTaskCommand;
+import commands.tasks.OverlappingEventsCommand;
 import commands.tasks.SortTaskCommand;
 import commands.tasks.UnmarkTaskCommand;
+import commands.tasks.UpcomingTaskCommand;
 import exceptions.InvalidCommandException;
 import exceptions.InvalidFormatException;
 import exceptions.NiniException;
@@ -140,4 +148,90 @@ class ParserTest {
     void testParseAddDeadlineCommandWithInvalidFormat() {
         assertThrows(InvalidFormatException.class, () -> parser.parseCommand("deadline Submit report"));
     }
+
+    @Test
+    void testParseFindTasksCommand_wordsFlag() throws NiniException {
+        assertTrue(parser.parseCommand("findtasks --words project meeting") instanceof FindTaskCommand);
+        assertThrows(InvalidFormatException.class, () -> parser.parseCommand("findtasks --words"));
+    }
+
+    @Test
+    void testParseUpcomingCommand() throws NiniException {
+        assertEquals(UpcomingTaskCommand.DEFAULT_COUNT,
+                ((UpcomingTaskCommand) parser.parseCommand("upcomingtasks")).getCount());
+        assertEquals(3, ((UpcomingTaskCommand) parser.parseCommand("upcomingtasks 3")).getCount());
+        assertThrows(InvalidFormatException.class, () -> parser.parseCommand("upcomingtasks 0"));
+    }
+
+    @Test
+    void testParsePeriodCommands() throws NiniException {
+        assertTrue(parser.parseCommand("overlappingevents /from 1/1/2030 0900 /to 1/1/2030 1700")
+                instanceof OverlappingEventsCommand);
+        assertTrue(parser.parseCommand("freebusy /from 1/1/2030 0900 /to 1/1/2030 1700") instanceof FreeBusyCommand);
+        assertThrows(InvalidFormatException.class, () -> parser.parseCommand("freebusy /from 1/1/2030 0900"));
+        assertThrows(InvalidFormatException.class, () ->
+                parser.parseCommand("freebusy /from 2/1/2030 0900 /to 1/1/2030 0900"));
+    }
+
+    @Test
+    void testParseCommand_keywordIsCaseInsensitive() throws NiniException {
+        assertTrue(parser.parseCommand("LISTTASKS") instanceof ListTaskCommand);
+        assertTrue(parser.parseCommand("SortTasks") instanceof SortTaskCommand);
+        assertThrows(InvalidCommandException.class, () -> parser.parseCommand(" listtasks"));
+    }
+
+    @Test
+    void testParseIndices_mixedWhitespace() throws NiniException {
+        Command command = parser.parseCommand("deletetasks  2\t4   6 ");
+        assertArrayEquals(new int[]{1, 3, 5}, ((DeleteTaskCommand) command).getDeleteIndices());
+        assertThrows(InvalidFormatException.class, () -> parser.parseCommand("deletetasks 1 99999999999"));
+    }
+
+    @Test
+    void testParseAddDeadlineCommand_ignoresExtraMarkers() throws NiniException {
+        Command command = parser.parseCommand("deadline Submit report /by 1/1/2025 1800 /by later");
+        assertEquals("Submit report", ((AddTaskCommand) command).getAddedTask().getDescription());
+        assertThrows(InvalidFormatException.class, () -> parser.parseCommand("deadline /by 1/1/2025 1800"));
+    }
+
+    @Test
+    void testParseListCommands_pagingOptions() throws NiniException {
+        TaskList taskList = new TaskList(List.of(new ToDoTask("First"), new ToDoTask("Second"),
+                new ToDoTask("Third report")));
+
+        assertEquals("Here are the tasks in your list:\n2. [T][ ] Second\nShowing 2-2 of 3."
+                + "\nNext page: listtasks --after 2 --limit 1",
+                parser.parseCommand("listtasks --offset 1 --limit 1").execute(taskList, null, null, null));
+        assertEquals("Here are the tasks in your list:\n1. [T][ ] Third report",
+                parser.parseCommand("findtasks report --limit 5").execute(taskList, null, null, null));
+        assertThrows(InvalidFormatException.class, () -> parser.parseCommand("listtasks --limit 0"));
+        assertThrows(InvalidFormatException.class, () -> parser.parseCommand("listtasks --offset x"));
+        assertThrows(InvalidFormatException.class, () -> parser.parseCommand("listcontacts everything"));
+        assertThrows(InvalidFormatException.class, () -> parser.parseCommand("findcontact --limit 2"));
+    }
+
+    @Test
+    void testParseListTasks_cursorSurvivesEarlierDeletes() throws NiniException {
+        TaskList taskList = new TaskList(List.of(new ToDoTask("First"), new ToDoTask("Second"),
+                new ToDoTask("Third"), new ToDoTask("Fourth")));
+        Command firstPage = parser.parseCommand("listtasks --limit 2");
+        firstPage.execute(taskList, null, null, null);
+
+        taskList.removeTask(0);
+        Command secondPage = firstPage.getNextPageCommand();
+
+        assertEquals("Here are the tasks in your list:\n2. [T][ ] Third\n3. [T][ ] Fourth\nShowing 2-3 of 3.",
+                secondPage.execute(taskList, null, null, null));
+        assertNull(secondPage.getNextPageCommand());
+        assertThrows(InvalidFormatException.class, () -> parser.parseCommand("listtasks --after 2 --offset 1"));
+        assertThrows(InvalidFormatException.class, () -> parser.parseCommand("listcontacts --after 2"));
+    }
+
+    @Test
+    void testParseAddContactCommand_emailWithoutSpaceAfterMarker() throws NiniException {
+        Command command = parser.parseCommand("addcontact Bob /p 1 /ebob@x.com");
+
+        assertEquals(new Contact("Bob", "1", "bob@x.com"), ((AddContactCommand) command).getAddedContact());
+        assertThrows(InvalidFormatException.class, () -> parser.parseCommand("addcontact Bob /p 1 /e"));
+    }
 }
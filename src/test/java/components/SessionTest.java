@@ -0,0 +1,61 @@
+package components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import exceptions.NiniException;
+import tasks.DeadlineTask;
+import tasks.Task;
+import tasks.ToDoTask;
+
+class SessionTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testLoadTaskList_everyTypeLoadsJournaledChanges() throws IOException, NiniException {
+        try (Session session = openSession(Session.TaskListType.LAZY)) {
+            session.getTaskStorage().overwriteTasks(List.of(new ToDoTask("First"),
+                    new DeadlineTask("Second", "25/12/2025 1800")));
+            session.getTaskStorage().saveMarkedTasks(2);
+        }
+
+        for (Session.TaskListType type : Session.TaskListType.values()) {
+            try (Session session = openSession(type)) {
+                TaskList taskList = session.loadTaskList();
+
+                assertEquals(2, taskList.size());
+                assertEquals("First", taskList.getTask(0).getDescription());
+                assertTrue(taskList.getTask(1).isDone());
+            }
+        }
+    }
+
+    @Test
+    void testLoadTaskList_columnarChangesAreSaved() throws IOException, NiniException {
+        try (Session session = openSession(Session.TaskListType.COLUMNAR)) {
+            TaskList taskList = session.loadTaskList();
+            Task task = new ToDoTask("Added");
+            taskList.addTask(task);
+            session.getTaskStorage().saveTask(task);
+        }
+
+        try (Session session = openSession(Session.TaskListType.LAZY)) {
+            assertEquals("Added", session.loadTaskList().getTask(0).getDescription());
+        }
+    }
+
+    private Session openSession(Session.TaskListType type) {
+        StorageWriter writer = new StorageWriter();
+        return new Session(writer, new TaskStorage(tempDir.resolve("tasks.txt").toString(), writer),
+                new ContactStorage(tempDir.resolve("contacts.txt").toString(), writer), type);
+    }
+}
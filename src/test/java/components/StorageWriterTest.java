@@ -0,0 +1,164 @@
+package components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import exceptions.NiniException;
+import tasks.Task;
+import tasks.ToDoTask;
+
+class StorageWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testAppend_asyncWritesInOrder() throws IOException {
+        RecordFile file = new RecordFile(tempDir.resolve("records.txt").toString());
+        StorageWriter writer = new StorageWriter(StorageWriter.Durability.ASYNC);
+
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            futures.add(writer.append(file, List.of("record " + i)));
+        }
+        writer.flush();
+
+        assertTrue(futures.stream().allMatch(CompletableFuture::isDone));
+        List<String> records = file.read();
+        assertEquals(100, records.size());
+        assertEquals("record 0", records.get(0));
+        assertEquals("record 99", records.get(99));
+        writer.close();
+    }
+
+    @Test
+    void testAppend_deferredWritesHeldUntilFlush() throws IOException {
+        RecordFile file = new RecordFile(tempDir.resolve("records.txt").toString());
+        StorageWriter writer = new StorageWriter(StorageWriter.Durability.DEFERRED);
+
+        CompletableFuture<Void> first = writer.append(file, List.of("first"));
+        writer.append(file, List.of("second"));
+
+        assertFalse(first.isDone());
+        assertTrue(file.read().isEmpty());
+        writer.flush();
+        assertTrue(first.isDone());
+        assertEquals(List.of("first", "second"), file.read());
+        writer.close();
+    }
+
+    @Test
+    void testFlush_deferredWriteFailureThrows() throws IOException {
+        // A directory cannot be appended to, so the held-back write fails once it is released
+        RecordFile file = new RecordFile(Files.createDirectory(tempDir.resolve("records")).toString());
+        StorageWriter writer = new StorageWriter(StorageWriter.Durability.DEFERRED);
+
+        CompletableFuture<Void> future = writer.append(file, List.of("record"));
+
+        assertThrows(IOException.class, writer::flush);
+        assertTrue(future.isCompletedExceptionally());
+        writer.close();
+    }
+
+    @Test
+    void testRun_failureCompletesFutureExceptionally() throws IOException {
+        StorageWriter writer = new StorageWriter(StorageWriter.Durability.ASYNC);
+
+        CompletableFuture<Void> future = writer.run(() -> {
+            throw new IOException("Disk full");
+        });
+        writer.flush();
+
+        assertTrue(future.isCompletedExceptionally());
+        writer.close();
+    }
+
+    @Test
+    void testRun_syncFailureThrows() {
+        try (StorageWriter writer = new StorageWriter()) {
+            assertThrows(IOException.class, () -> writer.run(() -> {
+                throw new IOException("Disk full");
+            }));
+        }
+    }
+
+    @Test
+    void testRun_asyncFailureReportedToListener() throws IOException {
+        List<IOException> failures = new CopyOnWriteArrayList<>();
+        try (StorageWriter writer = new StorageWriter(StorageWriter.Durability.ASYNC)) {
+            writer.setFailureListener(failures::add);
+            writer.run(() -> {
+                throw new IOException("Disk full");
+            });
+            writer.flush();
+        }
+
+        assertEquals(1, failures.size());
+        assertEquals("Disk full", failures.get(0).getMessage());
+    }
+
+    @Test
+    void testAppend_closedWriterThrows() {
+        RecordFile file = new RecordFile(tempDir.resolve("records.txt").toString());
+        StorageWriter writer = new StorageWriter();
+        writer.close();
+
+        assertThrows(IOException.class, () -> writer.append(file, List.of("record")));
+    }
+
+    @Test
+    void testClose_deferredWritesDuringCloseWrittenOrRejected() throws Exception {
+        RecordFile file = new RecordFile(tempDir.resolve("records.txt").toString());
+        StorageWriter writer = new StorageWriter(StorageWriter.Durability.DEFERRED);
+        List<CompletableFuture<Void>> accepted = new CopyOnWriteArrayList<>();
+        Thread appender = new Thread(() -> {
+            for (int i = 0; i < 1000; i++) {
+                try {
+                    accepted.add(writer.append(file, List.of("record " + i)));
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        });
+
+        appender.start();
+        writer.close();
+        appender.join();
+
+        for (CompletableFuture<Void> future : accepted) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(accepted.size(), file.read().size());
+    }
+
+    @Test
+    void testTaskStorage_periodicWritesVisibleAfterLoad() throws IOException, NiniException {
+        String fileName = tempDir.resolve("tasks.txt").toString();
+        StorageWriter writer = new StorageWriter(StorageWriter.Durability.PERIODIC, 50);
+        TaskStorage taskStorage = new TaskStorage(fileName, 0.5, TaskStorage.Format.TEXT, writer);
+
+        taskStorage.overwriteTasks(List.of(new ToDoTask("First")));
+        taskStorage.saveTask(new ToDoTask("Second"));
+        taskStorage.saveMarkedTasks(1);
+        List<Task> tasks = taskStorage.loadTasks();
+
+        assertEquals(2, tasks.size());
+        assertTrue(tasks.get(0).isDone());
+        assertEquals("Second", tasks.get(1).getDescription());
+        writer.close();
+    }
+}
@@ -0,0 +1,102 @@
+package components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import exceptions.NiniException;
+import tasks.DeadlineTask;
+import tasks.EventTask;
+import tasks.Task;
+import tasks.ToDoTask;
+
+/**
+ * Cases every {@code TaskList.Backend} must pass. Each backend's test class extends this one.
+ *
+ * @param <T> The type of the backend under test.
+ */
+abstract class TaskListBackendTest<T extends List<Task> & TaskList.Backend> {
+
+    /**
+     * Creates a backend holding the given tasks, in order.
+     *
+     * @param tasks The tasks to store.
+     * @return The backend.
+     */
+    abstract T copyOf(List<Task> tasks);
+
+    @Test
+    void testGet_roundTripsEveryTaskType() throws NiniException {
+        T tasks = copyOf(List.of(new ToDoTask("First", true), new DeadlineTask("Second", "25/12/2025 1800"),
+                new EventTask("Third", "1/1/2026 0900", "1/1/2026 1100")));
+
+        assertEquals(3, tasks.size());
+        assertEquals("T|1|First|1", tasks.get(0).serialize());
+        assertEquals("D|0|Second|25/12/2025 1800|2", tasks.get(1).serialize());
+        assertEquals("E|0|Third|1/1/2026 0900|1/1/2026 1100|3", tasks.get(2).serialize());
+    }
+
+    @Test
+    void testForEachIndexedFields_matchesStoredTasks() throws NiniException {
+        T tasks = copyOf(List.of(new ToDoTask("First", true), new DeadlineTask("Second", "25/12/2025 1800"),
+                new EventTask("Third", "1/1/2026 0900", "1/1/2026 1100")));
+        List<String> fields = new ArrayList<>();
+
+        tasks.forEachIndexedFields((id, description, date, end) -> fields.add(id + " " + description + " "
+                + date + " " + end));
+
+        assertEquals(List.of("1 First null null", "2 Second 2025-12-25T18:00 null",
+                "3 Third 2026-01-01T09:00 2026-01-01T11:00"), fields);
+    }
+
+    @Test
+    void testCopyOf_assignsMissingAndDuplicateIds() {
+        Task first = new ToDoTask("First");
+        first.setId(5);
+        Task second = new ToDoTask("Second");
+        second.setId(5);
+
+        T tasks = copyOf(List.of(first, second, new ToDoTask("Third")));
+
+        assertEquals(5, tasks.getId(0));
+        assertEquals(6, tasks.getId(1));
+        assertEquals(7, tasks.getId(2));
+    }
+
+    @Test
+    void testMarkTask_writesDoneFlagBack() throws NiniException {
+        TaskList taskList = TaskList.backedBy(copyOf(List.of(new ToDoTask("First"), new ToDoTask("Second"))));
+
+        taskList.markTask(1);
+
+        assertFalse(taskList.getTask(0).isDone());
+        assertTrue(taskList.getTask(1).isDone());
+    }
+
+    @Test
+    void testRemoveAll_keepsTasksAfterCompaction() {
+        List<Task> added = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            added.add(new ToDoTask("Task number " + i));
+        }
+        T tasks = copyOf(added);
+
+        BitSet removed = new BitSet();
+        removed.set(0, 4900);
+        tasks.removeAll(removed);
+        tasks.remove(0);
+        tasks.add(0, new ToDoTask("Replacement"));
+
+        assertEquals(100, tasks.size());
+        assertEquals("Replacement", tasks.get(0).getDescription());
+        assertEquals("Task number 4901", tasks.get(1).getDescription());
+        assertEquals("Task number 4999", tasks.get(99).getDescription());
+        assertEquals(5000, tasks.getId(99));
+    }
+}
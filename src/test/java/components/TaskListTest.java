@@ -3,10 +3,18 @@ package components;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -112,6 +120,224 @@ class TaskListTest {
         }
     }
 
+    @Test
+    void testAddTask_assignsIncreasingIds() {
+        Task first = new ToDoTask("First");
+        Task second = new ToDoTask("Second");
+
+        taskList.addTask(first);
+        taskList.removeTask(0);
+        taskList.addTask(second);
+
+        assertEquals(1, first.getId());
+        assertEquals(2, second.getId());
+        assertEquals(second, taskList.getTaskById(2));
+        assertEquals(-1, taskList.indexOf(1));
+    }
+
+    @Test
+    void testRemoveTasksById_removesAllWithoutShifting() {
+        for (int i = 1; i <= 5; i++) {
+            taskList.addTask(new ToDoTask("Task " + i));
+        }
+
+        List<Task> removed = taskList.removeTasksById(4, 2);
+
+        assertEquals("Task 2", removed.get(0).getDescription());
+        assertEquals("Task 4", removed.get(1).getDescription());
+        assertEquals(3, taskList.size());
+        assertEquals("Task 5", taskList.getTask(2).getDescription());
+        assertEquals(2, taskList.indexOf(5));
+    }
+
+    @Test
+    void testMarkTaskById_afterSort() throws NiniException {
+        Task simpleTask = new ToDoTask("Simple Task");
+        Task deadlineTask = new DeadlineTask("Deadline Task", "25/12/2025 1800");
+        taskList.addTask(simpleTask);
+        taskList.addTask(deadlineTask);
+        taskList.sortTasks();
+
+        taskList.markTaskById(simpleTask.getId());
+
+        assertTrue(simpleTask.isDone());
+        assertEquals(1, taskList.indexOf(simpleTask.getId()));
+    }
+
+    @Test
+    void testMarkTaskById_unknownIdThrowsException() {
+        assertThrows(NoSuchElementException.class, () -> taskList.markTaskById(42));
+    }
+
+    @Test
+    void testFindTasks_matchesSubstringsAfterChanges() {
+        taskList.addTask(new ToDoTask("Read book"));
+        taskList.addTask(new ToDoTask("Return NOTEBOOK"));
+        assertEquals(2, taskList.findTasks("book").size());
+
+        taskList.removeTask(0);
+        taskList.addTask(new ToDoTask("Buy bookshelf"));
+        List<Task> matches = taskList.findTasks("Book");
+
+        assertEquals(2, matches.size());
+        assertEquals("Return NOTEBOOK", matches.get(0).getDescription());
+        assertEquals("Buy bookshelf", matches.get(1).getDescription());
+        assertEquals(1, taskList.findTasks("bu").size());
+        assertTrue(taskList.findTasks("bookcase").isEmpty());
+    }
+
+    @Test
+    void testFindTasksByWords_matchesEveryWord() {
+        taskList.addTask(new ToDoTask("Project meeting notes"));
+        taskList.addTask(new ToDoTask("Meeting with project team"));
+        taskList.addTask(new ToDoTask("Projector repair"));
+
+        assertEquals(2, taskList.findTasksByWords("PROJECT meeting").size());
+
+        taskList.removeTasksById(1);
+
+        List<Task> matches = taskList.findTasksByWords("project");
+        assertEquals(1, matches.size());
+        assertEquals("Meeting with project team", matches.get(0).getDescription());
+    }
+
+    @Test
+    void testSortTasks_keepsDateIndexAfterChanges() throws NiniException {
+        Task simpleTask = new ToDoTask("Simple Task");
+        Task lateTask = new DeadlineTask("Late Task", "25/12/2025 1800");
+        taskList.addTask(simpleTask);
+        taskList.addTask(lateTask);
+        taskList.sortTasks();
+
+        Task earlyTask = new EventTask("Early Task", "24/12/2025 0900", "24/12/2025 1700");
+        taskList.addTask(earlyTask);
+        taskList.removeTask(1);
+        taskList.sortTasks();
+
+        assertEquals(earlyTask, taskList.getTask(0));
+        assertEquals(lateTask, taskList.getTask(1));
+        assertEquals(2, taskList.size());
+    }
+
+    @Test
+    void testGetUpcomingTasks_returnsEarliestFromDate() throws NiniException {
+        taskList.addTask(new DeadlineTask("Past", "1/1/2020 0900"));
+        taskList.addTask(new ToDoTask("Undated"));
+        taskList.addTask(new DeadlineTask("Third", "3/1/2030 0900"));
+        taskList.addTask(new DeadlineTask("First", "1/1/2030 0900"));
+        taskList.addTask(new EventTask("Second", "2/1/2030 0900", "2/1/2030 1000"));
+
+        List<Task> upcoming = taskList.getUpcomingTasks(LocalDateTime.of(2025, 1, 1, 0, 0), 2);
+
+        assertEquals(2, upcoming.size());
+        assertEquals("First", upcoming.get(0).getDescription());
+        assertEquals("Second", upcoming.get(1).getDescription());
+        assertEquals("Undated", taskList.getTasksByDate().get(4).getDescription());
+    }
+
+    @Test
+    void testGetOverlappingEvents_excludesTouchingAndRemovedEvents() throws NiniException {
+        EventTask morning = new EventTask("Morning", "1/1/2030 0900", "1/1/2030 1100");
+        EventTask lunch = new EventTask("Lunch", "1/1/2030 1200", "1/1/2030 1300");
+        EventTask allDay = new EventTask("All day", "1/1/2030 0000", "1/1/2030 2359");
+        taskList.addTask(morning);
+        taskList.addTask(new ToDoTask("Undated"));
+        taskList.addTask(lunch);
+        taskList.addTask(allDay);
+
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime to = LocalDateTime.of(2030, 1, 1, 12, 0);
+        assertEquals(List.of(allDay, morning), taskList.getOverlappingEvents(from, to));
+
+        taskList.removeTask(3);
+        assertEquals(List.of(morning), taskList.getOverlappingEvents(from, to));
+    }
+
+    @Test
+    void testGetTasks_snapshotIsReusedAndUnaffectedByChanges() {
+        for (int i = 0; i < 3000; i++) {
+            taskList.addTask(new ToDoTask("Task " + i));
+        }
+        List<Task> snapshot = taskList.getTasks();
+        assertSame(snapshot, taskList.getTasks());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(new ToDoTask("Extra")));
+
+        taskList.removeTask(1500);
+        taskList.addTask(new ToDoTask("Last"));
+        List<Task> updated = taskList.getTasks();
+
+        assertEquals(3000, snapshot.size());
+        assertEquals("Task 1500", snapshot.get(1500).getDescription());
+        assertEquals(3000, updated.size());
+        assertEquals("Task 1499", updated.get(1499).getDescription());
+        assertEquals("Task 1501", updated.get(1500).getDescription());
+        assertEquals("Last", updated.get(2999).getDescription());
+        assertSame(snapshot.get(0), updated.get(0));
+    }
+
+    @Test
+    void testConcurrentReadsAndWrites() throws InterruptedException {
+        List<Throwable> failures = new ArrayList<>();
+        List<Thread> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Thread reader = new Thread(() -> {
+                try {
+                    for (int j = 0; j < 200; j++) {
+                        List<Task> tasks = taskList.getTasks();
+                        assertTrue(tasks.size() <= taskList.size());
+                        taskList.findTasks("task");
+                        taskList.findTasksByWords("task");
+                        taskList.getUpcomingTasks(LocalDateTime.of(2025, 1, 1, 0, 0), 5);
+                    }
+                } catch (RuntimeException | Error e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+        for (int i = 0; i < 2000; i++) {
+            taskList.addTask(new ToDoTask("Task " + i));
+        }
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertTrue(failures.isEmpty());
+        assertEquals(2000, taskList.findTasksByWords("task").size());
+        assertEquals(2000, taskList.getTasks().size());
+    }
+
+    @Test
+    void testGetPage_copiesOnlyTheRequestedTasks() {
+        for (int i = 0; i < 5; i++) {
+            taskList.addTask(new ToDoTask("Task " + i));
+        }
+
+        TaskPage page = taskList.getPage(3, 4);
+        assertEquals(List.of(taskList.getTask(3), taskList.getTask(4)), page.getTasks());
+        assertEquals(3, page.getStart());
+        assertEquals(5, page.getEnd());
+        assertEquals(5, page.getListSize());
+        assertTrue(taskList.getPage(7, 2).getTasks().isEmpty());
+    }
+
+    @Test
+    void testGetPageAfter_continuesAfterTaskWithId() {
+        for (int i = 0; i < 5; i++) {
+            taskList.addTask(new ToDoTask("Task " + i));
+        }
+        long afterId = taskList.getTask(1).getId();
+        taskList.removeTask(0);
+
+        TaskPage page = taskList.getPageAfter(afterId, 2);
+        assertEquals(List.of(taskList.getTask(1), taskList.getTask(2)), page.getTasks());
+        assertEquals(1, page.getStart());
+        assertNull(taskList.getPageAfter(42, 2));
+    }
+
     @Test
     void testSize() {
         assertEquals(0, taskList.size());
@@ -121,4 +347,19 @@ class TaskListTest {
 
         assertEquals(1, taskList.size());
     }
+
+    @Test
+    void testFindTasks_stopsWhenInterrupted() {
+        taskList.addTask(new ToDoTask("Read book"));
+        taskList.addTask(new ToDoTask("Return book"));
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(CancellationException.class, () -> taskList.findTasks("bo"));
+            assertThrows(CancellationException.class, () -> taskList.findTasksByWords("book"));
+        } finally {
+            Thread.interrupted();
+        }
+        assertEquals(2, taskList.findTasksByWords("book").size());
+    }
 }
@@ -0,0 +1,353 @@
+package components;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import exceptions.NiniException;
+import tasks.DeadlineTask;
+import tasks.EventTask;
+import tasks.Task;
+import tasks.ToDoTask;
+
+class TaskStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private String fileName;
+    private StorageWriter writer;
+    private TaskStorage taskStorage;
+
+    @BeforeEach
+    void setUp() {
+        fileName = tempDir.resolve("tasks.txt").toString();
+        writer = new StorageWriter();
+        taskStorage = new TaskStorage(fileName, writer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.close();
+    }
+
+    @Test
+    void testLoadTasks_missingFileReturnsEmptyList() throws IOException, NiniException {
+        assertTrue(taskStorage.loadTasks().isEmpty());
+    }
+
+    @Test
+    void testLoadTasks_replaysJournalOnTopOfSnapshot() throws IOException, NiniException {
+        taskStorage.overwriteTasks(List.of(new ToDoTask("First"), new ToDoTask("Second")));
+        taskStorage.saveTask(new DeadlineTask("Third", "25/12/2025 1800"));
+        taskStorage.saveMarkedTasks(1, 3);
+        taskStorage.saveDeletedTasks(2);
+
+        List<Task> tasks = new TaskStorage(fileName, writer).loadTasks();
+
+        assertEquals(2, tasks.size());
+        assertEquals("First", tasks.get(0).getDescription());
+        assertTrue(tasks.get(0).isDone());
+        assertEquals("Third", tasks.get(1).getDescription());
+        assertTrue(tasks.get(1).isDone());
+    }
+
+    @Test
+    void testLoadTasks_replaysSortAndUnmark() throws IOException, NiniException {
+        taskStorage.saveTask(new ToDoTask("Undated"));
+        taskStorage.saveTask(new DeadlineTask("Dated", "25/12/2025 1800"));
+        taskStorage.saveSortedTasks();
+        taskStorage.saveMarkedTasks(1);
+        taskStorage.saveUnmarkedTasks(1);
+
+        List<Task> tasks = new TaskStorage(fileName, writer).loadTasks();
+
+        assertEquals("Dated", tasks.get(0).getDescription());
+        assertEquals("Undated", tasks.get(1).getDescription());
+        assertFalse(tasks.get(1).isDone());
+    }
+
+    @Test
+    void testLoadTasks_skipsEntryForSkippedTask() throws IOException, NiniException {
+        List<Task> saved = List.of(new ToDoTask("First"), new ToDoTask("Second"), new ToDoTask("Third"));
+        for (int i = 0; i < saved.size(); i++) {
+            saved.get(i).setId(i + 1);
+        }
+        taskStorage.overwriteTasks(saved);
+        new RecordFile(fileName + ".journal").append(List.of("MI|3", "MI|1", "A|T|0|Fourth"));
+        Path path = Path.of(fileName);
+        Files.writeString(path, Files.readString(path).replace("First", "Firsu"));
+
+        List<Task> tasks = taskStorage.loadTasks();
+
+        assertEquals(3, tasks.size());
+        assertFalse(tasks.get(0).isDone());
+        assertTrue(tasks.get(1).isDone());
+        assertEquals("Fourth", tasks.get(2).getDescription());
+        assertEquals(2, taskStorage.getSkippedRecordCount());
+        assertTrue(Files.readString(Path.of(fileName + ".corrupted")).contains("Firsu"));
+
+        TaskStorage reloaded = new TaskStorage(fileName, writer);
+        assertEquals(tasks.toString(), reloaded.loadTasks().toString());
+        assertEquals(0, reloaded.getSkippedRecordCount());
+    }
+
+    @Test
+    void testLoadTasks_idEntriesStopReplayWhenIdsWereAssigned() throws IOException, NiniException {
+        taskStorage.overwriteTasks(List.of(new ToDoTask("First"), new ToDoTask("Second"), new ToDoTask("Third")));
+        new RecordFile(fileName + ".journal").append(List.of("S|", "MI|2"));
+        Path path = Path.of(fileName);
+        Files.writeString(path, Files.readString(path).replace("First", "Firsu"));
+
+        List<Task> tasks = taskStorage.loadTasksLazily(1);
+
+        assertEquals(2, tasks.size());
+        assertFalse(tasks.get(0).isDone());
+        assertFalse(tasks.get(1).isDone());
+        assertEquals(2, taskStorage.getSkippedRecordCount());
+    }
+
+    @Test
+    void testLoadTasks_largeSnapshotKeepsOrder() throws IOException, NiniException {
+        List<Task> saved = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            saved.add(new DeadlineTask("Task number " + i, "25/12/2025 1800"));
+        }
+        taskStorage.overwriteTasks(saved);
+
+        List<Task> tasks = new TaskStorage(fileName, writer).loadTasks();
+
+        assertEquals(50_000, tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals("Task number " + i, tasks.get(i).getDescription());
+        }
+    }
+
+    @Test
+    void testLoadTasks_reportsLineOfInvalidRecord() throws IOException, NiniException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            lines.add(i == 40_000 ? "X|0|Unknown type" : "T|0|Task number " + i);
+        }
+        Files.write(Path.of(fileName), lines); // Old unchecksummed format, so the records can be edited freely
+
+        PrintStream originalErr = System.err;
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        List<Task> tasks;
+        System.setErr(new PrintStream(err, true, StandardCharsets.UTF_8));
+        try {
+            tasks = taskStorage.loadTasks();
+        } finally {
+            System.setErr(originalErr);
+        }
+
+        assertEquals(49_999, tasks.size());
+        assertEquals(1, taskStorage.getSkippedRecordCount());
+        assertEquals("Task number 40001", tasks.get(40_000).getDescription());
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("line 40001"));
+    }
+
+    @Test
+    void testOverwriteTasks_clearsJournal() throws IOException, NiniException {
+        taskStorage.saveTask(new ToDoTask("Journaled"));
+        taskStorage.overwriteTasks(List.of(new ToDoTask("Snapshot")));
+
+        List<Task> tasks = new TaskStorage(fileName, writer).loadTasks();
+
+        assertEquals(1, tasks.size());
+        assertEquals("Snapshot", tasks.get(0).getDescription());
+    }
+
+    @Test
+    void testLoadTasks_keepsTaskIds() throws IOException, NiniException {
+        TaskList taskList = new TaskList(List.of(new ToDoTask("First"), new ToDoTask("Second")));
+        taskList.removeTask(0);
+        taskStorage.overwriteTasks(taskList.getTasks());
+        ToDoTask third = new ToDoTask("Third");
+        taskList.addTask(third);
+        taskStorage.saveTask(third);
+        taskStorage.saveDeletedTasks(2);
+
+        List<Task> tasks = new TaskStorage(fileName, writer).loadTasks();
+
+        assertEquals(1, tasks.size());
+        assertEquals(3, tasks.get(0).getId());
+    }
+
+    @Test
+    void testLoadTasks_legacyFileWithoutChecksums() throws IOException, NiniException {
+        Files.writeString(Path.of(fileName), "T|1|Legacy\nD|0|Old deadline|25/12/2025 1800\n");
+
+        List<Task> tasks = taskStorage.loadTasks();
+
+        assertEquals(2, tasks.size());
+        assertTrue(tasks.get(0).isDone());
+        assertEquals("Old deadline", tasks.get(1).getDescription());
+    }
+
+    @Test
+    void testLoadTasks_skipsCorruptedRecords() throws IOException, NiniException {
+        taskStorage.overwriteTasks(List.of(new ToDoTask("Intact"), new ToDoTask("Corrupted")));
+        Path path = Path.of(fileName);
+        Files.writeString(path, Files.readString(path).replace("Corrupted", "Corrupteb"));
+
+        List<Task> tasks = taskStorage.loadTasks();
+
+        assertEquals(1, tasks.size());
+        assertEquals("Intact", tasks.get(0).getDescription());
+        assertEquals(1, taskStorage.getSkippedRecordCount());
+    }
+
+    @Test
+    void testOverwriteTasks_leavesNoTemporaryFile() throws IOException {
+        taskStorage.overwriteTasks(List.of(new ToDoTask("Task")));
+
+        assertTrue(Files.exists(Path.of(fileName)));
+        assertFalse(Files.exists(Path.of(fileName + ".tmp")));
+    }
+
+    @Test
+    void testLoadTasks_binaryFormatRoundTrip() throws IOException, NiniException {
+        TaskStorage binaryStorage = new TaskStorage(fileName, 0.5, TaskStorage.Format.BINARY, writer);
+        DeadlineTask deadline = new DeadlineTask("Submit report", "25/12/2025 1800");
+        deadline.markAsDone();
+        deadline.setId(7);
+        binaryStorage.overwriteTasks(List.of(new ToDoTask("Read"), deadline,
+                new EventTask("Meeting", "24/12/2025 0900", "24/12/2025 1700")));
+
+        List<Task> tasks = new TaskStorage(fileName, writer).loadTasks();
+
+        assertEquals(3, tasks.size());
+        assertEquals("D|1|Submit report|25/12/2025 1800|7", tasks.get(1).serialize());
+        assertEquals("E|0|Meeting|24/12/2025 0900|24/12/2025 1700|9", tasks.get(2).serialize());
+    }
+
+    @Test
+    void testLoadTasks_binaryFormatSkipsCorruptedRecord() throws IOException, NiniException {
+        TaskStorage binaryStorage = new TaskStorage(fileName, 0.5, TaskStorage.Format.BINARY, writer);
+        binaryStorage.overwriteTasks(List.of(new ToDoTask("Corrupted"), new ToDoTask("Intact")));
+        Path path = Path.of(fileName);
+        byte[] content = Files.readAllBytes(path);
+        content[12] ^= 1;
+        Files.write(path, content);
+
+        List<Task> tasks = binaryStorage.loadTasks();
+
+        assertEquals(1, tasks.size());
+        assertEquals("Intact", tasks.get(0).getDescription());
+    }
+
+    @Test
+    void testSaveTask_compactsLargeJournal() throws IOException, NiniException {
+        for (int i = 0; i < 100; i++) {
+            taskStorage.saveTask(new ToDoTask("Task " + i));
+        }
+
+        List<Task> tasks = new TaskStorage(fileName, writer).loadTasks();
+
+        assertEquals(100, tasks.size());
+        assertEquals("Task 99", tasks.get(99).getDescription());
+        Path journalPath = Path.of(fileName + ".journal");
+        assertTrue(!Files.exists(journalPath) || Files.size(journalPath) < Files.size(Path.of(fileName)));
+    }
+
+    @Test
+    void testSaveTask_compactionFailureReportedToListener() throws IOException {
+        List<IOException> failures = new ArrayList<>();
+        writer.setFailureListener(failures::add);
+        taskStorage.saveMarkedTasks(42); // Refers to no task, so folding the journal fails
+        for (int i = 0; i < 100; i++) {
+            taskStorage.saveTask(new ToDoTask("Task " + i));
+        }
+        writer.flush();
+
+        assertFalse(failures.isEmpty());
+        assertTrue(failures.get(0).getMessage().startsWith("Failed to compact the task journal"));
+    }
+
+    @Test
+    void testLoadTasksLazily_replaysJournal() throws IOException, NiniException {
+        taskStorage.overwriteTasks(List.of(new ToDoTask("First"), new ToDoTask("Second")));
+        taskStorage.saveTask(new ToDoTask("Third"));
+        taskStorage.saveMarkedTasks(2);
+
+        List<Task> tasks = new TaskStorage(fileName, writer).loadTasksLazily(1);
+
+        assertTrue(tasks instanceof LazyTaskList);
+        assertEquals(3, tasks.size());
+        assertTrue(tasks.get(1).isDone());
+        assertEquals("Third", tasks.get(2).getDescription());
+    }
+
+    @Test
+    void testLoadTasksColumnar_replaysJournal() throws IOException, NiniException {
+        taskStorage.overwriteTasks(List.of(new ToDoTask("First"), new DeadlineTask("Second", "25/12/2025 1800")));
+        taskStorage.saveTask(new ToDoTask("Third"));
+        taskStorage.saveMarkedTasks(2);
+        taskStorage.saveDeletedTasks(1);
+
+        ColumnarTaskList tasks = new TaskStorage(fileName, writer).loadTasksColumnar();
+
+        assertEquals(2, tasks.size());
+        assertEquals("D|1|Second|25/12/2025 1800|2", tasks.get(0).serialize());
+        assertEquals("T|0|Third|3", tasks.get(1).serialize());
+    }
+
+    @Test
+    void testLoadTasksColumnar_binaryFormatSkipsCorruptedRecord() throws IOException, NiniException {
+        TaskStorage binaryStorage = new TaskStorage(fileName, 0.5, TaskStorage.Format.BINARY, writer);
+        binaryStorage.overwriteTasks(List.of(new ToDoTask("Corrupted"), new ToDoTask("Intact")));
+        Path path = Path.of(fileName);
+        byte[] content = Files.readAllBytes(path);
+        content[12] ^= 1;
+        Files.write(path, content);
+
+        ColumnarTaskList tasks = binaryStorage.loadTasksColumnar();
+
+        assertEquals(1, tasks.size());
+        assertEquals("Intact", tasks.get(0).getDescription());
+        assertEquals(1, binaryStorage.getSkippedRecordCount());
+    }
+
+    @Test
+    void testLoadTasksOffHeap_replaysJournal() throws IOException, NiniException {
+        TaskStorage binaryStorage = new TaskStorage(fileName, 0.5, TaskStorage.Format.BINARY, writer);
+        binaryStorage.overwriteTasks(List.of(new ToDoTask("First"), new DeadlineTask("Second", "25/12/2025 1800")));
+        binaryStorage.saveTask(new ToDoTask("Third"));
+        binaryStorage.saveMarkedTasks(2);
+        binaryStorage.saveDeletedTasks(1);
+
+        OffHeapTaskList tasks = new TaskStorage(fileName, writer).loadTasksOffHeap();
+
+        assertEquals(2, tasks.size());
+        assertEquals("D|1|Second|25/12/2025 1800|2", tasks.get(0).serialize());
+        assertEquals("T|0|Third|3", tasks.get(1).serialize());
+    }
+
+    @Test
+    void testLoadTasksOffHeap_loadsTextSnapshot() throws IOException, NiniException {
+        taskStorage.overwriteTasks(List.of(new ToDoTask("First"), new EventTask("Second", "1/1/2026 0900",
+                "1/1/2026 1100")));
+        taskStorage.saveMarkedTasks(1);
+
+        OffHeapTaskList tasks = new TaskStorage(fileName, writer).loadTasksOffHeap();
+
+        assertEquals(2, tasks.size());
+        assertEquals("T|1|First|1", tasks.get(0).serialize());
+        assertEquals("E|0|Second|1/1/2026 0900|1/1/2026 1100|2", tasks.get(1).serialize());
+    }
+}
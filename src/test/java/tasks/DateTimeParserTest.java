@@ -0,0 +1,31 @@
+package tasks;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+import org.junit.jupiter.api.Test;
+
+class DateTimeParserTest {
+
+    @Test
+    void testParse_matchesFormatter() {
+        String[] inputs = {"25/12/2025 1800", "1/1/2026 0000", "9/09/2024 2359", "29/2/2024 1200",
+            "31/2/2025 1200", "30/4/2025 0930", "025/12/2025 1800"};
+        for (String input : inputs) {
+            assertEquals(LocalDateTime.parse(input, DateTimeParser.INPUT_FORMATTER), DateTimeParser.parse(input),
+                    input);
+        }
+    }
+
+    @Test
+    void testParse_invalidInputThrows() {
+        String[] inputs = {"", "25-12-2025 1800", "25/12/2025 2400x", "25/13/2025 1800", "25/12/2025 1860",
+            "32/1/2025 1800", "25/12/2025", "25/12/2025  1800", "a/12/2025 1800", "25/12/12025 1800"};
+        for (String input : inputs) {
+            assertThrows(DateTimeParseException.class, () -> DateTimeParser.parse(input), input);
+        }
+    }
+}
@@ -6,6 +6,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
+import exceptions.NiniException;
+
 class ToDoTaskTest {
 
     @Test
@@ -31,6 +33,14 @@ class ToDoTaskTest {
         assertEquals("T|0|Buy groceries", task.serialize());
     }
 
+    @Test
+    void testSerialize_withId() throws NiniException {
+        ToDoTask task = new ToDoTask("Buy groceries", false);
+        task.setId(17);
+        assertEquals("T|0|Buy groceries|17", task.serialize());
+        assertEquals(17, Task.deserialize("T|0|Buy groceries|17").getId());
+    }
+
     @Test
     void testToString() {
         ToDoTask task = new ToDoTask("Buy groceries", false);
@@ -39,4 +49,20 @@ class ToDoTaskTest {
         task = new ToDoTask("Buy groceries", true);
         assertEquals("[T][X] Buy groceries", task.toString());
     }
+
+    @Test
+    void testCachedForms_updatedAfterStatusAndIdChange() throws NiniException {
+        ToDoTask task = new ToDoTask("Buy groceries");
+        assertEquals("[T][ ] Buy groceries", task.toString());
+        assertEquals("T|0|Buy groceries", task.serialize());
+
+        task.markAsDone();
+        task.setId(3);
+        assertEquals("[T][X] Buy groceries", task.toString());
+        assertEquals("T|1|Buy groceries|3", task.serialize());
+
+        task.unmark();
+        assertEquals("[T][ ] Buy groceries", task.toString());
+        assertEquals("T|0|Buy groceries|3", task.serialize());
+    }
 }
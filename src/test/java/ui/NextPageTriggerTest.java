@@ -0,0 +1,63 @@
+package ui;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import commands.tasks.ListTaskCommand;
+
+class NextPageTriggerTest {
+
+    private final List<ChatMessage> fetched = new ArrayList<>();
+    private NextPageTrigger trigger;
+    private ChatMessage page;
+    private List<ChatMessage> items;
+
+    @BeforeEach
+    void setUp() {
+        trigger = new NextPageTrigger(fetched::add);
+        page = new ChatMessage("Page 1", ChatMessage.Sender.BOT, new ListTaskCommand());
+        items = new ArrayList<>(List.of(new ChatMessage("listtasks", ChatMessage.Sender.USER), page));
+    }
+
+    @Test
+    void testUpdate_pageCutOffAtBottomIsNotContinued() {
+        trigger.update(items, 0, 1, false);
+
+        assertTrue(fetched.isEmpty());
+    }
+
+    @Test
+    void testUpdate_pageEndOnScreenIsContinuedOnce() {
+        trigger.update(items, 0, 1, true);
+        trigger.update(items, 1, 1, true);
+
+        assertEquals(List.of(page), fetched);
+    }
+
+    @Test
+    void testUpdate_pagesOffScreenAreNotContinued() {
+        ChatMessage nextPage = new ChatMessage("Page 2", ChatMessage.Sender.BOT, new ListTaskCommand());
+        items.add(nextPage);
+        items.add(new ChatMessage("Done", ChatMessage.Sender.BOT));
+
+        trigger.update(items, 0, 2, false);
+
+        // The second page is laid out but only partly visible, so only the first page is continued
+        assertEquals(List.of(page), fetched);
+    }
+
+    @Test
+    void testForget_allowsPageToBeContinuedAgain() {
+        trigger.update(items, 0, 1, true);
+        trigger.forget(page);
+        trigger.update(items, 0, 1, true);
+
+        assertEquals(List.of(page, page), fetched);
+    }
+}